@@ -0,0 +1,27 @@
+package br.com.blackbeard.blackbeardapi.configurations;
+
+import br.com.blackbeard.blackbeardapi.models.identifiers.IdGenerator;
+import br.com.blackbeard.blackbeardapi.models.identifiers.Identifiers;
+import br.com.blackbeard.blackbeardapi.models.identifiers.RandomIdGenerator;
+import br.com.blackbeard.blackbeardapi.models.identifiers.TimeOrderedIdGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class IdGeneratorConfiguration {
+
+    public static final String RANDOM = "random";
+
+    @Value("${identifier.generator:time-ordered}")
+    private String generator;
+
+    @Bean
+    public IdGenerator idGenerator() {
+        var idGenerator = RANDOM.equalsIgnoreCase(generator)
+                ? new RandomIdGenerator()
+                : new TimeOrderedIdGenerator();
+        Identifiers.use(idGenerator);
+        return idGenerator;
+    }
+}
@@ -6,10 +6,20 @@ import com.amazonaws.regions.Regions;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3ClientBuilder;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+
+import java.time.Duration;
 
 @Configuration
+@ConditionalOnProperty(name = "storage.type", havingValue = "s3", matchIfMissing = true)
 public class S3Config {
 
     @Value("${aws.access_key_id}")
@@ -21,6 +31,21 @@ public class S3Config {
     @Value("${s3.region}")
     private String region;
 
+    @Value("${s3.async.max-concurrency:50}")
+    private int maxConcurrency;
+
+    @Value("${s3.async.max-pending-acquires:1000}")
+    private int maxPendingAcquires;
+
+    @Value("${s3.async.connection-timeout:2s}")
+    private Duration connectionTimeout;
+
+    @Value("${s3.async.acquisition-timeout:5s}")
+    private Duration acquisitionTimeout;
+
+    @Value("${s3.async.api-call-timeout:30s}")
+    private Duration apiCallTimeout;
+
     @Bean
     public AmazonS3 s3client() {
         var awsCred = new BasicAWSCredentials(awsId, awsKey);
@@ -30,4 +55,20 @@ public class S3Config {
                 .build();
 
     }
+
+    @Bean(destroyMethod = "close")
+    public S3AsyncClient s3AsyncClient() {
+        return S3AsyncClient.builder()
+                .region(Region.of(region))
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create(awsId, awsKey)))
+                .httpClientBuilder(NettyNioAsyncHttpClient.builder()
+                        .maxConcurrency(maxConcurrency)
+                        .maxPendingConnectionAcquires(maxPendingAcquires)
+                        .connectionTimeout(connectionTimeout)
+                        .connectionAcquisitionTimeout(acquisitionTimeout))
+                .overrideConfiguration(ClientOverrideConfiguration.builder()
+                        .apiCallTimeout(apiCallTimeout)
+                        .build())
+                .build();
+    }
 }
@@ -2,6 +2,8 @@ package br.com.blackbeard.blackbeardapi.controllers;
 
 import br.com.blackbeard.blackbeardapi.dtos.barber.BarberRequest;
 import br.com.blackbeard.blackbeardapi.dtos.barber.BarberResponse;
+import br.com.blackbeard.blackbeardapi.dtos.page.CursorPage;
+import br.com.blackbeard.blackbeardapi.dtos.page.PageCursor;
 import br.com.blackbeard.blackbeardapi.mappers.BarberMapper;
 import br.com.blackbeard.blackbeardapi.service.BarberService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -39,6 +41,14 @@ class BarberController {
                 .map(BarberMapper::convertToResponse);
     }
 
+    @GetMapping("/cursor")
+    public CursorPage<BarberResponse> listAll(@RequestParam("idBarberShop") UUID idBarberShop,
+                                              @RequestParam(value = "cursor", required = false) PageCursor cursor,
+                                              @RequestParam(value = "size", defaultValue = "" + CursorPage.DEFAULT_SIZE) int size) {
+        return service.listAllBarberByIdBarberShop(idBarberShop, cursor, size)
+                .map(BarberMapper::convertToResponse);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<BarberResponse> findById(@PathVariable UUID id) {
         return ResponseEntity.ok(BarberMapper.convertToResponse(service.findById(id)));
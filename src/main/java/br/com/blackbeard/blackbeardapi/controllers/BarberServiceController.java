@@ -1,5 +1,7 @@
 package br.com.blackbeard.blackbeardapi.controllers;
 
+import br.com.blackbeard.blackbeardapi.dtos.page.CursorPage;
+import br.com.blackbeard.blackbeardapi.dtos.page.PageCursor;
 import br.com.blackbeard.blackbeardapi.dtos.service.ServiceRequest;
 import br.com.blackbeard.blackbeardapi.dtos.service.ServiceResponse;
 import br.com.blackbeard.blackbeardapi.mappers.ServiceMapper;
@@ -40,6 +42,14 @@ public class BarberServiceController {
                 .map(ServiceMapper::convertToResponse);
     }
 
+    @GetMapping("/cursor")
+    public CursorPage<ServiceResponse> listAll(@RequestParam("barberId") UUID barberId,
+                                               @RequestParam(value = "cursor", required = false) PageCursor cursor,
+                                               @RequestParam(value = "size", defaultValue = "" + CursorPage.DEFAULT_SIZE) int size) {
+        return service.listAllServiceByIdBarber(barberId, cursor, size)
+                .map(ServiceMapper::convertToResponse);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ServiceResponse> findById(@PathVariable UUID id) {
         return ResponseEntity.ok(ServiceMapper.convertToResponse(service.findById(id)));
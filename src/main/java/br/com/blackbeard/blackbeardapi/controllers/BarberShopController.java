@@ -2,8 +2,11 @@ package br.com.blackbeard.blackbeardapi.controllers;
 
 import br.com.blackbeard.blackbeardapi.dtos.barbershop.BarberShopRequest;
 import br.com.blackbeard.blackbeardapi.dtos.barbershop.BarberShopResponse;
+import br.com.blackbeard.blackbeardapi.dtos.page.CursorPage;
+import br.com.blackbeard.blackbeardapi.dtos.page.PageCursor;
 import br.com.blackbeard.blackbeardapi.mappers.BarberShopMapper;
 import br.com.blackbeard.blackbeardapi.service.BarberShopService;
+import br.com.blackbeard.blackbeardapi.service.upload.MultipartStreamReader;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -12,6 +15,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 import java.util.UUID;
 
@@ -22,6 +26,9 @@ public class BarberShopController {
     @Autowired
     private BarberShopService service;
 
+    @Autowired
+    private MultipartStreamReader multipartStreamReader;
+
     @PostMapping
     public ResponseEntity<BarberShopResponse> insert(@RequestBody @Valid BarberShopRequest request) {
         var barberShop = service.save(BarberShopMapper.convertToModel(request));
@@ -46,9 +53,15 @@ public class BarberShopController {
         return service.listAll(pageable).map(BarberShopMapper::convertToResponse);
     }
 
+    @GetMapping("/cursor")
+    public CursorPage<BarberShopResponse> listAll(@RequestParam(value = "cursor", required = false) PageCursor cursor,
+                                                  @RequestParam(value = "size", defaultValue = "" + CursorPage.DEFAULT_SIZE) int size) {
+        return service.listAll(cursor, size).map(BarberShopMapper::convertToResponse);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<BarberShopResponse> findById(@PathVariable UUID id) {
-        return ResponseEntity.ok(BarberShopMapper.convertToResponse(service.findById(id)));
+        return ResponseEntity.ok(BarberShopMapper.convertToResponse(service.findByIdWithImages(id)));
     }
 
     @PostMapping("/logo")
@@ -58,6 +71,13 @@ public class BarberShopController {
         return ResponseEntity.created(uri).build();
     }
 
+    @PostMapping("/logo/stream/{barberShopId}")
+    public ResponseEntity<Void> streamLogo(@PathVariable UUID barberShopId, HttpServletRequest request) {
+        var uri = multipartStreamReader.read(request, "logo",
+                inputStream -> service.saveLogo(barberShopId, inputStream));
+        return ResponseEntity.created(uri).build();
+    }
+
     @DeleteMapping("/logo")
     public ResponseEntity<Void> deleteLogo(@RequestParam("barberShopId") UUID barberShopId) {
         service.deleteLogo(barberShopId);
@@ -1,11 +1,16 @@
 package br.com.blackbeard.blackbeardapi.controllers;
 
 import br.com.blackbeard.blackbeardapi.service.ImageService;
+import br.com.blackbeard.blackbeardapi.service.upload.MultipartStreamReader;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.servlet.http.HttpServletRequest;
+import java.net.URI;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -15,6 +20,9 @@ public class BarberShopImageController {
     @Autowired
     private ImageService service;
 
+    @Autowired
+    private MultipartStreamReader multipartStreamReader;
+
     @PostMapping
     public ResponseEntity<Void> saveImage(@RequestParam("barberShopId") UUID barberShopId,
                                           @RequestParam("image") MultipartFile multipartFile) {
@@ -22,6 +30,20 @@ public class BarberShopImageController {
         return ResponseEntity.created(uri).build();
     }
 
+    @PostMapping("/stream/{barberShopId}")
+    public ResponseEntity<Void> streamImage(@PathVariable UUID barberShopId, HttpServletRequest request) {
+        var uri = multipartStreamReader.read(request, "image",
+                inputStream -> service.saveImage(barberShopId, inputStream));
+        return ResponseEntity.created(uri).build();
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<List<URI>> saveImages(@RequestParam("barberShopId") UUID barberShopId,
+                                                @RequestParam("images") List<MultipartFile> multipartFiles) {
+        var uris = service.saveImages(barberShopId, multipartFiles);
+        return ResponseEntity.status(HttpStatus.CREATED).body(uris);
+    }
+
     @DeleteMapping
     public ResponseEntity<Void> deleteImage(@RequestParam("barberShopId") UUID barberShopId,
                                             @RequestParam("imageId") UUID imageId) {
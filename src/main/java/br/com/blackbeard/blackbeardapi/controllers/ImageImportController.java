@@ -0,0 +1,46 @@
+package br.com.blackbeard.blackbeardapi.controllers;
+
+import br.com.blackbeard.blackbeardapi.dtos.image.ImageImportRequest;
+import br.com.blackbeard.blackbeardapi.dtos.image.ImageImportResponse;
+import br.com.blackbeard.blackbeardapi.service.ImageImportService;
+import br.com.blackbeard.blackbeardapi.service.upload.ImageImport;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.validation.Valid;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/barberShop/image/import")
+public class ImageImportController {
+
+    @Autowired
+    private ImageImportService service;
+
+    @PostMapping
+    public ResponseEntity<List<ImageImportResponse>> importImages(@RequestBody @Valid ImageImportRequest request) {
+        var imports = request.getItems().stream()
+                .map(item -> ImageImport.of(item.getBarberShopId(), item.getUrl()))
+                .collect(Collectors.toList());
+
+        var results = service.importImages(imports).stream()
+                .map(ImageImportController::toResponse)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(results);
+    }
+
+    private static ImageImportResponse toResponse(ImageImport imageImport) {
+        return ImageImportResponse.builder()
+                .barberShopId(imageImport.getBarberShopId())
+                .source(imageImport.getSource().toString())
+                .imported(imageImport.isImported())
+                .url(imageImport.isImported() ? imageImport.getUri().toString() : null)
+                .failureReason(imageImport.getFailureReason())
+                .build();
+    }
+}
@@ -0,0 +1,127 @@
+package br.com.blackbeard.blackbeardapi.controllers;
+
+import br.com.blackbeard.blackbeardapi.service.ImageServingService;
+import br.com.blackbeard.blackbeardapi.service.storage.StoredObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+@RestController
+@RequestMapping("/images")
+public class ImageServingController {
+
+    static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    @Autowired
+    private ImageServingService service;
+
+    @Value("${image.serving.revalidate-after:60}")
+    private long revalidateAfter;
+
+    @GetMapping("/{name}")
+    public void serve(@PathVariable String name, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        var storedObject = service.find(name);
+        var eTag = "\"" + storedObject.getKey() + "\"";
+        var length = storedObject.getContentLength();
+
+        response.setHeader(HttpHeaders.ETAG, eTag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, ImageServingService.isImmutable(name, storedObject)
+                ? StoredObject.IMMUTABLE_CACHE_CONTROL
+                : "public, max-age=" + revalidateAfter + ", must-revalidate");
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), eTag)) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        var start = 0L;
+        var end = length - 1;
+        var rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && length > 0) {
+            try {
+                var ranges = HttpRange.parseRanges(rangeHeader);
+                if (ranges.size() != 1) {
+                    throw new IllegalArgumentException("Multipart ranges are not supported");
+                }
+                start = ranges.get(0).getRangeStart(length);
+                end = ranges.get(0).getRangeEnd(length);
+                if (start >= length || start > end) {
+                    throw new IllegalArgumentException("Range outside the object");
+                }
+            } catch (IllegalArgumentException e) {
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return;
+            }
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+
+        var count = end - start + 1;
+        response.setContentType(storedObject.getContentType());
+        response.setContentLengthLong(count);
+        if (count <= 0) {
+            return;
+        }
+
+        var path = storedObject.getPath();
+        if (path.isPresent()) {
+            sendFile(path.get(), start, count, request, response);
+            return;
+        }
+
+        try (var inputStream = storedObject.open(start, end)) {
+            StreamUtils.copyRange(inputStream, response.getOutputStream(), 0, count - 1);
+        }
+    }
+
+    private static void sendFile(Path path, long start, long count,
+                                 HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, path.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + count);
+            return;
+        }
+
+        try (var channel = FileChannel.open(path)) {
+            var target = Channels.newChannel(response.getOutputStream());
+            var position = start;
+            while (position < start + count) {
+                position += channel.transferTo(position, start + count - position, target);
+            }
+        }
+    }
+
+    private static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (var candidate : ifNoneMatch.split(",")) {
+            var trimmed = candidate.trim();
+            if (trimmed.equals("*") || trimmed.equals(eTag) || trimmed.equals("W/" + eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
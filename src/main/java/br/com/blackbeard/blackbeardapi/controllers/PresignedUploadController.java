@@ -0,0 +1,45 @@
+package br.com.blackbeard.blackbeardapi.controllers;
+
+import br.com.blackbeard.blackbeardapi.dtos.image.PresignedUploadRequest;
+import br.com.blackbeard.blackbeardapi.dtos.image.PresignedUploadResponse;
+import br.com.blackbeard.blackbeardapi.service.PresignedUploadService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import java.net.URI;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/barberShop/image/presigned")
+@ConditionalOnProperty(name = "storage.type", havingValue = "s3", matchIfMissing = true)
+public class PresignedUploadController {
+
+    @Autowired
+    private PresignedUploadService service;
+
+    @PostMapping
+    public ResponseEntity<PresignedUploadResponse> create(@RequestBody @Valid PresignedUploadRequest request) {
+        var presignedUpload = service.create(
+                request.getBarberShopId(), request.getContentType(), request.getContentLength());
+        var uploadJob = presignedUpload.getUploadJob();
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(PresignedUploadResponse.builder()
+                .id(uploadJob.getId())
+                .method(HttpMethod.PUT.name())
+                .url(presignedUpload.getUrl().toString())
+                .headers(presignedUpload.getHeaders())
+                .expiresAt(uploadJob.getExpiresAt())
+                .build());
+    }
+
+    @PostMapping("/{id}/complete")
+    public ResponseEntity<Void> complete(@PathVariable UUID id) {
+        var image = service.complete(id);
+        return ResponseEntity.created(URI.create(image.getUrl())).build();
+    }
+}
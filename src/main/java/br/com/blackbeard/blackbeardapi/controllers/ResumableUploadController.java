@@ -0,0 +1,64 @@
+package br.com.blackbeard.blackbeardapi.controllers;
+
+import br.com.blackbeard.blackbeardapi.dtos.upload.ResumableUploadRequest;
+import br.com.blackbeard.blackbeardapi.dtos.upload.ResumableUploadResponse;
+import br.com.blackbeard.blackbeardapi.exceptions.FileException;
+import br.com.blackbeard.blackbeardapi.mappers.UploadJobMapper;
+import br.com.blackbeard.blackbeardapi.service.ResumableUploadService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.validation.Valid;
+import java.io.IOException;
+import java.net.URI;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/barberShop/image/resumable")
+public class ResumableUploadController {
+
+    @Autowired
+    private ResumableUploadService service;
+
+    @PostMapping
+    public ResponseEntity<ResumableUploadResponse> create(@RequestBody @Valid ResumableUploadRequest request) {
+        var uploadJob = service.create(
+                request.getBarberShopId(), request.getContentType(), request.getContentLength());
+        var uri =
+                ServletUriComponentsBuilder.fromCurrentContextPath()
+                        .path("/barberShop/image/resumable/{id}")
+                        .buildAndExpand(uploadJob.getId())
+                        .toUri();
+
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .location(uri)
+                .body(UploadJobMapper.convertToResumableResponse(uploadJob));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ResumableUploadResponse> findById(@PathVariable UUID id) {
+        return ResponseEntity.ok(UploadJobMapper.convertToResumableResponse(service.findById(id)));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<ResumableUploadResponse> append(@PathVariable UUID id,
+                                                          @RequestParam("offset") long offset,
+                                                          HttpServletRequest request) {
+        try (var inputStream = request.getInputStream()) {
+            var uploadJob = service.append(id, offset, inputStream);
+            return ResponseEntity.ok(UploadJobMapper.convertToResumableResponse(uploadJob));
+        } catch (IOException e) {
+            throw FileException.errorToReadFile();
+        }
+    }
+
+    @PostMapping("/{id}/complete")
+    public ResponseEntity<Void> complete(@PathVariable UUID id) {
+        var image = service.complete(id);
+        return ResponseEntity.created(URI.create(image.getUrl())).build();
+    }
+}
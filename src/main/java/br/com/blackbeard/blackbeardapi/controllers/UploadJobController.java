@@ -0,0 +1,48 @@
+package br.com.blackbeard.blackbeardapi.controllers;
+
+import br.com.blackbeard.blackbeardapi.dtos.upload.UploadJobResponse;
+import br.com.blackbeard.blackbeardapi.mappers.UploadJobMapper;
+import br.com.blackbeard.blackbeardapi.models.UploadJob;
+import br.com.blackbeard.blackbeardapi.service.UploadJobService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/barberShop")
+public class UploadJobController {
+
+    @Autowired
+    private UploadJobService service;
+
+    @PostMapping("/image/async")
+    public ResponseEntity<UploadJobResponse> saveImage(@RequestParam("barberShopId") UUID barberShopId,
+                                                       @RequestParam("image") MultipartFile multipartFile) {
+        return accepted(service.acceptImage(barberShopId, multipartFile));
+    }
+
+    @PostMapping("/logo/async")
+    public ResponseEntity<UploadJobResponse> saveLogo(@RequestParam("barberShopId") UUID barberShopId,
+                                                      @RequestParam("logo") MultipartFile multipartFile) {
+        return accepted(service.acceptLogo(barberShopId, multipartFile));
+    }
+
+    @GetMapping("/upload/{id}")
+    public ResponseEntity<UploadJobResponse> findById(@PathVariable UUID id) {
+        return ResponseEntity.ok(UploadJobMapper.convertToResponse(service.findById(id)));
+    }
+
+    private ResponseEntity<UploadJobResponse> accepted(UploadJob uploadJob) {
+        var uri =
+                ServletUriComponentsBuilder.fromCurrentContextPath()
+                        .path("/barberShop/upload/{id}")
+                        .buildAndExpand(uploadJob.getId())
+                        .toUri();
+
+        return ResponseEntity.accepted().location(uri).body(UploadJobMapper.convertToResponse(uploadJob));
+    }
+}
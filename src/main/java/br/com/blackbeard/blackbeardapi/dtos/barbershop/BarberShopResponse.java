@@ -8,6 +8,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Data
@@ -18,6 +19,7 @@ public class BarberShopResponse {
     private UUID id;
     private String name;
     private String urlLogo;
+    private Map<String, String> logoVariants;
     private List<ImageResponse> images;
     private Address address;
 }
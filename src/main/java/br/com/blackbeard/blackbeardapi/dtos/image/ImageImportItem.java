@@ -0,0 +1,23 @@
+package br.com.blackbeard.blackbeardapi.dtos.image;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotNull;
+import java.net.URI;
+import java.util.UUID;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImageImportItem {
+
+    @NotNull
+    private UUID barberShopId;
+
+    @NotNull
+    private URI url;
+}
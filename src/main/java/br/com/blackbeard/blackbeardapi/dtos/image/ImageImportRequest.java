@@ -0,0 +1,25 @@
+package br.com.blackbeard.blackbeardapi.dtos.image;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImageImportRequest {
+
+    public static final int MAX_ITEMS = 500;
+
+    @Valid
+    @NotEmpty
+    @Size(max = MAX_ITEMS)
+    private List<ImageImportItem> items;
+}
@@ -0,0 +1,21 @@
+package br.com.blackbeard.blackbeardapi.dtos.image;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImageImportResponse {
+
+    private UUID barberShopId;
+    private String source;
+    private boolean imported;
+    private String url;
+    private String failureReason;
+}
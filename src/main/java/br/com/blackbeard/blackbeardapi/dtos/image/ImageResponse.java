@@ -2,10 +2,12 @@ package br.com.blackbeard.blackbeardapi.dtos.image;
 
 import lombok.Data;
 
+import java.util.Map;
 import java.util.UUID;
 
 @Data
 public class ImageResponse {
     private UUID id;
     private String url;
+    private Map<String, String> variants;
 }
@@ -0,0 +1,27 @@
+package br.com.blackbeard.blackbeardapi.dtos.image;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+import java.util.UUID;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PresignedUploadRequest {
+
+    @NotNull
+    private UUID barberShopId;
+
+    @NotBlank
+    private String contentType;
+
+    @Positive
+    private long contentLength;
+}
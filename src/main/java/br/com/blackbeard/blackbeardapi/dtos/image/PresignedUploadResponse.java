@@ -0,0 +1,26 @@
+package br.com.blackbeard.blackbeardapi.dtos.image;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PresignedUploadResponse {
+
+    private UUID id;
+    private String method;
+    private String url;
+    private Map<String, String> headers;
+
+    @JsonFormat(pattern = "dd/MM/yyyy HH:mm:ss")
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,39 @@
+package br.com.blackbeard.blackbeardapi.dtos.page;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class CursorPage<T> {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    private final List<T> content;
+    private final String nextCursor;
+
+    public static Pageable pageable(int size) {
+        return PageRequest.of(0, Math.min(Math.max(size, 1), MAX_SIZE) + 1);
+    }
+
+    public static <T> CursorPage<T> of(List<T> rows, Pageable pageable, Function<T, PageCursor> cursorOf) {
+        var size = pageable.getPageSize() - 1;
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+        var content = rows.subList(0, size);
+        return new CursorPage<>(content, cursorOf.apply(content.get(size - 1)).encode());
+    }
+
+    public <R> CursorPage<R> map(Function<T, R> converter) {
+        return new CursorPage<>(content.stream().map(converter).collect(Collectors.toList()), nextCursor);
+    }
+}
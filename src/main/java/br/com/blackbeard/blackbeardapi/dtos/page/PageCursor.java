@@ -0,0 +1,41 @@
+package br.com.blackbeard.blackbeardapi.dtos.page;
+
+import br.com.blackbeard.blackbeardapi.exceptions.InvalidCursorException;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+public class PageCursor {
+
+    private static final String SEPARATOR = "_";
+
+    private final LocalDateTime createdDate;
+    private final UUID id;
+
+    public static PageCursor valueOf(String token) {
+        try {
+            var values = new String(Base64.getUrlDecoder().decode(token), UTF_8).split(SEPARATOR);
+            if (values.length != 2) {
+                throw new InvalidCursorException();
+            }
+            return new PageCursor(LocalDateTime.parse(values[0]), UUID.fromString(values[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException();
+        }
+    }
+
+    public String encode() {
+        var value = createdDate + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(UTF_8));
+    }
+}
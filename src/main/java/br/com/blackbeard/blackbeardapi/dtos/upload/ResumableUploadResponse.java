@@ -0,0 +1,29 @@
+package br.com.blackbeard.blackbeardapi.dtos.upload;
+
+import br.com.blackbeard.blackbeardapi.models.UploadJob;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResumableUploadResponse {
+
+    private UUID id;
+    private UUID barberShopId;
+    private UploadJob.Status status;
+    private long contentLength;
+    private long offset;
+    private String url;
+    private String failureReason;
+
+    @JsonFormat(pattern = "dd/MM/yyyy HH:mm:ss")
+    private LocalDateTime expiresAt;
+}
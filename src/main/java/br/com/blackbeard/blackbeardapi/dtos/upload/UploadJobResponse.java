@@ -0,0 +1,31 @@
+package br.com.blackbeard.blackbeardapi.dtos.upload;
+
+import br.com.blackbeard.blackbeardapi.models.UploadJob;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class UploadJobResponse {
+
+    private UUID id;
+    private UUID barberShopId;
+    private UploadJob.Target target;
+    private UploadJob.Status status;
+    private String url;
+    private String failureReason;
+
+    @JsonFormat(pattern = "dd/MM/yyyy HH:mm:ss")
+    private LocalDateTime createdDate;
+
+    @JsonFormat(pattern = "dd/MM/yyyy HH:mm:ss")
+    private LocalDateTime lastModifiedDate;
+}
@@ -3,6 +3,12 @@ package br.com.blackbeard.blackbeardapi.exceptions;
 public class BarberShopImageException extends RuntimeException {
 
     public static final String IMAGE_DOES_NOT_BELONG_TO_BARBER_SHOP = "image does not belong to BarberShop";
+    public static final String UPLOAD_IS_NOT_PENDING = "upload is not pending";
+    public static final String UPLOAD_EXPIRED = "upload expired";
+    public static final String UPLOAD_OFFSET_MISMATCH = "upload offset does not match the received length";
+    public static final String UPLOAD_IN_PROGRESS = "upload is already receiving a chunk";
+    public static final String UPLOAD_IS_INCOMPLETE = "upload has not received all of its content";
+    public static final String UPLOAD_ABANDONED = "upload was not completed by the node that accepted it";
 
     public BarberShopImageException(String msg) {
         super(msg);
@@ -11,4 +17,24 @@ public class BarberShopImageException extends RuntimeException {
     public static BarberShopImageException imageDoesNotBelongToBarberShop() {
         return new BarberShopImageException(IMAGE_DOES_NOT_BELONG_TO_BARBER_SHOP);
     }
+
+    public static BarberShopImageException uploadIsNotPending() {
+        return new BarberShopImageException(UPLOAD_IS_NOT_PENDING);
+    }
+
+    public static BarberShopImageException uploadExpired() {
+        return new BarberShopImageException(UPLOAD_EXPIRED);
+    }
+
+    public static BarberShopImageException uploadOffsetMismatch() {
+        return new BarberShopImageException(UPLOAD_OFFSET_MISMATCH);
+    }
+
+    public static BarberShopImageException uploadInProgress() {
+        return new BarberShopImageException(UPLOAD_IN_PROGRESS);
+    }
+
+    public static BarberShopImageException uploadIsIncomplete() {
+        return new BarberShopImageException(UPLOAD_IS_INCOMPLETE);
+    }
 }
@@ -5,6 +5,9 @@ public class FileException extends RuntimeException {
     public static final String ERROR_TO_READ_FILE = "Error to read file";
     public static final String IMAGE_FORMAT_ERROR_MESSAGE = "The image format must be PNG or JPG";
     public static final String FAIL_TO_CONVERT_URL_TO_URI = "fail to convert URL to URI";
+    public static final String INVALID_IMAGE_SIZE = "The image size does not match the upload";
+    public static final String IMAGE_TOO_LARGE = "The image dimensions exceed the allowed limits";
+    public static final String ERROR_TO_DOWNLOAD_FILE = "Error to download file";
 
     public FileException(String msg) {
         super(msg);
@@ -18,6 +21,18 @@ public class FileException extends RuntimeException {
         return new FileException(IMAGE_FORMAT_ERROR_MESSAGE);
     }
 
+    public static FileException invalidImageSize() {
+        return new FileException(INVALID_IMAGE_SIZE);
+    }
+
+    public static FileException imageTooLarge() {
+        return new FileException(IMAGE_TOO_LARGE);
+    }
+
+    public static FileException errorToDownloadFile() {
+        return new FileException(ERROR_TO_DOWNLOAD_FILE);
+    }
+
     public static FileException errorToGetImageURI() {
         return new FileException(FAIL_TO_CONVERT_URL_TO_URI);
     }
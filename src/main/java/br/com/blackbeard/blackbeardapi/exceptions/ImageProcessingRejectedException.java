@@ -0,0 +1,10 @@
+package br.com.blackbeard.blackbeardapi.exceptions;
+
+public class ImageProcessingRejectedException extends RuntimeException {
+
+    public static final String IMAGE_PROCESSING_SATURATED = "Too many images being processed, try again later";
+
+    public ImageProcessingRejectedException() {
+        super(IMAGE_PROCESSING_SATURATED);
+    }
+}
@@ -0,0 +1,14 @@
+package br.com.blackbeard.blackbeardapi.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidCursorException extends RuntimeException {
+
+    private static final String INVALID_CURSOR = "Invalid page cursor";
+
+    public InvalidCursorException() {
+        super(INVALID_CURSOR);
+    }
+}
@@ -23,6 +23,7 @@ public class ResourceExceptionHandler {
     public static final String STORAGE_ERROR = "Storage error";
     public static final String IMAGE_SIZE_EXCEEDED = "Image size exceeded";
     public static final String BARBER_SHOP_IMAGE_ERROR = "Barber shop image error";
+    public static final String IMAGE_PROCESSING_UNAVAILABLE = "Image processing unavailable";
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<StandardError<Map<String, String>>> validation(
@@ -92,6 +93,32 @@ public class ResourceExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST.value()).body(exception);
     }
 
+    @ExceptionHandler(BarberShopImageException.class)
+    public ResponseEntity<StandardError<String>> barberShopImageExceptionHandler(
+            BarberShopImageException e, HttpServletRequest request) {
+        var exception =
+                new StandardError<>(
+                        HttpStatus.BAD_REQUEST.value(),
+                        BARBER_SHOP_IMAGE_ERROR,
+                        e.getMessage(),
+                        System.currentTimeMillis(),
+                        request.getRequestURI());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST.value()).body(exception);
+    }
+
+    @ExceptionHandler(ImageProcessingRejectedException.class)
+    public ResponseEntity<StandardError<String>> imageProcessingRejectedExceptionHandler(
+            ImageProcessingRejectedException e, HttpServletRequest request) {
+        var exception =
+                new StandardError<>(
+                        HttpStatus.SERVICE_UNAVAILABLE.value(),
+                        IMAGE_PROCESSING_UNAVAILABLE,
+                        e.getMessage(),
+                        System.currentTimeMillis(),
+                        request.getRequestURI());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE.value()).body(exception);
+    }
+
     @ExceptionHandler(BarberArgumentException.class)
     public ResponseEntity<StandardError<String>> barberArgumentExceptionHandler(
             BarberArgumentException e, HttpServletRequest request) {
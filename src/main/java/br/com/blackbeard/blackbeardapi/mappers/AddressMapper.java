@@ -2,19 +2,18 @@ package br.com.blackbeard.blackbeardapi.mappers;
 
 import br.com.blackbeard.blackbeardapi.dtos.address.AddressRequest;
 import br.com.blackbeard.blackbeardapi.models.Address;
-import org.modelmapper.ModelMapper;
-import org.springframework.stereotype.Component;
+import org.mapstruct.Mapper;
+import org.mapstruct.ReportingPolicy;
+import org.mapstruct.factory.Mappers;
 
-@Component
-public class AddressMapper {
+@Mapper(unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface AddressMapper {
 
-    private static final ModelMapper mapper = new ModelMapper();
+    AddressMapper INSTANCE = Mappers.getMapper(AddressMapper.class);
 
-    private AddressMapper() {
-    }
-
-    public static Address convertToModel(AddressRequest request) {
-        return mapper.map(request, Address.class);
+    static Address convertToModel(AddressRequest request) {
+        return INSTANCE.toModel(request);
     }
 
+    Address toModel(AddressRequest request);
 }
@@ -3,22 +3,24 @@ package br.com.blackbeard.blackbeardapi.mappers;
 import br.com.blackbeard.blackbeardapi.dtos.barber.BarberRequest;
 import br.com.blackbeard.blackbeardapi.dtos.barber.BarberResponse;
 import br.com.blackbeard.blackbeardapi.models.Barber;
-import org.modelmapper.ModelMapper;
-import org.springframework.stereotype.Component;
+import org.mapstruct.Mapper;
+import org.mapstruct.ReportingPolicy;
+import org.mapstruct.factory.Mappers;
 
-@Component
-public class BarberMapper {
+@Mapper(unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface BarberMapper {
 
-    private static final ModelMapper mapper = new ModelMapper();
+    BarberMapper INSTANCE = Mappers.getMapper(BarberMapper.class);
 
-    private BarberMapper() {
+    static Barber convertToModel(BarberRequest request) {
+        return INSTANCE.toModel(request);
     }
 
-    public static Barber convertToModel(BarberRequest request) {
-        return mapper.map(request, Barber.class);
+    static BarberResponse convertToResponse(Barber barber) {
+        return INSTANCE.toResponse(barber);
     }
 
-    public static BarberResponse convertToResponse(Barber barber) {
-        return mapper.map(barber, BarberResponse.class);
-    }
+    Barber toModel(BarberRequest request);
+
+    BarberResponse toResponse(Barber barber);
 }
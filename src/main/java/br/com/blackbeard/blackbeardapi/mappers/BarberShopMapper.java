@@ -3,23 +3,24 @@ package br.com.blackbeard.blackbeardapi.mappers;
 import br.com.blackbeard.blackbeardapi.dtos.barbershop.BarberShopRequest;
 import br.com.blackbeard.blackbeardapi.dtos.barbershop.BarberShopResponse;
 import br.com.blackbeard.blackbeardapi.models.BarberShop;
-import org.modelmapper.ModelMapper;
-import org.springframework.stereotype.Component;
+import org.mapstruct.Mapper;
+import org.mapstruct.ReportingPolicy;
+import org.mapstruct.factory.Mappers;
 
-@Component
-public class BarberShopMapper {
-    private static final ModelMapper mapper = new ModelMapper();
+@Mapper(unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface BarberShopMapper {
 
-    private BarberShopMapper() {
-    }
+    BarberShopMapper INSTANCE = Mappers.getMapper(BarberShopMapper.class);
 
-    public static BarberShop convertToModel(BarberShopRequest request) {
-        return mapper.map(request, BarberShop.class);
+    static BarberShop convertToModel(BarberShopRequest request) {
+        return INSTANCE.toModel(request);
     }
 
-    public static BarberShopResponse convertToResponse(BarberShop barberShop) {
-        return mapper.map(barberShop, BarberShopResponse.class);
+    static BarberShopResponse convertToResponse(BarberShop barberShop) {
+        return INSTANCE.toResponse(barberShop);
     }
-}
 
+    BarberShop toModel(BarberShopRequest request);
 
+    BarberShopResponse toResponse(BarberShop barberShop);
+}
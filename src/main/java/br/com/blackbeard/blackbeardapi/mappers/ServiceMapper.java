@@ -3,24 +3,24 @@ package br.com.blackbeard.blackbeardapi.mappers;
 import br.com.blackbeard.blackbeardapi.dtos.service.ServiceRequest;
 import br.com.blackbeard.blackbeardapi.dtos.service.ServiceResponse;
 import br.com.blackbeard.blackbeardapi.models.BarberServiceModel;
-import org.modelmapper.ModelMapper;
-import org.springframework.stereotype.Component;
+import org.mapstruct.Mapper;
+import org.mapstruct.ReportingPolicy;
+import org.mapstruct.factory.Mappers;
 
-@Component
-public class ServiceMapper {
+@Mapper(unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface ServiceMapper {
 
-    private static final ModelMapper mapper = new ModelMapper();
-
-    private ServiceMapper() {
+    ServiceMapper INSTANCE = Mappers.getMapper(ServiceMapper.class);
 
+    static BarberServiceModel convertToModel(ServiceRequest request) {
+        return INSTANCE.toModel(request);
     }
 
-    public static BarberServiceModel convertToModel(ServiceRequest request) {
-        return mapper.map(request, BarberServiceModel.class);
+    static ServiceResponse convertToResponse(BarberServiceModel service) {
+        return INSTANCE.toResponse(service);
     }
 
-    public static ServiceResponse convertToResponse(BarberServiceModel service) {
-        return mapper.map(service, ServiceResponse.class);
-    }
+    BarberServiceModel toModel(ServiceRequest request);
 
+    ServiceResponse toResponse(BarberServiceModel service);
 }
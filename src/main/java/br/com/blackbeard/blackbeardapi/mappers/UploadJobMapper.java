@@ -0,0 +1,28 @@
+package br.com.blackbeard.blackbeardapi.mappers;
+
+import br.com.blackbeard.blackbeardapi.dtos.upload.ResumableUploadResponse;
+import br.com.blackbeard.blackbeardapi.dtos.upload.UploadJobResponse;
+import br.com.blackbeard.blackbeardapi.models.UploadJob;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+import org.mapstruct.factory.Mappers;
+
+@Mapper(unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface UploadJobMapper {
+
+    UploadJobMapper INSTANCE = Mappers.getMapper(UploadJobMapper.class);
+
+    static UploadJobResponse convertToResponse(UploadJob uploadJob) {
+        return INSTANCE.toResponse(uploadJob);
+    }
+
+    static ResumableUploadResponse convertToResumableResponse(UploadJob uploadJob) {
+        return INSTANCE.toResumableResponse(uploadJob);
+    }
+
+    UploadJobResponse toResponse(UploadJob uploadJob);
+
+    @Mapping(target = "offset", source = "receivedLength")
+    ResumableUploadResponse toResumableResponse(UploadJob uploadJob);
+}
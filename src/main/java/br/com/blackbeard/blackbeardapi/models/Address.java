@@ -1,7 +1,11 @@
 package br.com.blackbeard.blackbeardapi.models;
 
+import br.com.blackbeard.blackbeardapi.models.identifiers.Identifiers;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Entity;
 import javax.persistence.Id;
 import java.util.UUID;
@@ -12,8 +16,12 @@ import java.util.UUID;
 @AllArgsConstructor
 @EqualsAndHashCode
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Address.CACHE_REGION)
 public class Address {
 
+    public static final String CACHE_REGION = "catalog-address";
+
     @Id
     private UUID id;
     private String city;
@@ -29,6 +37,6 @@ public class Address {
     }
 
     public void generateId() {
-        this.id = UUID.randomUUID();
+        this.id = Identifiers.next();
     }
 }
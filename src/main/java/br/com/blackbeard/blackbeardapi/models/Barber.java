@@ -1,10 +1,13 @@
 package br.com.blackbeard.blackbeardapi.models;
 
+import br.com.blackbeard.blackbeardapi.models.identifiers.Identifiers;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
@@ -19,8 +22,13 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Barber.CACHE_REGION)
 public class Barber {
 
+    public static final String CACHE_REGION = "catalog-barber";
+    public static final String SERVICES_CACHE_REGION = "catalog-barber-services";
+
     @Id
     private UUID id;
     private String name;
@@ -32,11 +40,12 @@ public class Barber {
     private BarberShop barberShop;
 
     @JsonIgnore
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SERVICES_CACHE_REGION)
     @OneToMany(mappedBy = "barber")
     private List<BarberServiceModel> barberServiceModels;
 
     public void generateId() {
-        this.id = UUID.randomUUID();
+        this.id = Identifiers.next();
     }
 
     public void update(Barber barber) {
@@ -1,14 +1,22 @@
 package br.com.blackbeard.blackbeardapi.models;
 
+import br.com.blackbeard.blackbeardapi.models.identifiers.Identifiers;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.Id;
 import javax.persistence.ManyToOne;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Data
@@ -16,8 +24,13 @@ import java.util.UUID;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = BarberServiceModel.CACHE_REGION)
 public class BarberServiceModel {
 
+    public static final String CACHE_REGION = "catalog-barber-service";
+
     @Id
     private UUID id;
     private String name;
@@ -25,11 +38,14 @@ public class BarberServiceModel {
     private BigDecimal price;
     private BigDecimal duration;
 
+    @CreatedDate
+    private LocalDateTime createdDate;
+
     @ManyToOne
     private Barber barber;
 
     public void generateId() {
-        this.id = UUID.randomUUID();
+        this.id = Identifiers.next();
     }
 
     public void update(BarberServiceModel service) {
@@ -1,14 +1,20 @@
 package br.com.blackbeard.blackbeardapi.models;
 
+import br.com.blackbeard.blackbeardapi.models.converters.VariantUrlsConverter;
+import br.com.blackbeard.blackbeardapi.models.identifiers.Identifiers;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Data
@@ -18,13 +24,23 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = BarberShop.CACHE_REGION)
 public class BarberShop {
 
+    public static final int IMAGES_BATCH_SIZE = 50;
+    public static final String CACHE_REGION = "catalog-barber-shop";
+    public static final String BARBERS_CACHE_REGION = "catalog-barber-shop-barbers";
+
     @Id
     private UUID id;
     private String name;
     private String urlLogo;
 
+    @Column(length = VariantUrlsConverter.COLUMN_LENGTH)
+    @Convert(converter = VariantUrlsConverter.class)
+    private Map<String, String> logoVariants;
+
     @JsonIgnore
     @ManyToOne
     private Address address;
@@ -34,11 +50,15 @@ public class BarberShop {
     private LocalDateTime createdDate;
 
     @JsonIgnore
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = BARBERS_CACHE_REGION)
     @OneToMany(mappedBy = "barberShop")
     private List<Barber> barber;
 
     @JsonIgnore
-    @OneToMany(fetch = FetchType.EAGER, mappedBy = "barberShop")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @BatchSize(size = IMAGES_BATCH_SIZE)
+    @OneToMany(mappedBy = "barberShop")
     private List<Image> images;
 
     public void update(BarberShop barberShop) {
@@ -47,7 +67,7 @@ public class BarberShop {
     }
 
     public void generateId() {
-        this.id = UUID.randomUUID();
+        this.id = Identifiers.next();
     }
 }
 
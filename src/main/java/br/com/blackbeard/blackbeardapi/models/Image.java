@@ -1,14 +1,22 @@
 package br.com.blackbeard.blackbeardapi.models;
 
+import br.com.blackbeard.blackbeardapi.models.converters.VariantUrlsConverter;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
 
+import javax.persistence.Column;
+import javax.persistence.Convert;
 import javax.persistence.Entity;
 import javax.persistence.Id;
 import javax.persistence.ManyToOne;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.Transient;
+import java.util.Map;
 import java.util.UUID;
 
 @Data
@@ -16,15 +24,33 @@ import java.util.UUID;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-public class Image {
+public class Image implements Persistable<UUID> {
 
     @Id
     private UUID id;
 
     private String url;
 
+    @Column(length = VariantUrlsConverter.COLUMN_LENGTH)
+    @Convert(converter = VariantUrlsConverter.class)
+    private Map<String, String> variants;
+
     @ManyToOne
     @JsonBackReference
     private BarberShop barberShop;
 
+    @Transient
+    @Builder.Default
+    private boolean created = true;
+
+    @Override
+    public boolean isNew() {
+        return created;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.created = false;
+    }
 }
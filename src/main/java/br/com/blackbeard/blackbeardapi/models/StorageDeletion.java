@@ -0,0 +1,52 @@
+package br.com.blackbeard.blackbeardapi.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@EntityListeners(AuditingEntityListener.class)
+public class StorageDeletion {
+
+    public static final int LAST_ERROR_LENGTH = 255;
+
+    @Id
+    @Column(name = "object_key")
+    private String key;
+
+    private int attempts;
+
+    @Column(length = LAST_ERROR_LENGTH)
+    private String lastError;
+
+    @CreatedDate
+    private LocalDateTime createdDate;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @PrePersist
+    void scheduleFirstAttempt() {
+        if (nextAttemptAt == null) {
+            nextAttemptAt = LocalDateTime.now();
+        }
+    }
+
+    public void fail(String reason, LocalDateTime nextAttemptAt) {
+        this.attempts++;
+        this.nextAttemptAt = nextAttemptAt;
+        this.lastError = reason != null && reason.length() > LAST_ERROR_LENGTH
+                ? reason.substring(0, LAST_ERROR_LENGTH)
+                : reason;
+    }
+}
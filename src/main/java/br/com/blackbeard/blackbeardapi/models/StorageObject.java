@@ -0,0 +1,54 @@
+package br.com.blackbeard.blackbeardapi.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.domain.Persistable;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@EntityListeners(AuditingEntityListener.class)
+public class StorageObject implements Persistable<String> {
+
+    @Id
+    @Column(name = "object_key")
+    private String key;
+
+    private String url;
+
+    private Long contentLength;
+
+    private long referenceCount;
+
+    @CreatedDate
+    private LocalDateTime createdDate;
+
+    @Transient
+    @Builder.Default
+    private boolean created = true;
+
+    @Override
+    public String getId() {
+        return key;
+    }
+
+    @Override
+    public boolean isNew() {
+        return created;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.created = false;
+    }
+}
@@ -0,0 +1,22 @@
+package br.com.blackbeard.blackbeardapi.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+public class StorageReference {
+
+    @Id
+    private String name;
+
+    private String objectKey;
+}
@@ -0,0 +1,97 @@
+package br.com.blackbeard.blackbeardapi.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import javax.persistence.*;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@EntityListeners(AuditingEntityListener.class)
+public class UploadJob {
+
+    public static final int FAILURE_REASON_LENGTH = 255;
+
+    public enum Target {
+        IMAGE, LOGO
+    }
+
+    public enum Status {
+        PENDING, COMPLETED, FAILED
+    }
+
+    @Id
+    private UUID id;
+
+    private UUID barberShopId;
+
+    @Enumerated(EnumType.STRING)
+    private Target target;
+
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    private long contentLength;
+
+    private String contentType;
+
+    private LocalDateTime expiresAt;
+
+    private Long receivedLength;
+
+    private String nodeId;
+
+    private String url;
+
+    @Column(length = FAILURE_REASON_LENGTH)
+    private String failureReason;
+
+    @CreatedDate
+    private LocalDateTime createdDate;
+
+    @LastModifiedDate
+    private LocalDateTime lastModifiedDate;
+
+    public String getFileName() {
+        return target == Target.LOGO ? barberShopId.toString() : id.toString();
+    }
+
+    public boolean isDirect() {
+        return expiresAt != null && !isResumable();
+    }
+
+    public boolean isResumable() {
+        return receivedLength != null;
+    }
+
+    public boolean isReceived() {
+        return isResumable() && receivedLength == contentLength;
+    }
+
+    public boolean isExpired(LocalDateTime now) {
+        return expiresAt != null && now.isAfter(expiresAt);
+    }
+
+    public void complete(URI uri) {
+        this.status = Status.COMPLETED;
+        this.url = uri.toString();
+    }
+
+    public void fail(String reason) {
+        this.status = Status.FAILED;
+        this.failureReason = reason != null && reason.length() > FAILURE_REASON_LENGTH
+                ? reason.substring(0, FAILURE_REASON_LENGTH)
+                : reason;
+    }
+}
@@ -0,0 +1,44 @@
+package br.com.blackbeard.blackbeardapi.models.converters;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Converter
+public class VariantUrlsConverter implements AttributeConverter<Map<String, String>, String> {
+
+    public static final int COLUMN_LENGTH = 2048;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<LinkedHashMap<String, String>> VARIANT_URLS = new TypeReference<>() {
+    };
+
+    @Override
+    public String convertToDatabaseColumn(Map<String, String> variantUrls) {
+        if (variantUrls == null || variantUrls.isEmpty()) {
+            return null;
+        }
+        try {
+            return MAPPER.writeValueAsString(variantUrls);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    @Override
+    public Map<String, String> convertToEntityAttribute(String column) {
+        if (column == null || column.isBlank()) {
+            return null;
+        }
+        try {
+            return MAPPER.readValue(column, VARIANT_URLS);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package br.com.blackbeard.blackbeardapi.models.identifiers;
+
+import java.util.UUID;
+
+public interface IdGenerator {
+
+    UUID generate();
+}
@@ -0,0 +1,19 @@
+package br.com.blackbeard.blackbeardapi.models.identifiers;
+
+import java.util.UUID;
+
+public final class Identifiers {
+
+    private static volatile IdGenerator generator = new TimeOrderedIdGenerator();
+
+    private Identifiers() {
+    }
+
+    public static UUID next() {
+        return generator.generate();
+    }
+
+    public static void use(IdGenerator idGenerator) {
+        generator = idGenerator;
+    }
+}
@@ -0,0 +1,11 @@
+package br.com.blackbeard.blackbeardapi.models.identifiers;
+
+import java.util.UUID;
+
+public class RandomIdGenerator implements IdGenerator {
+
+    @Override
+    public UUID generate() {
+        return UUID.randomUUID();
+    }
+}
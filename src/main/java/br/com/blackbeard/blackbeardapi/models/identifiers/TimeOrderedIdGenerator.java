@@ -0,0 +1,39 @@
+package br.com.blackbeard.blackbeardapi.models.identifiers;
+
+import java.time.Clock;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TimeOrderedIdGenerator implements IdGenerator {
+
+    private static final int SEQUENCE_BITS = 12;
+    private static final long VERSION = 0x7000L;
+    private static final long SEQUENCE_MASK = 0xFFFL;
+    private static final long VARIANT = 0x8000000000000000L;
+    private static final long RANDOM_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+    private final Clock clock;
+    private final AtomicLong lastState = new AtomicLong();
+
+    public TimeOrderedIdGenerator() {
+        this(Clock.systemUTC());
+    }
+
+    public TimeOrderedIdGenerator(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public UUID generate() {
+        var state = nextState();
+        var mostSignificantBits = (state >>> SEQUENCE_BITS) << 16 | VERSION | (state & SEQUENCE_MASK);
+        var leastSignificantBits = ThreadLocalRandom.current().nextLong() & RANDOM_MASK | VARIANT;
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+
+    private long nextState() {
+        var now = clock.millis() << SEQUENCE_BITS;
+        return lastState.updateAndGet(last -> Math.max(now, last + 1));
+    }
+}
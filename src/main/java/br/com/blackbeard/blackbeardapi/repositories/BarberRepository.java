@@ -4,15 +4,34 @@ import br.com.blackbeard.blackbeardapi.models.Barber;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface BarberRepository extends JpaRepository<Barber, UUID> {
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     Page<Barber> findAllByBarberShopId(UUID idBarberShop, Pageable pageable);
 
     Boolean existsBarberByNameAndBarberShopId(String barberName, UUID idBarberShop);
 
-}
\ No newline at end of file
+    @Query("select b from Barber b where b.barberShop.id = :idBarberShop order by b.createdDate, b.id")
+    List<Barber> findFirstPageByBarberShopId(@Param("idBarberShop") UUID idBarberShop, Pageable pageable);
+
+    @Query("select b from Barber b "
+            + "where b.barberShop.id = :idBarberShop "
+            + "and b.createdDate >= :createdDate and (b.createdDate > :createdDate or b.id > :id) "
+            + "order by b.createdDate, b.id")
+    List<Barber> findPageAfterByBarberShopId(@Param("idBarberShop") UUID idBarberShop,
+                                             @Param("createdDate") LocalDateTime createdDate,
+                                             @Param("id") UUID id,
+                                             Pageable pageable);
+
+}
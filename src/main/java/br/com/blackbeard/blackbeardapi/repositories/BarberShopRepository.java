@@ -1,11 +1,38 @@
 package br.com.blackbeard.blackbeardapi.repositories;
 
 import br.com.blackbeard.blackbeardapi.models.BarberShop;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface BarberShopRepository extends JpaRepository<BarberShop, UUID> {
-}
\ No newline at end of file
+
+    @Override
+    @EntityGraph(attributePaths = "address")
+    Page<BarberShop> findAll(Pageable pageable);
+
+    @EntityGraph(attributePaths = {"address", "images"})
+    Optional<BarberShop> findWithImagesById(UUID id);
+
+    @EntityGraph(attributePaths = "address")
+    @Query("select b from BarberShop b order by b.createdDate, b.id")
+    List<BarberShop> findFirstPage(Pageable pageable);
+
+    @EntityGraph(attributePaths = "address")
+    @Query("select b from BarberShop b "
+            + "where b.createdDate >= :createdDate and (b.createdDate > :createdDate or b.id > :id) "
+            + "order by b.createdDate, b.id")
+    List<BarberShop> findPageAfter(@Param("createdDate") LocalDateTime createdDate,
+                                   @Param("id") UUID id,
+                                   Pageable pageable);
+}
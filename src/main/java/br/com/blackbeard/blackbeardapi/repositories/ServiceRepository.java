@@ -4,12 +4,31 @@ import br.com.blackbeard.blackbeardapi.models.BarberServiceModel;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface ServiceRepository extends JpaRepository<BarberServiceModel, UUID> {
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     Page<BarberServiceModel> findAllByBarberId(UUID idBarber, Pageable pageable);
-}
\ No newline at end of file
+
+    @Query("select s from BarberServiceModel s where s.barber.id = :idBarber order by s.createdDate, s.id")
+    List<BarberServiceModel> findFirstPageByBarberId(@Param("idBarber") UUID idBarber, Pageable pageable);
+
+    @Query("select s from BarberServiceModel s "
+            + "where s.barber.id = :idBarber "
+            + "and s.createdDate >= :createdDate and (s.createdDate > :createdDate or s.id > :id) "
+            + "order by s.createdDate, s.id")
+    List<BarberServiceModel> findPageAfterByBarberId(@Param("idBarber") UUID idBarber,
+                                                     @Param("createdDate") LocalDateTime createdDate,
+                                                     @Param("id") UUID id,
+                                                     Pageable pageable);
+}
@@ -0,0 +1,39 @@
+package br.com.blackbeard.blackbeardapi.repositories;
+
+import br.com.blackbeard.blackbeardapi.models.StorageDeletion;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface StorageDeletionRepository extends JpaRepository<StorageDeletion, String> {
+
+    String SKIP_LOCKED = "-2";
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = SKIP_LOCKED))
+    @Query("select d from StorageDeletion d where d.attempts < :maxAttempts and d.nextAttemptAt <= :now"
+            + " order by d.nextAttemptAt")
+    List<StorageDeletion> findNextBatch(@Param("maxAttempts") int maxAttempts, @Param("now") LocalDateTime now,
+                                        Pageable pageable);
+
+    @Query("select d.key from StorageDeletion d where d.key in :keys")
+    List<String> findQueuedKeys(@Param("keys") Collection<String> keys);
+
+    @Transactional
+    @Modifying
+    @Query("delete from StorageDeletion d where d.key = :key")
+    int cancel(@Param("key") String key);
+}
@@ -0,0 +1,34 @@
+package br.com.blackbeard.blackbeardapi.repositories;
+
+import br.com.blackbeard.blackbeardapi.models.StorageObject;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface StorageObjectRepository extends JpaRepository<StorageObject, String> {
+
+    @Query("select o.key from StorageObject o where o.key in :keys")
+    List<String> findExistingKeys(@Param("keys") Collection<String> keys);
+
+    @Transactional
+    @Modifying
+    @Query("update StorageObject o set o.referenceCount = o.referenceCount + 1 where o.key = :key")
+    int incrementReferences(@Param("key") String key);
+
+    @Transactional
+    @Modifying
+    @Query("update StorageObject o set o.referenceCount = o.referenceCount - 1 where o.key = :key")
+    int decrementReferences(@Param("key") String key);
+
+    @Transactional
+    @Modifying
+    @Query("delete from StorageObject o where o.key = :key and o.referenceCount <= 0")
+    int deleteUnreferenced(@Param("key") String key);
+}
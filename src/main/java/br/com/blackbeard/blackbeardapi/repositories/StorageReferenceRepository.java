@@ -0,0 +1,9 @@
+package br.com.blackbeard.blackbeardapi.repositories;
+
+import br.com.blackbeard.blackbeardapi.models.StorageReference;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface StorageReferenceRepository extends JpaRepository<StorageReference, String> {
+}
@@ -0,0 +1,48 @@
+package br.com.blackbeard.blackbeardapi.repositories;
+
+import br.com.blackbeard.blackbeardapi.models.UploadJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface UploadJobRepository extends JpaRepository<UploadJob, UUID> {
+
+    @Query("select count(j) from UploadJob j where j.barberShopId = :barberShopId and j.target = :target "
+            + "and j.status = :status and (j.expiresAt is null or j.expiresAt > :now)")
+    long countInFlight(@Param("barberShopId") UUID barberShopId,
+                       @Param("target") UploadJob.Target target,
+                       @Param("status") UploadJob.Status status,
+                       @Param("now") LocalDateTime now);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select j from UploadJob j where j.id = :id")
+    Optional<UploadJob> findLockedById(@Param("id") UUID id);
+
+    List<UploadJob> findAllByStatusAndNodeIdAndExpiresAtIsNull(UploadJob.Status status, String nodeId);
+
+    @Transactional
+    @Modifying
+    @Query("update UploadJob j set j.status = :failed, j.failureReason = :reason, j.lastModifiedDate = :now "
+            + "where j.status = :pending and j.expiresAt is null and j.createdDate < :createdBefore "
+            + "and (j.nodeId is null or j.nodeId <> :nodeId)")
+    int failAbandoned(@Param("nodeId") String nodeId,
+                      @Param("createdBefore") LocalDateTime createdBefore,
+                      @Param("reason") String reason,
+                      @Param("now") LocalDateTime now,
+                      @Param("pending") UploadJob.Status pending,
+                      @Param("failed") UploadJob.Status failed);
+
+    List<UploadJob> findAllByStatusAndReceivedLengthIsNotNullAndExpiresAtBefore(UploadJob.Status status,
+                                                                                LocalDateTime now);
+}
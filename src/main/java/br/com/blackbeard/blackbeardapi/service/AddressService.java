@@ -6,6 +6,7 @@ import br.com.blackbeard.blackbeardapi.repositories.AddressRepository;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import javax.transaction.Transactional;
 import java.util.UUID;
 
 @Service
@@ -16,6 +17,7 @@ public class AddressService {
 
     private final BarberShopService barberShopService;
 
+    @Transactional
     public void update(Address address, UUID addressId) {
         var persistedAddress = findById(addressId);
         persistedAddress.update(address);
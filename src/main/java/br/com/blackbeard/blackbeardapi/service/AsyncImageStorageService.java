@@ -0,0 +1,29 @@
+package br.com.blackbeard.blackbeardapi.service;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+public interface AsyncImageStorageService {
+
+    CompletableFuture<URI> uploadFileAsync(Path file, long contentLength, String fileName);
+
+    CompletableFuture<Void> deleteFileAsync(String fileName);
+
+    default CompletableFuture<Void> deleteFileAsync(UUID id) {
+        return deleteFileAsync(id.toString());
+    }
+
+    static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package br.com.blackbeard.blackbeardapi.service;
 
+import br.com.blackbeard.blackbeardapi.dtos.page.CursorPage;
+import br.com.blackbeard.blackbeardapi.dtos.page.PageCursor;
 import br.com.blackbeard.blackbeardapi.exceptions.ObjectNotFoundException;
 import br.com.blackbeard.blackbeardapi.models.Barber;
 import br.com.blackbeard.blackbeardapi.repositories.BarberRepository;
@@ -9,9 +11,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import javax.transaction.Transactional;
 import java.util.List;
 import java.util.UUID;
 
+import static java.util.Objects.isNull;
+
 @Service
 @RequiredArgsConstructor
 public class BarberService {
@@ -32,6 +37,7 @@ public class BarberService {
                 .orElseThrow(ObjectNotFoundException::new);
     }
 
+    @Transactional
     public void update(Barber barber, UUID idBarber) {
         var persistedBarber = findById(idBarber);
         persistedBarber.update(barber);
@@ -43,6 +49,15 @@ public class BarberService {
         return repository.findAllByBarberShopId(idBarberShop, pageable);
     }
 
+    public CursorPage<Barber> listAllBarberByIdBarberShop(UUID idBarberShop, PageCursor cursor, int size) {
+        barberShopService.findById(idBarberShop);
+        var pageable = CursorPage.pageable(size);
+        var barbers = isNull(cursor)
+                ? repository.findFirstPageByBarberShopId(idBarberShop, pageable)
+                : repository.findPageAfterByBarberShopId(idBarberShop, cursor.getCreatedDate(), cursor.getId(), pageable);
+        return CursorPage.of(barbers, pageable, barber -> new PageCursor(barber.getCreatedDate(), barber.getId()));
+    }
+
     private void executeBarberValidation(Barber barber) {
         barberValidationList.forEach(validation -> validation.validate(barber));
     }
@@ -1,20 +1,31 @@
 package br.com.blackbeard.blackbeardapi.service;
 
+import br.com.blackbeard.blackbeardapi.dtos.page.CursorPage;
+import br.com.blackbeard.blackbeardapi.dtos.page.PageCursor;
+import br.com.blackbeard.blackbeardapi.exceptions.ImageProcessingRejectedException;
 import br.com.blackbeard.blackbeardapi.exceptions.ObjectAlreadyCreatedException;
 import br.com.blackbeard.blackbeardapi.exceptions.ObjectNotFoundException;
 import br.com.blackbeard.blackbeardapi.models.Address;
 import br.com.blackbeard.blackbeardapi.models.BarberShop;
+import br.com.blackbeard.blackbeardapi.models.identifiers.Identifiers;
 import br.com.blackbeard.blackbeardapi.repositories.BarberShopRepository;
+import br.com.blackbeard.blackbeardapi.service.image.ImageDecoder;
+import br.com.blackbeard.blackbeardapi.service.image.ImageProcessingExecutor;
+import br.com.blackbeard.blackbeardapi.service.upload.UploadSpool;
 import lombok.AllArgsConstructor;
+import org.hibernate.Hibernate;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.transaction.Transactional;
+import java.io.InputStream;
 import java.net.URI;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
+import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 
 @Service
@@ -23,6 +34,11 @@ public class BarberShopService {
 
     private final BarberShopRepository repository;
     private final ImageStorageService imageStorageService;
+    private final ImageVariantService imageVariantService;
+    private final AsyncImageStorageService asyncImageStorageService;
+    private final ImageProcessingExecutor imageProcessingExecutor;
+    private final UploadSpool uploadSpool;
+    private final ImageDecoder imageDecoder;
 
     @Transactional
     public BarberShop save(BarberShop barberShop) {
@@ -38,8 +54,22 @@ public class BarberShopService {
         repository.save(persistedBarberShop);
     }
 
+    @Transactional
     public Page<BarberShop> listAll(Pageable pageable) {
-        return repository.findAll(pageable);
+        var barberShops = repository.findAll(pageable);
+        barberShops.forEach(barberShop -> Hibernate.initialize(barberShop.getImages()));
+        return barberShops;
+    }
+
+    @Transactional
+    public CursorPage<BarberShop> listAll(PageCursor cursor, int size) {
+        var pageable = CursorPage.pageable(size);
+        var barberShops = isNull(cursor)
+                ? repository.findFirstPage(pageable)
+                : repository.findPageAfter(cursor.getCreatedDate(), cursor.getId(), pageable);
+        barberShops.forEach(barberShop -> Hibernate.initialize(barberShop.getImages()));
+        return CursorPage.of(barberShops, pageable,
+                barberShop -> new PageCursor(barberShop.getCreatedDate(), barberShop.getId()));
     }
 
     public BarberShop findById(UUID id) {
@@ -47,6 +77,11 @@ public class BarberShopService {
                 .orElseThrow(ObjectNotFoundException::new);
     }
 
+    public BarberShop findByIdWithImages(UUID id) {
+        return repository.findWithImagesById(id)
+                .orElseThrow(ObjectNotFoundException::new);
+    }
+
     public void saveAddress(Address address, UUID barberShopId) {
         var barberShop = findById(barberShopId);
 
@@ -59,17 +94,78 @@ public class BarberShopService {
     }
 
     public URI saveLogo(UUID barberShopId, MultipartFile multipartFile) {
-        var barberShop = findById(barberShopId);
-        var uriLogo = imageStorageService.uploadFile(multipartFile, barberShop.getId().toString());
-        barberShop.setUrlLogo(uriLogo.toString());
-        repository.save(barberShop);
-        return uriLogo;
+        imageDecoder.inspect(multipartFile);
+        var spoolId = Identifiers.next();
+        uploadSpool.write(spoolId, multipartFile);
+        return saveSpooledLogo(barberShopId, spoolId, multipartFile.getSize());
+    }
+
+    public URI saveLogo(UUID barberShopId, InputStream inputStream) {
+        var spoolId = Identifiers.next();
+        var contentLength = uploadSpool.write(spoolId, inputStream);
+        try {
+            imageDecoder.inspect(uploadSpool.path(spoolId));
+        } catch (RuntimeException e) {
+            uploadSpool.delete(spoolId);
+            throw e;
+        }
+        return saveSpooledLogo(barberShopId, spoolId, contentLength);
+    }
+
+    public void updateLogo(UUID barberShopId, URI uriLogo) {
+        replaceLogo(findById(barberShopId), uriLogo);
     }
 
+    @Transactional
     public void deleteLogo(UUID barberShopId) {
         var barberShop = findById(barberShopId);
         imageStorageService.deleteFile(barberShop.getId());
+        imageVariantService.deleteVariants(barberShop.getId().toString(), barberShop.getLogoVariants());
         barberShop.setUrlLogo(null);
+        barberShop.setLogoVariants(null);
+        repository.save(barberShop);
+    }
+
+    private URI saveSpooledLogo(UUID barberShopId, UUID spoolId, long contentLength) {
+        var upload = upload(spoolId, contentLength, barberShopId.toString());
+
+        BarberShop barberShop;
+        try {
+            barberShop = findById(barberShopId);
+        } catch (RuntimeException e) {
+            upload.whenComplete((uri, error) -> uploadSpool.delete(spoolId))
+                    .thenCompose(uri -> asyncImageStorageService.deleteFileAsync(barberShopId));
+            throw e;
+        }
+
+        URI uriLogo;
+        try {
+            uriLogo = AsyncImageStorageService.await(upload);
+        } catch (RuntimeException e) {
+            uploadSpool.delete(spoolId);
+            throw e;
+        }
+        replaceLogo(barberShop, uriLogo);
+        imageVariantService.scheduleLogoVariants(barberShop.getId(), spoolId);
+        return uriLogo;
+    }
+
+    // Logos go through the same bounded pool as gallery images
+    private CompletableFuture<URI> upload(UUID spoolId, long contentLength, String fileName) {
+        try {
+            return imageProcessingExecutor.submit(() -> asyncImageStorageService
+                            .uploadFileAsync(uploadSpool.path(spoolId), contentLength, fileName))
+                    .thenCompose(upload -> upload);
+        } catch (ImageProcessingRejectedException e) {
+            uploadSpool.delete(spoolId);
+            throw e;
+        }
+    }
+
+    private void replaceLogo(BarberShop barberShop, URI uriLogo) {
+        imageVariantService.deleteVariants(barberShop.getId().toString(), barberShop.getLogoVariants());
+        barberShop.setUrlLogo(uriLogo.toString());
+        barberShop.setLogoVariants(null);
         repository.save(barberShop);
     }
 }
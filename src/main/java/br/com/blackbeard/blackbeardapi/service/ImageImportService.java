@@ -0,0 +1,77 @@
+package br.com.blackbeard.blackbeardapi.service;
+
+import br.com.blackbeard.blackbeardapi.service.upload.ImageImport;
+import br.com.blackbeard.blackbeardapi.service.upload.RemoteImageFetcher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Service
+public class ImageImportService {
+
+    private final ImageService imageService;
+    private final RemoteImageFetcher remoteImageFetcher;
+    private final ExecutorService executor;
+    private final Counter importedCounter;
+    private final Counter failedCounter;
+
+    public ImageImportService(ImageService imageService,
+                              RemoteImageFetcher remoteImageFetcher,
+                              @Value("${image.import.concurrency:8}") int concurrency,
+                              MeterRegistry meterRegistry) {
+        this.imageService = imageService;
+        this.remoteImageFetcher = remoteImageFetcher;
+        this.executor = Executors.newFixedThreadPool(concurrency, new CustomizableThreadFactory("image-import-"));
+        this.importedCounter = Counter.builder("image.import.imported")
+                .description("Remote images stored by bulk imports")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("image.import.failed")
+                .description("Remote images a bulk import could not store")
+                .register(meterRegistry);
+    }
+
+    public List<ImageImport> importImages(List<ImageImport> imports) {
+        // Images of the same barber shop are imported one after another so the image limit is checked in order
+        var positionsByBarberShop = new LinkedHashMap<UUID, List<Integer>>();
+        for (int i = 0; i < imports.size(); i++) {
+            positionsByBarberShop.computeIfAbsent(imports.get(i).getBarberShopId(), key -> new ArrayList<>()).add(i);
+        }
+
+        var results = new ImageImport[imports.size()];
+        var tasks = positionsByBarberShop.values().stream()
+                .map(positions -> CompletableFuture.runAsync(() ->
+                        positions.forEach(i -> results[i] = importImage(imports.get(i))), executor))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(tasks).join();
+        return Arrays.asList(results);
+    }
+
+    private ImageImport importImage(ImageImport imageImport) {
+        try {
+            var uri = remoteImageFetcher.fetch(imageImport.getSource(),
+                    inputStream -> imageService.saveImage(imageImport.getBarberShopId(), inputStream));
+            importedCounter.increment();
+            return imageImport.imported(uri);
+        } catch (RuntimeException e) {
+            failedCounter.increment();
+            return imageImport.failed(e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
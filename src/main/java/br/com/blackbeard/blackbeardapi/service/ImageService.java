@@ -2,16 +2,31 @@ package br.com.blackbeard.blackbeardapi.service;
 
 import br.com.blackbeard.blackbeardapi.exceptions.BarberShopImageException;
 import br.com.blackbeard.blackbeardapi.exceptions.BarberShopImageLimitException;
+import br.com.blackbeard.blackbeardapi.exceptions.ImageProcessingRejectedException;
 import br.com.blackbeard.blackbeardapi.exceptions.ObjectNotFoundException;
 import br.com.blackbeard.blackbeardapi.models.BarberShop;
 import br.com.blackbeard.blackbeardapi.models.Image;
+import br.com.blackbeard.blackbeardapi.models.UploadJob;
+import br.com.blackbeard.blackbeardapi.models.identifiers.Identifiers;
 import br.com.blackbeard.blackbeardapi.repositories.ImageRepository;
+import br.com.blackbeard.blackbeardapi.repositories.UploadJobRepository;
+import br.com.blackbeard.blackbeardapi.service.image.ImageDecoder;
+import br.com.blackbeard.blackbeardapi.service.image.ImageProcessingExecutor;
+import br.com.blackbeard.blackbeardapi.service.upload.UploadSpool;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.transaction.Transactional;
+import java.io.InputStream;
 import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 @Service
 @AllArgsConstructor
@@ -22,21 +37,142 @@ public class ImageService {
     private final ImageRepository repository;
     private final ImageStorageService imageStorageService;
     private final BarberShopService barberShopService;
+    private final UploadJobRepository uploadJobRepository;
+    private final ImageVariantService imageVariantService;
+    private final AsyncImageStorageService asyncImageStorageService;
+    private final ImageProcessingExecutor imageProcessingExecutor;
+    private final UploadSpool uploadSpool;
+    private final ImageDecoder imageDecoder;
 
     public URI saveImage(UUID barberShopId, MultipartFile multipartFile) {
-        var barberShop = barberShopService.findById(barberShopId);
-        var listImages = repository.findAllByBarberShopId(barberShop.getId());
-        if (listImages.size() >= IMAGE_LIMIT) {
+        imageDecoder.inspect(multipartFile);
+        var imageId = Identifiers.next();
+        uploadSpool.write(imageId, multipartFile);
+        return saveSpooledImage(barberShopId, imageId, multipartFile.getSize());
+    }
+
+    public URI saveImage(UUID barberShopId, InputStream inputStream) {
+        var imageId = Identifiers.next();
+        var contentLength = uploadSpool.write(imageId, inputStream);
+        try {
+            imageDecoder.inspect(uploadSpool.path(imageId));
+        } catch (RuntimeException e) {
+            uploadSpool.delete(imageId);
+            throw e;
+        }
+        return saveSpooledImage(barberShopId, imageId, contentLength);
+    }
+
+    public List<URI> saveImages(UUID barberShopId, List<MultipartFile> multipartFiles) {
+        if (multipartFiles.size() > IMAGE_LIMIT) {
             throw new BarberShopImageLimitException();
         }
-        var image = createImage(barberShop);
+        multipartFiles.forEach(imageDecoder::inspect);
+
+        var uploads = new LinkedHashMap<UUID, CompletableFuture<URI>>();
+        List<Image> images;
+        try {
+            for (var multipartFile : multipartFiles) {
+                var imageId = Identifiers.next();
+                uploadSpool.write(imageId, multipartFile);
+                uploads.put(imageId, upload(imageId, multipartFile.getSize()));
+            }
+
+            var barberShop = barberShopService.findById(barberShopId);
+            checkImageLimit(barberShop, multipartFiles.size());
+
+            AsyncImageStorageService.await(CompletableFuture.allOf(
+                    uploads.values().toArray(CompletableFuture[]::new)));
+            images = uploads.entrySet().stream()
+                    .map(upload -> Image.builder()
+                            .id(upload.getKey())
+                            .barberShop(barberShop)
+                            .url(upload.getValue().join().toString())
+                            .build())
+                    .collect(Collectors.toList());
+        } catch (RuntimeException e) {
+            discard(uploads);
+            throw e;
+        }
+
+        repository.saveAll(images);
+        images.forEach(image -> imageVariantService.scheduleImageVariants(image.getId(), image.getId()));
+        return images.stream()
+                .map(image -> URI.create(image.getUrl()))
+                .collect(Collectors.toList());
+    }
+
+    private URI saveSpooledImage(UUID barberShopId, UUID imageId, long contentLength) {
+        var upload = upload(imageId, contentLength);
+
+        Image image;
+        try {
+            var barberShop = barberShopService.findById(barberShopId);
+            checkImageLimit(barberShop);
+            image = Image.builder()
+                    .id(imageId)
+                    .barberShop(barberShop)
+                    .build();
+        } catch (RuntimeException e) {
+            upload.whenComplete((uri, error) -> uploadSpool.delete(imageId))
+                    .thenCompose(uri -> asyncImageStorageService.deleteFileAsync(imageId));
+            throw e;
+        }
 
-        var uriImage = imageStorageService.uploadFile(multipartFile, image.getId().toString());
+        URI uriImage;
+        try {
+            uriImage = AsyncImageStorageService.await(upload);
+        } catch (RuntimeException e) {
+            uploadSpool.delete(imageId);
+            throw e;
+        }
         image.setUrl(uriImage.toString());
         repository.save(image);
+        imageVariantService.scheduleImageVariants(imageId, imageId);
         return uriImage;
     }
 
+    // Encoding runs on the bounded processing pool, so a full pool turns the upload away with a 503
+    private CompletableFuture<URI> upload(UUID imageId, long contentLength) {
+        try {
+            return imageProcessingExecutor.submit(() -> asyncImageStorageService
+                            .uploadFileAsync(uploadSpool.path(imageId), contentLength, imageId.toString()))
+                    .thenCompose(upload -> upload);
+        } catch (ImageProcessingRejectedException e) {
+            uploadSpool.delete(imageId);
+            throw e;
+        }
+    }
+
+    public void checkImageLimit(BarberShop barberShop) {
+        checkImageLimit(barberShop, 1);
+    }
+
+    private void checkImageLimit(BarberShop barberShop, int incomingImages) {
+        var listImages = repository.findAllByBarberShopId(barberShop.getId());
+        var pendingUploads = uploadJobRepository.countInFlight(
+                barberShop.getId(), UploadJob.Target.IMAGE, UploadJob.Status.PENDING, LocalDateTime.now());
+        if (listImages.size() + pendingUploads + incomingImages > IMAGE_LIMIT) {
+            throw new BarberShopImageLimitException();
+        }
+    }
+
+    private void discard(Map<UUID, CompletableFuture<URI>> uploads) {
+        uploads.forEach((imageId, upload) -> upload
+                .whenComplete((uri, error) -> uploadSpool.delete(imageId))
+                .thenCompose(uri -> asyncImageStorageService.deleteFileAsync(imageId)));
+    }
+
+    public Image registerImage(UUID barberShopId, UUID imageId, URI uri) {
+        var image = Image.builder()
+                .id(imageId)
+                .barberShop(barberShopService.findById(barberShopId))
+                .url(uri.toString())
+                .build();
+        return repository.save(image);
+    }
+
+    @Transactional
     public void deleteImage(UUID barberShopId, UUID imageId) {
         var barberShop = barberShopService.findById(barberShopId);
         var image = findById(imageId);
@@ -44,6 +180,7 @@ public class ImageService {
             throw BarberShopImageException.imageDoesNotBelongToBarberShop();
         }
         imageStorageService.deleteFile(image.getId());
+        imageVariantService.deleteVariants(image.getId().toString(), image.getVariants());
         repository.delete(image);
     }
 
@@ -54,7 +191,7 @@ public class ImageService {
 
     public Image createImage(BarberShop barberShop) {
         return Image.builder()
-                .id(UUID.randomUUID())
+                .id(Identifiers.next())
                 .barberShop(barberShop)
                 .build();
     }
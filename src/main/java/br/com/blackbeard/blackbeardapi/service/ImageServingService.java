@@ -0,0 +1,83 @@
+package br.com.blackbeard.blackbeardapi.service;
+
+import br.com.blackbeard.blackbeardapi.exceptions.ObjectNotFoundException;
+import br.com.blackbeard.blackbeardapi.service.storage.StorageObjectDeletedEvent;
+import br.com.blackbeard.blackbeardapi.service.storage.StoredObject;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+@Service
+public class ImageServingService {
+
+    private final ImageStorageService imageStorageService;
+    private final Cache<String, StoredObject> cache;
+    private final long maxEntrySize;
+
+    public ImageServingService(ImageStorageService imageStorageService,
+                               @Value("${image.serving.cache.max-size:64MB}") DataSize maxSize,
+                               @Value("${image.serving.cache.max-entry-size:1MB}") DataSize maxEntrySize,
+                               MeterRegistry meterRegistry) {
+        this.imageStorageService = imageStorageService;
+        this.maxEntrySize = maxEntrySize.toBytes();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((String key, StoredObject storedObject) -> (int) storedObject.getContentLength())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "image.serving");
+    }
+
+    public StoredObject find(String name) {
+        var cached = cache.getIfPresent(name);
+        if (cached != null) {
+            return cached;
+        }
+
+        var storedObject = imageStorageService.findFile(name)
+                .orElseThrow(ObjectNotFoundException::new);
+        if (!isCacheable(name, storedObject)) {
+            return storedObject;
+        }
+
+        var inMemory = load(storedObject);
+        cache.put(name, inMemory);
+        return inMemory;
+    }
+
+    public static boolean isImmutable(String name, StoredObject storedObject) {
+        return name.equals(storedObject.getKey());
+    }
+
+    @EventListener
+    public void evict(StorageObjectDeletedEvent event) {
+        cache.invalidate(event.getKey());
+    }
+
+    private boolean isCacheable(String name, StoredObject storedObject) {
+        return isImmutable(name, storedObject)
+                && storedObject.getPath().isEmpty()
+                && storedObject.getContentLength() > 0
+                && storedObject.getContentLength() <= maxEntrySize;
+    }
+
+    private static StoredObject load(StoredObject storedObject) {
+        byte[] content;
+        try (var inputStream = storedObject.open(0, storedObject.getContentLength() - 1)) {
+            content = inputStream.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new StoredObject(storedObject.getKey(), content.length, storedObject.getContentType(), null,
+                (start, end) -> new ByteArrayInputStream(content, (int) start, (int) (end - start + 1)));
+    }
+}
@@ -1,14 +1,47 @@
 package br.com.blackbeard.blackbeardapi.service;
 
+import br.com.blackbeard.blackbeardapi.exceptions.FileException;
+import br.com.blackbeard.blackbeardapi.service.storage.StoredObject;
+import br.com.blackbeard.blackbeardapi.service.storage.StoredObjectListing;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface ImageStorageService {
 
-    URI uploadFile(MultipartFile multipartFile, String fileName);
+    URI uploadFile(InputStream inputStream, long contentLength, String fileName);
 
-    void deleteFile(UUID id);
+    // For bytes the caller already encoded, such as variants, which would only lose quality by being encoded again
+    default URI uploadEncodedFile(InputStream inputStream, long contentLength, String fileName) {
+        return uploadFile(inputStream, contentLength, fileName);
+    }
+
+    default URI uploadFile(MultipartFile multipartFile, String fileName) {
+        try (var inputStream = multipartFile.getInputStream()) {
+            return uploadFile(inputStream, multipartFile.getSize(), fileName);
+        } catch (IOException e) {
+            throw FileException.errorToReadFile();
+        }
+    }
+
+    Optional<StoredObject> findFile(String fileName);
+
+    StoredObjectListing listFiles(String continuationToken, int pageSize);
+
+    void deleteFile(String fileName);
+
+    default void deleteFile(UUID id) {
+        deleteFile(id.toString());
+    }
+
+    default List<String> deleteFiles(List<String> fileNames) {
+        fileNames.forEach(this::deleteFile);
+        return fileNames;
+    }
 
 }
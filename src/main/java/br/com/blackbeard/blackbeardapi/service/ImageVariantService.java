@@ -0,0 +1,145 @@
+package br.com.blackbeard.blackbeardapi.service;
+
+import br.com.blackbeard.blackbeardapi.exceptions.ImageProcessingRejectedException;
+import br.com.blackbeard.blackbeardapi.models.identifiers.Identifiers;
+import br.com.blackbeard.blackbeardapi.repositories.BarberShopRepository;
+import br.com.blackbeard.blackbeardapi.repositories.ImageRepository;
+import br.com.blackbeard.blackbeardapi.service.image.ImageProcessingExecutor;
+import br.com.blackbeard.blackbeardapi.service.image.ImageVariant;
+import br.com.blackbeard.blackbeardapi.service.image.ImageVariantGenerator;
+import br.com.blackbeard.blackbeardapi.service.upload.UploadSpool;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static java.util.Objects.isNull;
+
+@Service
+public class ImageVariantService {
+
+    private final ImageVariantGenerator imageVariantGenerator;
+    private final ImageStorageService imageStorageService;
+    private final ImageProcessingExecutor imageProcessingExecutor;
+    private final UploadSpool uploadSpool;
+    private final ImageRepository imageRepository;
+    private final BarberShopRepository barberShopRepository;
+    private final Counter failedCounter;
+
+    public ImageVariantService(ImageVariantGenerator imageVariantGenerator,
+                               ImageStorageService imageStorageService,
+                               ImageProcessingExecutor imageProcessingExecutor,
+                               UploadSpool uploadSpool,
+                               ImageRepository imageRepository,
+                               BarberShopRepository barberShopRepository,
+                               MeterRegistry meterRegistry) {
+        this.imageVariantGenerator = imageVariantGenerator;
+        this.imageStorageService = imageStorageService;
+        this.imageProcessingExecutor = imageProcessingExecutor;
+        this.uploadSpool = uploadSpool;
+        this.imageRepository = imageRepository;
+        this.barberShopRepository = barberShopRepository;
+        this.failedCounter = Counter.builder("image.variants.failed")
+                .description("Uploads whose variants could not be generated")
+                .register(meterRegistry);
+    }
+
+    public void scheduleImageVariants(UUID imageId, MultipartFile multipartFile) {
+        schedule(multipartFile, spoolId -> generateImageVariants(imageId, spoolId));
+    }
+
+    public void scheduleImageVariants(UUID imageId, UUID spoolId) {
+        submit(spoolId, () -> generateImageVariants(imageId, spoolId));
+    }
+
+    public void scheduleLogoVariants(UUID barberShopId, MultipartFile multipartFile) {
+        schedule(multipartFile, spoolId -> generateLogoVariants(barberShopId, spoolId));
+    }
+
+    public void scheduleLogoVariants(UUID barberShopId, UUID spoolId) {
+        submit(spoolId, () -> generateLogoVariants(barberShopId, spoolId));
+    }
+
+    public void generateImageVariants(UUID imageId, UUID spoolId) {
+        var variants = generate(imageId.toString(), spoolId);
+        if (variants.isEmpty()) {
+            return;
+        }
+        imageRepository.findById(imageId).ifPresent(image -> {
+            image.setVariants(variants);
+            imageRepository.save(image);
+        });
+    }
+
+    public void generateLogoVariants(UUID barberShopId, UUID spoolId) {
+        var variants = generate(barberShopId.toString(), spoolId);
+        if (variants.isEmpty()) {
+            return;
+        }
+        barberShopRepository.findById(barberShopId).ifPresent(barberShop -> {
+            barberShop.setLogoVariants(variants);
+            barberShopRepository.save(barberShop);
+        });
+    }
+
+    public void deleteVariants(String key, Map<String, String> variants) {
+        if (isNull(variants)) {
+            return;
+        }
+        variants.keySet().forEach(name -> imageStorageService.deleteFile(ImageVariant.key(key, name)));
+    }
+
+    private void schedule(MultipartFile multipartFile, Consumer<UUID> stage) {
+        if (!imageVariantGenerator.isEnabled()) {
+            return;
+        }
+        var spoolId = Identifiers.next();
+        uploadSpool.write(spoolId, multipartFile);
+        submit(spoolId, () -> stage.accept(spoolId));
+    }
+
+    private void submit(UUID spoolId, Runnable stage) {
+        if (!imageVariantGenerator.isEnabled()) {
+            uploadSpool.delete(spoolId);
+            return;
+        }
+        try {
+            imageProcessingExecutor.submit(() -> {
+                try {
+                    stage.run();
+                } finally {
+                    uploadSpool.delete(spoolId);
+                }
+                return null;
+            });
+        } catch (ImageProcessingRejectedException e) {
+            failedCounter.increment();
+            uploadSpool.delete(spoolId);
+        }
+    }
+
+    private Map<String, String> generate(String key, UUID spoolId) {
+        var variants = new LinkedHashMap<String, String>();
+        if (!imageVariantGenerator.isEnabled()) {
+            return variants;
+        }
+        try (var inputStream = uploadSpool.open(spoolId)) {
+            for (var variant : imageVariantGenerator.generate(inputStream)) {
+                var content = variant.getContent();
+                var uri = imageStorageService.uploadEncodedFile(
+                        new ByteArrayInputStream(content), content.length, variant.keyFor(key));
+                variants.put(variant.getName(), uri.toString());
+            }
+        } catch (IOException | RuntimeException e) {
+            failedCounter.increment();
+        }
+        return variants;
+    }
+}
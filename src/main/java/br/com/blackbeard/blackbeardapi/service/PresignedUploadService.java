@@ -0,0 +1,196 @@
+package br.com.blackbeard.blackbeardapi.service;
+
+import br.com.blackbeard.blackbeardapi.exceptions.BarberShopImageException;
+import br.com.blackbeard.blackbeardapi.exceptions.FileException;
+import br.com.blackbeard.blackbeardapi.models.Image;
+import br.com.blackbeard.blackbeardapi.models.UploadJob;
+import br.com.blackbeard.blackbeardapi.models.identifiers.Identifiers;
+import br.com.blackbeard.blackbeardapi.repositories.UploadJobRepository;
+import br.com.blackbeard.blackbeardapi.service.image.ImageDecoder;
+import br.com.blackbeard.blackbeardapi.service.image.ImageEncoder;
+import br.com.blackbeard.blackbeardapi.service.image.ImageFormat;
+import br.com.blackbeard.blackbeardapi.service.storage.ContentAddressedStorageService;
+import br.com.blackbeard.blackbeardapi.service.storage.StoredObject;
+import br.com.blackbeard.blackbeardapi.service.upload.PresignedUpload;
+import br.com.blackbeard.blackbeardapi.service.upload.UploadSpool;
+import com.amazonaws.HttpMethod;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.Headers;
+import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import javax.transaction.Transactional;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+@ConditionalOnProperty(name = "storage.type", havingValue = "s3", matchIfMissing = true)
+public class PresignedUploadService {
+
+    private final AmazonS3 s3;
+    private final String bucket;
+    private final Duration expiration;
+    private final long maxContentLength;
+    private final UploadJobRepository repository;
+    private final ImageService imageService;
+    private final BarberShopService barberShopService;
+    private final ContentAddressedStorageService contentAddressedStorageService;
+    private final ImageVariantService imageVariantService;
+    private final UploadSpool uploadSpool;
+    private final ImageDecoder imageDecoder;
+    private final ImageEncoder imageEncoder;
+
+    public PresignedUploadService(AmazonS3 s3,
+                                  @Value("${s3.bucket}") String bucket,
+                                  @Value("${s3.presign.expiration:5m}") Duration expiration,
+                                  @Value("${s3.presign.max-content-length:512000}") long maxContentLength,
+                                  UploadJobRepository repository,
+                                  ImageService imageService,
+                                  BarberShopService barberShopService,
+                                  ContentAddressedStorageService contentAddressedStorageService,
+                                  ImageVariantService imageVariantService,
+                                  UploadSpool uploadSpool,
+                                  ImageDecoder imageDecoder,
+                                  ImageEncoder imageEncoder) {
+        this.s3 = s3;
+        this.bucket = bucket;
+        this.expiration = expiration;
+        this.maxContentLength = maxContentLength;
+        this.repository = repository;
+        this.imageService = imageService;
+        this.barberShopService = barberShopService;
+        this.contentAddressedStorageService = contentAddressedStorageService;
+        this.imageVariantService = imageVariantService;
+        this.uploadSpool = uploadSpool;
+        this.imageDecoder = imageDecoder;
+        this.imageEncoder = imageEncoder;
+    }
+
+    public PresignedUpload create(UUID barberShopId, String contentType, long contentLength) {
+        var format = ImageFormat.fromContentType(contentType);
+        if (contentLength <= 0 || contentLength > maxContentLength) {
+            throw FileException.invalidImageSize();
+        }
+        var barberShop = barberShopService.findById(barberShopId);
+        imageService.checkImageLimit(barberShop);
+
+        var uploadJob = repository.save(UploadJob.builder()
+                .id(Identifiers.next())
+                .barberShopId(barberShop.getId())
+                .target(UploadJob.Target.IMAGE)
+                .status(UploadJob.Status.PENDING)
+                .contentType(format.getContentType())
+                .contentLength(contentLength)
+                .expiresAt(LocalDateTime.now().plus(expiration))
+                .build());
+
+        var headers = Map.of(
+                Headers.CONTENT_TYPE, format.getContentType(),
+                Headers.CONTENT_LENGTH, String.valueOf(contentLength),
+                Headers.CACHE_CONTROL, StoredObject.IMMUTABLE_CACHE_CONTROL);
+        var request = new GeneratePresignedUrlRequest(bucket, uploadJob.getFileName(), HttpMethod.PUT)
+                .withExpiration(Date.from(uploadJob.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant()))
+                .withContentType(format.getContentType());
+        request.putCustomRequestHeader(Headers.CONTENT_LENGTH, String.valueOf(contentLength));
+        request.putCustomRequestHeader(Headers.CACHE_CONTROL, StoredObject.IMMUTABLE_CACHE_CONTROL);
+
+        return new PresignedUpload(uploadJob, s3.generatePresignedUrl(request), headers);
+    }
+
+    // The row lock serialises concurrent completes; the one that waited finds the job completed and gets its image
+    @Transactional(dontRollbackOn = {FileException.class, BarberShopImageException.class})
+    public Image complete(UUID uploadJobId) {
+        var uploadJob = repository.findLockedById(uploadJobId)
+                .filter(UploadJob::isDirect)
+                .orElseThrow(BarberShopImageException::uploadIsNotPending);
+        if (uploadJob.getStatus() == UploadJob.Status.COMPLETED) {
+            return imageService.findById(uploadJob.getId());
+        }
+        if (uploadJob.getStatus() != UploadJob.Status.PENDING) {
+            throw BarberShopImageException.uploadIsNotPending();
+        }
+        if (uploadJob.isExpired(LocalDateTime.now())) {
+            reject(uploadJob, BarberShopImageException.UPLOAD_EXPIRED);
+            throw BarberShopImageException.uploadExpired();
+        }
+
+        var key = uploadJob.getFileName();
+        try {
+            verify(uploadJob, key);
+        } catch (FileException e) {
+            reject(uploadJob, e.getMessage());
+            throw e;
+        }
+
+        Image image;
+        try {
+            var url = store(uploadJob, key);
+            image = imageService.registerImage(uploadJob.getBarberShopId(), uploadJob.getId(), url);
+            uploadJob.complete(url);
+        } catch (RuntimeException e) {
+            uploadSpool.delete(uploadJob.getId());
+            throw e;
+        }
+        repository.save(uploadJob);
+        imageVariantService.scheduleImageVariants(image.getId(), uploadJob.getId());
+        return image;
+    }
+
+    // The object is at most max-content-length, so it is spooled whole: the header check, the re-encode and the
+    // variants all read it from there
+    private void verify(UploadJob uploadJob, String key) {
+        var metadata = s3.getObjectMetadata(bucket, key);
+        if (metadata.getContentLength() != uploadJob.getContentLength()) {
+            throw FileException.invalidImageSize();
+        }
+        try (var object = s3.getObject(bucket, key)) {
+            uploadSpool.write(uploadJob.getId(), 0, object.getObjectContent(), uploadJob.getContentLength());
+        } catch (IOException e) {
+            throw FileException.errorToReadFile();
+        }
+        var format = imageDecoder.inspect(uploadSpool.path(uploadJob.getId())).getFormat();
+        if (!format.getContentType().equals(uploadJob.getContentType())
+                || !format.getContentType().equals(metadata.getContentType())) {
+            throw FileException.invalidImageFormat();
+        }
+    }
+
+    private URI store(UploadJob uploadJob, String key) {
+        if (!imageEncoder.isEnabled()) {
+            return contentAddressedStorageService.adopt(key, toUri(key), uploadJob.getContentLength());
+        }
+        URI url;
+        try (var inputStream = uploadSpool.open(uploadJob.getId())) {
+            url = contentAddressedStorageService.uploadFile(inputStream, uploadJob.getContentLength(), key);
+        } catch (IOException e) {
+            throw FileException.errorToReadFile();
+        }
+        s3.deleteObject(bucket, key);
+        return url;
+    }
+
+    private void reject(UploadJob uploadJob, String reason) {
+        uploadSpool.delete(uploadJob.getId());
+        s3.deleteObject(bucket, uploadJob.getFileName());
+        uploadJob.fail(reason);
+        repository.save(uploadJob);
+    }
+
+    private URI toUri(String key) {
+        try {
+            return s3.getUrl(bucket, key).toURI();
+        } catch (URISyntaxException e) {
+            throw FileException.errorToGetImageURI();
+        }
+    }
+}
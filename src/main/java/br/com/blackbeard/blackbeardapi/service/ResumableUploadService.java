@@ -0,0 +1,168 @@
+package br.com.blackbeard.blackbeardapi.service;
+
+import br.com.blackbeard.blackbeardapi.exceptions.BarberShopImageException;
+import br.com.blackbeard.blackbeardapi.exceptions.FileException;
+import br.com.blackbeard.blackbeardapi.exceptions.ObjectNotFoundException;
+import br.com.blackbeard.blackbeardapi.models.Image;
+import br.com.blackbeard.blackbeardapi.models.UploadJob;
+import br.com.blackbeard.blackbeardapi.models.identifiers.Identifiers;
+import br.com.blackbeard.blackbeardapi.repositories.UploadJobRepository;
+import br.com.blackbeard.blackbeardapi.service.image.ImageDecoder;
+import br.com.blackbeard.blackbeardapi.service.image.ImageFormat;
+import br.com.blackbeard.blackbeardapi.service.upload.UploadSpool;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class ResumableUploadService {
+
+    private final UploadJobRepository repository;
+    private final ImageService imageService;
+    private final BarberShopService barberShopService;
+    private final ImageVariantService imageVariantService;
+    private final AsyncImageStorageService asyncImageStorageService;
+    private final UploadSpool uploadSpool;
+    private final ImageDecoder imageDecoder;
+    private final Duration expiration;
+    private final long maxContentLength;
+    private final Counter expiredCounter;
+    private final Set<UUID> receiving = ConcurrentHashMap.newKeySet();
+
+    public ResumableUploadService(UploadJobRepository repository,
+                                  ImageService imageService,
+                                  BarberShopService barberShopService,
+                                  ImageVariantService imageVariantService,
+                                  AsyncImageStorageService asyncImageStorageService,
+                                  UploadSpool uploadSpool,
+                                  ImageDecoder imageDecoder,
+                                  @Value("${upload.resumable.expiration:PT24H}") Duration expiration,
+                                  @Value("${upload.resumable.max-content-length:5MB}") DataSize maxContentLength,
+                                  MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.imageService = imageService;
+        this.barberShopService = barberShopService;
+        this.imageVariantService = imageVariantService;
+        this.asyncImageStorageService = asyncImageStorageService;
+        this.uploadSpool = uploadSpool;
+        this.imageDecoder = imageDecoder;
+        this.expiration = expiration;
+        this.maxContentLength = maxContentLength.toBytes();
+        this.expiredCounter = Counter.builder("upload.resumable.expired")
+                .description("Resumable uploads abandoned before they were completed")
+                .register(meterRegistry);
+    }
+
+    public UploadJob create(UUID barberShopId, String contentType, long contentLength) {
+        var format = ImageFormat.fromContentType(contentType);
+        if (contentLength <= 0 || contentLength > maxContentLength) {
+            throw FileException.invalidImageSize();
+        }
+        var barberShop = barberShopService.findById(barberShopId);
+        imageService.checkImageLimit(barberShop);
+
+        return repository.save(UploadJob.builder()
+                .id(Identifiers.next())
+                .barberShopId(barberShop.getId())
+                .target(UploadJob.Target.IMAGE)
+                .status(UploadJob.Status.PENDING)
+                .contentType(format.getContentType())
+                .contentLength(contentLength)
+                .receivedLength(0L)
+                .expiresAt(LocalDateTime.now().plus(expiration))
+                .build());
+    }
+
+    public UploadJob findById(UUID id) {
+        return repository.findById(id)
+                .filter(UploadJob::isResumable)
+                .orElseThrow(ObjectNotFoundException::new);
+    }
+
+    public UploadJob append(UUID id, long offset, InputStream inputStream) {
+        if (!receiving.add(id)) {
+            throw BarberShopImageException.uploadInProgress();
+        }
+        try {
+            var uploadJob = findPending(id);
+            if (offset != uploadJob.getReceivedLength()) {
+                throw BarberShopImageException.uploadOffsetMismatch();
+            }
+            var receivedLength = uploadSpool.write(id, offset, inputStream, uploadJob.getContentLength());
+            uploadJob.setReceivedLength(receivedLength);
+            uploadJob.setExpiresAt(LocalDateTime.now().plus(expiration));
+            return repository.save(uploadJob);
+        } finally {
+            receiving.remove(id);
+        }
+    }
+
+    public Image complete(UUID id) {
+        if (!receiving.add(id)) {
+            throw BarberShopImageException.uploadInProgress();
+        }
+        try {
+            var uploadJob = findPending(id);
+            if (!uploadJob.isReceived()) {
+                throw BarberShopImageException.uploadIsIncomplete();
+            }
+            var file = uploadSpool.path(id);
+            try {
+                var header = imageDecoder.inspect(file);
+                if (!header.getFormat().getContentType().equals(uploadJob.getContentType())) {
+                    throw FileException.invalidImageFormat();
+                }
+            } catch (FileException e) {
+                reject(uploadJob, e.getMessage());
+                throw e;
+            }
+
+            var uri = AsyncImageStorageService.await(
+                    asyncImageStorageService.uploadFileAsync(file, uploadJob.getContentLength(), uploadJob.getFileName()));
+            var image = imageService.registerImage(uploadJob.getBarberShopId(), uploadJob.getId(), uri);
+            uploadJob.complete(uri);
+            repository.save(uploadJob);
+            imageVariantService.scheduleImageVariants(image.getId(), id);
+            return image;
+        } finally {
+            receiving.remove(id);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${upload.resumable.sweep-interval:PT15M}")
+    public int expire() {
+        var expired = repository.findAllByStatusAndReceivedLengthIsNotNullAndExpiresAtBefore(
+                UploadJob.Status.PENDING, LocalDateTime.now());
+        expired.forEach(uploadJob -> reject(uploadJob, BarberShopImageException.UPLOAD_EXPIRED));
+        expiredCounter.increment(expired.size());
+        return expired.size();
+    }
+
+    private UploadJob findPending(UUID id) {
+        var uploadJob = findById(id);
+        if (uploadJob.getStatus() != UploadJob.Status.PENDING) {
+            throw BarberShopImageException.uploadIsNotPending();
+        }
+        if (uploadJob.isExpired(LocalDateTime.now())) {
+            reject(uploadJob, BarberShopImageException.UPLOAD_EXPIRED);
+            throw BarberShopImageException.uploadExpired();
+        }
+        return uploadJob;
+    }
+
+    private void reject(UploadJob uploadJob, String reason) {
+        uploadSpool.delete(uploadJob.getId());
+        uploadJob.fail(reason);
+        repository.save(uploadJob);
+    }
+}
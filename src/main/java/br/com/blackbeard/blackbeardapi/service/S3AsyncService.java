@@ -0,0 +1,81 @@
+package br.com.blackbeard.blackbeardapi.service;
+
+import br.com.blackbeard.blackbeardapi.exceptions.FileException;
+import br.com.blackbeard.blackbeardapi.service.image.ImageEncoder;
+import br.com.blackbeard.blackbeardapi.service.image.ImageFormat;
+import br.com.blackbeard.blackbeardapi.service.storage.StorageBackend;
+import br.com.blackbeard.blackbeardapi.service.storage.StoredObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.GetUrlRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
+@Service
+@StorageBackend
+@ConditionalOnProperty(name = "storage.type", havingValue = "s3", matchIfMissing = true)
+public class S3AsyncService implements AsyncImageStorageService {
+
+    @Autowired
+    private S3AsyncClient s3;
+
+    @Autowired
+    private ImageEncoder imageEncoder;
+
+    @Value("${s3.bucket}")
+    private String bucket;
+
+    @Override
+    public CompletableFuture<URI> uploadFileAsync(Path file, long contentLength, String fileName) {
+        var request = PutObjectRequest.builder()
+                .bucket(bucket)
+                .key(fileName)
+                .cacheControl(StoredObject.IMMUTABLE_CACHE_CONTROL);
+        AsyncRequestBody body;
+        try (var inputStream = new BufferedInputStream(Files.newInputStream(file))) {
+            var format = ImageFormat.detect(inputStream);
+            if (imageEncoder.isEnabled()) {
+                var encoded = imageEncoder.reencode(inputStream, contentLength);
+                var content = encoded.getContent();
+                request.contentType(encoded.getFormat().getContentType()).contentLength((long) content.length);
+                body = AsyncRequestBody.fromBytes(content);
+            } else {
+                request.contentType(format.getContentType()).contentLength(contentLength);
+                body = AsyncRequestBody.fromFile(file);
+            }
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(FileException.errorToReadFile());
+        } catch (FileException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return s3.putObject(request.build(), body)
+                .thenApply(response -> url(fileName));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteFileAsync(String fileName) {
+        return s3.deleteObject(request -> request.bucket(bucket).key(fileName))
+                .thenApply(response -> null);
+    }
+
+    private URI url(String fileName) {
+        try {
+            return s3.utilities()
+                    .getUrl(GetUrlRequest.builder().bucket(bucket).key(fileName).build())
+                    .toURI();
+        } catch (URISyntaxException e) {
+            throw FileException.errorToGetImageURI();
+        }
+    }
+}
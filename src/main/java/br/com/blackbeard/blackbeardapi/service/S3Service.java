@@ -1,72 +1,144 @@
 package br.com.blackbeard.blackbeardapi.service;
 
 import br.com.blackbeard.blackbeardapi.exceptions.FileException;
+import br.com.blackbeard.blackbeardapi.service.image.ImageEncoder;
+import br.com.blackbeard.blackbeardapi.service.image.ImageFormat;
+import br.com.blackbeard.blackbeardapi.service.storage.StorageBackend;
+import br.com.blackbeard.blackbeardapi.service.storage.StoredObject;
+import br.com.blackbeard.blackbeardapi.service.storage.StoredObjectListing;
+import br.com.blackbeard.blackbeardapi.service.storage.StoredObjectSummary;
 import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.MultiObjectDeleteException;
 import com.amazonaws.services.s3.model.ObjectMetadata;
-import org.apache.commons.io.FilenameUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
 
-import javax.imageio.ImageIO;
-import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.UUID;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
+@StorageBackend
+@ConditionalOnProperty(name = "storage.type", havingValue = "s3", matchIfMissing = true)
 public class S3Service implements ImageStorageService {
 
-    public static final String CONTENT_TYPE = "image";
+    private static final int MAX_KEYS_PER_DELETE = 1000;
 
     @Autowired
     private AmazonS3 s3;
 
+    @Autowired
+    private ImageEncoder imageEncoder;
+
     @Value("${s3.bucket}")
     private String bucket;
 
-    public URI uploadFile(MultipartFile multipartFile, String fileName) {
-        var meta = new ObjectMetadata();
-        meta.setContentType(CONTENT_TYPE);
-        var inputStream = getImageFromFile(multipartFile);
-        s3.putObject(bucket, fileName, inputStream, meta);
+    public URI uploadFile(InputStream inputStream, long contentLength, String fileName) {
+        return upload(inputStream, contentLength, fileName, imageEncoder.isEnabled());
+    }
+
+    @Override
+    public URI uploadEncodedFile(InputStream inputStream, long contentLength, String fileName) {
+        return upload(inputStream, contentLength, fileName, false);
+    }
+
+    public Optional<StoredObject> findFile(String fileName) {
+        ObjectMetadata metadata;
         try {
-            return s3.getUrl(bucket, fileName).toURI();
-        } catch (URISyntaxException e) {
-            throw FileException.errorToGetImageURI();
+            metadata = s3.getObjectMetadata(bucket, fileName);
+        } catch (AmazonS3Exception e) {
+            if (e.getStatusCode() == HttpStatus.NOT_FOUND.value()) {
+                return Optional.empty();
+            }
+            throw e;
         }
+        var contentType = metadata.getContentType() != null
+                ? metadata.getContentType()
+                : StoredObject.DEFAULT_CONTENT_TYPE;
+        return Optional.of(new StoredObject(fileName, metadata.getContentLength(), contentType, null,
+                (start, end) -> s3.getObject(new GetObjectRequest(bucket, fileName).withRange(start, end))
+                        .getObjectContent()));
     }
 
-    public void deleteFile(UUID id) {
-        s3.deleteObject(bucket, id.toString());
+    @Override
+    public StoredObjectListing listFiles(String continuationToken, int pageSize) {
+        var result = s3.listObjectsV2(new ListObjectsV2Request()
+                .withBucketName(bucket)
+                .withMaxKeys(pageSize)
+                .withContinuationToken(continuationToken));
+        var objects = result.getObjectSummaries().stream()
+                .map(summary -> new StoredObjectSummary(summary.getKey(), summary.getSize(),
+                        summary.getLastModified().toInstant()))
+                .collect(Collectors.toList());
+        return new StoredObjectListing(objects, result.isTruncated() ? result.getNextContinuationToken() : null);
     }
 
-    private InputStream getImageFromFile(MultipartFile multipartFile) {
-        var extension = FilenameUtils.getExtension(multipartFile.getOriginalFilename());
-        if (!"png".equalsIgnoreCase(extension) && !"jpg".equalsIgnoreCase(extension)) {
-            throw FileException.invalidImageFormat();
-        }
-        try {
-            var image = ImageIO.read(multipartFile.getInputStream());
-            return getInputStream(image);
+    public void deleteFile(String fileName) {
+        s3.deleteObject(bucket, fileName);
+    }
 
-        } catch (IOException e) {
-            throw FileException.errorToReadFile();
+    @Override
+    public List<String> deleteFiles(List<String> fileNames) {
+        var deleted = new ArrayList<String>(fileNames.size());
+        for (var from = 0; from < fileNames.size(); from += MAX_KEYS_PER_DELETE) {
+            var keys = fileNames.subList(from, Math.min(from + MAX_KEYS_PER_DELETE, fileNames.size()));
+            var request = new DeleteObjectsRequest(bucket)
+                    .withKeys(keys.toArray(String[]::new))
+                    .withQuiet(false);
+            try {
+                s3.deleteObjects(request).getDeletedObjects()
+                        .forEach(object -> deleted.add(object.getKey()));
+            } catch (MultiObjectDeleteException e) {
+                e.getDeletedObjects().forEach(object -> deleted.add(object.getKey()));
+            }
         }
+        return deleted;
     }
 
-    private InputStream getInputStream(BufferedImage img) {
+    private URI upload(InputStream inputStream, long contentLength, String fileName, boolean reencode) {
         try {
-            var os = new ByteArrayOutputStream();
-            ImageIO.write(img, "png", os);
-            return new ByteArrayInputStream(os.toByteArray());
+            var bufferedStream = new BufferedInputStream(inputStream);
+            var format = ImageFormat.detect(bufferedStream);
+            if (reencode) {
+                putReencoded(bufferedStream, contentLength, fileName);
+            } else {
+                putObject(bufferedStream, contentLength, format.getContentType(), fileName);
+            }
         } catch (IOException e) {
             throw FileException.errorToReadFile();
         }
+        try {
+            return s3.getUrl(bucket, fileName).toURI();
+        } catch (URISyntaxException e) {
+            throw FileException.errorToGetImageURI();
+        }
+    }
+
+    private void putObject(InputStream inputStream, long contentLength, String contentType, String fileName) {
+        var meta = new ObjectMetadata();
+        meta.setContentType(contentType);
+        meta.setContentLength(contentLength);
+        meta.setCacheControl(StoredObject.IMMUTABLE_CACHE_CONTROL);
+        s3.putObject(bucket, fileName, inputStream, meta);
+    }
+
+    private void putReencoded(InputStream inputStream, long contentLength, String fileName) throws IOException {
+        var encoded = imageEncoder.reencode(inputStream, contentLength);
+        var content = encoded.getContent();
+        putObject(new ByteArrayInputStream(content), content.length, encoded.getFormat().getContentType(), fileName);
     }
 }
@@ -1,5 +1,7 @@
 package br.com.blackbeard.blackbeardapi.service;
 
+import br.com.blackbeard.blackbeardapi.dtos.page.CursorPage;
+import br.com.blackbeard.blackbeardapi.dtos.page.PageCursor;
 import br.com.blackbeard.blackbeardapi.exceptions.ObjectNotFoundException;
 import br.com.blackbeard.blackbeardapi.models.BarberServiceModel;
 import br.com.blackbeard.blackbeardapi.repositories.ServiceRepository;
@@ -8,8 +10,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import javax.transaction.Transactional;
 import java.util.UUID;
 
+import static java.util.Objects.isNull;
 
 @Service
 @RequiredArgsConstructor
@@ -34,6 +38,16 @@ public class ServiceBarberService {
         return repository.findAllByBarberId(idBarber, pageable);
     }
 
+    public CursorPage<BarberServiceModel> listAllServiceByIdBarber(UUID idBarber, PageCursor cursor, int size) {
+        barberService.findById(idBarber);
+        var pageable = CursorPage.pageable(size);
+        var services = isNull(cursor)
+                ? repository.findFirstPageByBarberId(idBarber, pageable)
+                : repository.findPageAfterByBarberId(idBarber, cursor.getCreatedDate(), cursor.getId(), pageable);
+        return CursorPage.of(services, pageable, service -> new PageCursor(service.getCreatedDate(), service.getId()));
+    }
+
+    @Transactional
     public void update(BarberServiceModel service, UUID idService) {
         var persistedService = findById(idService);
         persistedService.update(service);
@@ -0,0 +1,161 @@
+package br.com.blackbeard.blackbeardapi.service;
+
+import br.com.blackbeard.blackbeardapi.exceptions.BarberShopImageException;
+import br.com.blackbeard.blackbeardapi.exceptions.FileException;
+import br.com.blackbeard.blackbeardapi.exceptions.ImageProcessingRejectedException;
+import br.com.blackbeard.blackbeardapi.exceptions.ObjectNotFoundException;
+import br.com.blackbeard.blackbeardapi.models.BarberShop;
+import br.com.blackbeard.blackbeardapi.models.UploadJob;
+import br.com.blackbeard.blackbeardapi.models.identifiers.Identifiers;
+import br.com.blackbeard.blackbeardapi.repositories.UploadJobRepository;
+import br.com.blackbeard.blackbeardapi.service.image.ImageDecoder;
+import br.com.blackbeard.blackbeardapi.service.image.ImageProcessingExecutor;
+import br.com.blackbeard.blackbeardapi.service.upload.UploadSpool;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+@Service
+public class UploadJobService {
+
+    private final UploadJobRepository repository;
+    private final UploadSpool uploadSpool;
+    private final ImageStorageService imageStorageService;
+    private final ImageProcessingExecutor imageProcessingExecutor;
+    private final ImageService imageService;
+    private final BarberShopService barberShopService;
+    private final ImageVariantService imageVariantService;
+    private final ImageDecoder imageDecoder;
+    private final String nodeId;
+    private final Duration abandonedAfter;
+    private final Queue<UUID> resuming = new ConcurrentLinkedQueue<>();
+
+    public UploadJobService(UploadJobRepository repository,
+                            UploadSpool uploadSpool,
+                            ImageStorageService imageStorageService,
+                            ImageProcessingExecutor imageProcessingExecutor,
+                            ImageService imageService,
+                            BarberShopService barberShopService,
+                            ImageVariantService imageVariantService,
+                            ImageDecoder imageDecoder,
+                            @Value("${upload.node-id:local}") String nodeId,
+                            @Value("${upload.abandoned-after:PT1H}") Duration abandonedAfter) {
+        this.repository = repository;
+        this.uploadSpool = uploadSpool;
+        this.imageStorageService = imageStorageService;
+        this.imageProcessingExecutor = imageProcessingExecutor;
+        this.imageService = imageService;
+        this.barberShopService = barberShopService;
+        this.imageVariantService = imageVariantService;
+        this.imageDecoder = imageDecoder;
+        this.nodeId = nodeId;
+        this.abandonedAfter = abandonedAfter;
+    }
+
+    public UploadJob acceptImage(UUID barberShopId, MultipartFile multipartFile) {
+        var barberShop = barberShopService.findById(barberShopId);
+        imageService.checkImageLimit(barberShop);
+        return accept(barberShop, UploadJob.Target.IMAGE, multipartFile);
+    }
+
+    public UploadJob acceptLogo(UUID barberShopId, MultipartFile multipartFile) {
+        var barberShop = barberShopService.findById(barberShopId);
+        return accept(barberShop, UploadJob.Target.LOGO, multipartFile);
+    }
+
+    public UploadJob findById(UUID id) {
+        return repository.findById(id)
+                .orElseThrow(ObjectNotFoundException::new);
+    }
+
+    public UploadJob complete(UUID jobId) {
+        var uploadJob = findById(jobId);
+        try (var inputStream = uploadSpool.open(jobId)) {
+            var uri = imageStorageService.uploadFile(inputStream, uploadJob.getContentLength(), uploadJob.getFileName());
+            if (uploadJob.getTarget() == UploadJob.Target.IMAGE) {
+                imageService.registerImage(uploadJob.getBarberShopId(), uploadJob.getId(), uri);
+                imageVariantService.generateImageVariants(uploadJob.getId(), jobId);
+            } else {
+                barberShopService.updateLogo(uploadJob.getBarberShopId(), uri);
+                imageVariantService.generateLogoVariants(uploadJob.getBarberShopId(), jobId);
+            }
+            uploadJob.complete(uri);
+        } catch (IOException e) {
+            uploadJob.fail(FileException.ERROR_TO_READ_FILE);
+        } catch (RuntimeException e) {
+            uploadJob.fail(e.getMessage());
+        } finally {
+            uploadSpool.delete(jobId);
+        }
+        return repository.save(uploadJob);
+    }
+
+    // Only this node's spool holds the content of its jobs, so the others are left to failAbandonedJobs
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePendingJobs() {
+        for (var uploadJob : repository.findAllByStatusAndNodeIdAndExpiresAtIsNull(UploadJob.Status.PENDING, nodeId)) {
+            if (!uploadSpool.exists(uploadJob.getId())) {
+                uploadJob.fail(FileException.ERROR_TO_READ_FILE);
+                repository.save(uploadJob);
+                continue;
+            }
+            resuming.add(uploadJob.getId());
+        }
+        submitResumingJobs();
+    }
+
+    // Jobs the pool had no room for at startup wait here and are offered again on every tick
+    @Scheduled(fixedDelayString = "${upload.resume-interval:PT10S}")
+    public synchronized void submitResumingJobs() {
+        UUID jobId;
+        while ((jobId = resuming.peek()) != null) {
+            var id = jobId;
+            try {
+                imageProcessingExecutor.submit(() -> complete(id));
+            } catch (ImageProcessingRejectedException e) {
+                return;
+            }
+            resuming.remove();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${upload.abandoned-sweep-interval:PT15M}")
+    public int failAbandonedJobs() {
+        var now = LocalDateTime.now();
+        return repository.failAbandoned(nodeId, now.minus(abandonedAfter), BarberShopImageException.UPLOAD_ABANDONED,
+                now, UploadJob.Status.PENDING, UploadJob.Status.FAILED);
+    }
+
+    private UploadJob accept(BarberShop barberShop, UploadJob.Target target, MultipartFile multipartFile) {
+        imageDecoder.inspect(multipartFile);
+        var uploadJob = UploadJob.builder()
+                .id(Identifiers.next())
+                .barberShopId(barberShop.getId())
+                .target(target)
+                .status(UploadJob.Status.PENDING)
+                .contentLength(multipartFile.getSize())
+                .nodeId(nodeId)
+                .build();
+
+        uploadSpool.write(uploadJob.getId(), multipartFile);
+        var persistedUploadJob = repository.save(uploadJob);
+        try {
+            imageProcessingExecutor.submit(() -> complete(uploadJob.getId()));
+        } catch (ImageProcessingRejectedException e) {
+            repository.delete(persistedUploadJob);
+            uploadSpool.delete(uploadJob.getId());
+            throw e;
+        }
+        return persistedUploadJob;
+    }
+}
@@ -0,0 +1,12 @@
+package br.com.blackbeard.blackbeardapi.service.image;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class EncodedImage {
+
+    private final ImageFormat format;
+    private final byte[] content;
+}
@@ -0,0 +1,107 @@
+package br.com.blackbeard.blackbeardapi.service.image;
+
+import br.com.blackbeard.blackbeardapi.exceptions.FileException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+@Component
+public class ImageDecoder {
+
+    private static final int DEFAULT_BITS_PER_PIXEL = 32;
+
+    private final int maxDimension;
+    private final long maxPixels;
+    private final long maxRasterSize;
+
+    public ImageDecoder(@Value("${image.limits.max-dimension:8192}") int maxDimension,
+                        @Value("${image.limits.max-pixels:25000000}") long maxPixels,
+                        @Value("${image.limits.max-raster-size:128MB}") DataSize maxRasterSize) {
+        this.maxDimension = maxDimension;
+        this.maxPixels = maxPixels;
+        this.maxRasterSize = maxRasterSize.toBytes();
+    }
+
+    public ImageHeader inspect(MultipartFile multipartFile) {
+        try (var inputStream = multipartFile.getInputStream()) {
+            return inspect(inputStream);
+        } catch (IOException e) {
+            throw FileException.errorToReadFile();
+        }
+    }
+
+    public ImageHeader inspect(Path file) {
+        try (var inputStream = Files.newInputStream(file)) {
+            return inspect(inputStream);
+        } catch (IOException e) {
+            throw FileException.errorToReadFile();
+        }
+    }
+
+    public ImageHeader inspect(InputStream inputStream) throws IOException {
+        return withReader(inputStream, false, (reader, header) -> header);
+    }
+
+    public BufferedImage decode(InputStream inputStream) throws IOException {
+        return withReader(inputStream, true, (reader, header) -> reader.read(0));
+    }
+
+    private <T> T withReader(InputStream inputStream, boolean seekForwardOnly, ReaderCallback<T> callback)
+            throws IOException {
+        var bufferedStream = inputStream.markSupported() ? inputStream : new BufferedInputStream(inputStream);
+        var format = ImageFormat.detect(bufferedStream);
+        var readers = ImageIO.getImageReadersByFormatName(format.getExtension());
+        if (!readers.hasNext()) {
+            throw FileException.invalidImageFormat();
+        }
+        var reader = readers.next();
+        try (var imageInput = ImageIO.createImageInputStream(bufferedStream)) {
+            if (imageInput == null) {
+                throw FileException.errorToReadFile();
+            }
+            reader.setInput(imageInput, seekForwardOnly, true);
+            var width = reader.getWidth(0);
+            var height = reader.getHeight(0);
+            checkDimensions(width, height);
+            var header = new ImageHeader(format, width, height, bitsPerPixel(reader));
+            if (header.getRasterSize() > maxRasterSize) {
+                throw FileException.imageTooLarge();
+            }
+            return callback.apply(reader, header);
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    private void checkDimensions(int width, int height) {
+        if (width <= 0 || height <= 0
+                || width > maxDimension || height > maxDimension
+                || (long) width * height > maxPixels) {
+            throw FileException.imageTooLarge();
+        }
+    }
+
+    private static int bitsPerPixel(ImageReader reader) throws IOException {
+        var type = reader.getRawImageType(0);
+        if (type == null) {
+            var types = reader.getImageTypes(0);
+            type = types.hasNext() ? types.next() : null;
+        }
+        return type == null ? DEFAULT_BITS_PER_PIXEL : Math.max(type.getColorModel().getPixelSize(), 1);
+    }
+
+    @FunctionalInterface
+    private interface ReaderCallback<T> {
+        T apply(ImageReader reader, ImageHeader header) throws IOException;
+    }
+}
@@ -0,0 +1,122 @@
+package br.com.blackbeard.blackbeardapi.service.image;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashSet;
+
+@Component
+public class ImageEncoder {
+
+    private static final int MAX_SAMPLES = 1 << 16;
+    private static final float MAX_PNG_COMPRESSION = 0f;
+
+    private final ImageDecoder imageDecoder;
+    private final boolean enabled;
+    private final float jpegQuality;
+    private final int graphicMaxColors;
+    private final Counter originalCounter;
+    private final Counter storedCounter;
+
+    public ImageEncoder(ImageDecoder imageDecoder,
+                        @Value("${image.encoding.enabled:false}") boolean enabled,
+                        @Value("${image.encoding.jpeg-quality:0.85}") float jpegQuality,
+                        @Value("${image.encoding.graphic-max-colors:256}") int graphicMaxColors,
+                        MeterRegistry meterRegistry) {
+        this.imageDecoder = imageDecoder;
+        this.enabled = enabled;
+        this.jpegQuality = jpegQuality;
+        this.graphicMaxColors = graphicMaxColors;
+        this.originalCounter = Counter.builder("image.encoding.original")
+                .description("Bytes received before re-encoding")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.storedCounter = Counter.builder("image.encoding.stored")
+                .description("Bytes stored after re-encoding")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public EncodedImage reencode(InputStream inputStream, long contentLength) throws IOException {
+        var bufferedStream = new BufferedInputStream(inputStream);
+        var source = ImageFormat.detect(bufferedStream);
+        var image = imageDecoder.decode(bufferedStream);
+        var format = formatFor(image, source);
+        var content = encode(image, format);
+        originalCounter.increment(contentLength);
+        storedCounter.increment(content.length);
+        return new EncodedImage(format, content);
+    }
+
+    public ImageFormat formatFor(BufferedImage image, ImageFormat source) {
+        return source == ImageFormat.PNG && isGraphic(image) ? ImageFormat.PNG : ImageFormat.JPEG;
+    }
+
+    public byte[] encode(BufferedImage image, ImageFormat format) throws IOException {
+        return format == ImageFormat.PNG
+                ? write(image, ImageFormat.PNG, MAX_PNG_COMPRESSION)
+                : write(opaque(image), ImageFormat.JPEG, jpegQuality);
+    }
+
+    private boolean isGraphic(BufferedImage image) {
+        var hasAlpha = image.getColorModel().hasAlpha();
+        var step = Math.max(1, (int) Math.sqrt((double) image.getWidth() * image.getHeight() / MAX_SAMPLES));
+        var colors = new HashSet<Integer>();
+        for (var y = 0; y < image.getHeight(); y += step) {
+            for (var x = 0; x < image.getWidth(); x += step) {
+                var argb = image.getRGB(x, y);
+                if (hasAlpha && argb >>> 24 != 0xFF) {
+                    return true;
+                }
+                if (colors.size() <= graphicMaxColors) {
+                    colors.add(argb);
+                } else if (!hasAlpha) {
+                    return false;
+                }
+            }
+        }
+        return colors.size() <= graphicMaxColors;
+    }
+
+    private static BufferedImage opaque(BufferedImage image) {
+        if (!image.getColorModel().hasAlpha()) {
+            return image;
+        }
+        var rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        var graphics = rgb.createGraphics();
+        graphics.drawImage(image, 0, 0, Color.WHITE, null);
+        graphics.dispose();
+        return rgb;
+    }
+
+    private static byte[] write(BufferedImage image, ImageFormat format, float quality) throws IOException {
+        var writer = ImageIO.getImageWritersByFormatName(format.getExtension()).next();
+        var param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(quality);
+
+        var os = new ByteArrayOutputStream();
+        try (var output = ImageIO.createImageOutputStream(os)) {
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return os.toByteArray();
+    }
+}
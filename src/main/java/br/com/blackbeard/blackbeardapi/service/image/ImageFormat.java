@@ -0,0 +1,49 @@
+package br.com.blackbeard.blackbeardapi.service.image;
+
+import br.com.blackbeard.blackbeardapi.exceptions.FileException;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+@Getter
+public enum ImageFormat {
+
+    PNG("png", "image/png", new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'}),
+    JPEG("jpg", "image/jpeg", new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF});
+
+    public static final int SIGNATURE_LENGTH = 8;
+
+    private final String extension;
+    private final String contentType;
+    private final byte[] signature;
+
+    ImageFormat(String extension, String contentType, byte[] signature) {
+        this.extension = extension;
+        this.contentType = contentType;
+        this.signature = signature;
+    }
+
+    public static ImageFormat detect(InputStream inputStream) throws IOException {
+        inputStream.mark(SIGNATURE_LENGTH);
+        var header = inputStream.readNBytes(SIGNATURE_LENGTH);
+        inputStream.reset();
+        return Arrays.stream(values())
+                .filter(format -> format.matches(header))
+                .findFirst()
+                .orElseThrow(FileException::invalidImageFormat);
+    }
+
+    public static ImageFormat fromContentType(String contentType) {
+        return Arrays.stream(values())
+                .filter(format -> format.contentType.equalsIgnoreCase(contentType))
+                .findFirst()
+                .orElseThrow(FileException::invalidImageFormat);
+    }
+
+    private boolean matches(byte[] header) {
+        return header.length >= signature.length
+                && Arrays.equals(signature, Arrays.copyOf(header, signature.length));
+    }
+}
@@ -0,0 +1,22 @@
+package br.com.blackbeard.blackbeardapi.service.image;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ImageHeader {
+
+    private final ImageFormat format;
+    private final int width;
+    private final int height;
+    private final int bitsPerPixel;
+
+    public long getPixels() {
+        return (long) width * height;
+    }
+
+    public long getRasterSize() {
+        return getPixels() * ((bitsPerPixel + Byte.SIZE - 1) / Byte.SIZE);
+    }
+}
@@ -0,0 +1,86 @@
+package br.com.blackbeard.blackbeardapi.service.image;
+
+import br.com.blackbeard.blackbeardapi.exceptions.ImageProcessingRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.*;
+
+@Component
+public class ImageProcessingExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final MeterRegistry meterRegistry;
+    private final Timer processingTimer;
+    private final Counter rejectedCounter;
+
+    public ImageProcessingExecutor(@Value("${image.processing.concurrency:4}") int concurrency,
+                                   @Value("${image.processing.queue-capacity:16}") int queueCapacity,
+                                   MeterRegistry meterRegistry) {
+        this.executor = new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("image-processing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.meterRegistry = meterRegistry;
+        this.processingTimer = Timer.builder("image.processing.duration")
+                .description("Time spent processing an image once it left the queue")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("image.processing.rejected")
+                .description("Images rejected because the processing queue was full")
+                .register(meterRegistry);
+        Gauge.builder("image.processing.queue.size", executor, pool -> pool.getQueue().size())
+                .description("Images waiting for a processing thread")
+                .register(meterRegistry);
+        Gauge.builder("image.processing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Images being processed")
+                .register(meterRegistry);
+    }
+
+    public <T> CompletableFuture<T> submit(Callable<T> task) {
+        var future = new CompletableFuture<T>();
+        try {
+            executor.execute(() -> {
+                var sample = Timer.start(meterRegistry);
+                T result;
+                try {
+                    result = task.call();
+                } catch (Exception e) {
+                    sample.stop(processingTimer);
+                    future.completeExceptionally(e);
+                    return;
+                }
+                sample.stop(processingTimer);
+                future.complete(result);
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new ImageProcessingRejectedException();
+        }
+        return future;
+    }
+
+    public <T> T process(Callable<T> task) {
+        try {
+            return submit(task).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ImageProcessingRejectedException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,21 @@
+package br.com.blackbeard.blackbeardapi.service.image;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ImageVariant {
+
+    private final String name;
+    private final ImageFormat format;
+    private final byte[] content;
+
+    public static String key(String key, String name) {
+        return key + "-" + name;
+    }
+
+    public String keyFor(String key) {
+        return key(key, name);
+    }
+}
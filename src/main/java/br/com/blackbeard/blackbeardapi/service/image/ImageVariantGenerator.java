@@ -0,0 +1,85 @@
+package br.com.blackbeard.blackbeardapi.service.image;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class ImageVariantGenerator {
+
+    private final ImageDecoder imageDecoder;
+    private final ImageEncoder imageEncoder;
+    private final Map<String, Integer> widths;
+
+    public ImageVariantGenerator(ImageDecoder imageDecoder,
+                                 ImageEncoder imageEncoder,
+                                 @Value("${image.variants:thumbnail:160,medium:640}") String variants) {
+        this.imageDecoder = imageDecoder;
+        this.imageEncoder = imageEncoder;
+        this.widths = parse(variants);
+    }
+
+    public boolean isEnabled() {
+        return !widths.isEmpty();
+    }
+
+    public List<ImageVariant> generate(InputStream inputStream) throws IOException {
+        var bufferedStream = new BufferedInputStream(inputStream);
+        var source = ImageFormat.detect(bufferedStream);
+        var original = imageDecoder.decode(bufferedStream);
+        var format = imageEncoder.formatFor(original, source);
+
+        var variants = new ArrayList<ImageVariant>();
+        for (var width : widths.entrySet()) {
+            if (original.getWidth() <= width.getValue()) {
+                continue;
+            }
+            var content = imageEncoder.encode(resize(original, width.getValue(), format), format);
+            variants.add(new ImageVariant(width.getKey(), format, content));
+        }
+        return variants;
+    }
+
+    private BufferedImage resize(BufferedImage original, int width, ImageFormat format) {
+        var type = format == ImageFormat.JPEG ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+        var height = Math.max(1, Math.round((float) original.getHeight() * width / original.getWidth()));
+
+        var current = original;
+        do {
+            var stepWidth = Math.max(width, current.getWidth() / 2);
+            var stepHeight = stepWidth == width ? height : Math.max(height, current.getHeight() / 2);
+            var step = new BufferedImage(stepWidth, stepHeight, type);
+            var graphics = step.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(current, 0, 0, stepWidth, stepHeight, null);
+            graphics.dispose();
+            current = step;
+        } while (current.getWidth() != width);
+        return current;
+    }
+
+    private static Map<String, Integer> parse(String variants) {
+        if (variants == null || variants.isBlank()) {
+            return Collections.emptyMap();
+        }
+        var widths = new LinkedHashMap<String, Integer>();
+        for (var variant : variants.split(",")) {
+            var nameAndWidth = variant.trim().split(":");
+            if (nameAndWidth.length != 2) {
+                throw new IllegalArgumentException("Invalid image variant: " + variant);
+            }
+            widths.put(nameAndWidth[0].trim(), Integer.parseInt(nameAndWidth[1].trim()));
+        }
+        return Collections.unmodifiableMap(widths);
+    }
+}
@@ -0,0 +1,245 @@
+package br.com.blackbeard.blackbeardapi.service.storage;
+
+import br.com.blackbeard.blackbeardapi.exceptions.FileException;
+import br.com.blackbeard.blackbeardapi.exceptions.ObjectNotFoundException;
+import br.com.blackbeard.blackbeardapi.models.StorageDeletion;
+import br.com.blackbeard.blackbeardapi.models.StorageObject;
+import br.com.blackbeard.blackbeardapi.models.StorageReference;
+import br.com.blackbeard.blackbeardapi.models.identifiers.Identifiers;
+import br.com.blackbeard.blackbeardapi.repositories.StorageDeletionRepository;
+import br.com.blackbeard.blackbeardapi.repositories.StorageObjectRepository;
+import br.com.blackbeard.blackbeardapi.repositories.StorageReferenceRepository;
+import br.com.blackbeard.blackbeardapi.service.AsyncImageStorageService;
+import br.com.blackbeard.blackbeardapi.service.ImageStorageService;
+import br.com.blackbeard.blackbeardapi.service.upload.UploadSpool;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.NoSuchAlgorithmException;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+@Service
+@Primary
+public class ContentAddressedStorageService implements ImageStorageService, AsyncImageStorageService {
+
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    private final ImageStorageService backend;
+    private final AsyncImageStorageService asyncBackend;
+    private final StorageObjectRepository objectRepository;
+    private final StorageReferenceRepository referenceRepository;
+    private final StorageDeletionRepository deletionRepository;
+    private final UploadSpool uploadSpool;
+    private final String publicBaseUrl;
+    private final Counter deduplicatedCounter;
+
+    public ContentAddressedStorageService(@StorageBackend ImageStorageService backend,
+                                          @StorageBackend AsyncImageStorageService asyncBackend,
+                                          StorageObjectRepository objectRepository,
+                                          StorageReferenceRepository referenceRepository,
+                                          StorageDeletionRepository deletionRepository,
+                                          UploadSpool uploadSpool,
+                                          @Value("${storage.public-base-url:}") String publicBaseUrl,
+                                          MeterRegistry meterRegistry) {
+        this.backend = backend;
+        this.asyncBackend = asyncBackend;
+        this.objectRepository = objectRepository;
+        this.referenceRepository = referenceRepository;
+        this.deletionRepository = deletionRepository;
+        this.uploadSpool = uploadSpool;
+        this.publicBaseUrl = publicBaseUrl.isBlank() || publicBaseUrl.endsWith("/") ? publicBaseUrl : publicBaseUrl + "/";
+        this.deduplicatedCounter = Counter.builder("image.storage.deduplicated")
+                .description("Uploads whose content was already stored")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public URI uploadFile(InputStream inputStream, long contentLength, String fileName) {
+        return store(inputStream, fileName, false);
+    }
+
+    @Override
+    public URI uploadEncodedFile(InputStream inputStream, long contentLength, String fileName) {
+        return store(inputStream, fileName, true);
+    }
+
+    @Override
+    public CompletableFuture<URI> uploadFileAsync(Path file, long contentLength, String fileName) {
+        String key;
+        try (var inputStream = new DigestInputStream(Files.newInputStream(file), newDigest())) {
+            inputStream.transferTo(OutputStream.nullOutputStream());
+            key = toHex(inputStream.getMessageDigest().digest());
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(FileException.errorToReadFile());
+        }
+
+        CompletableFuture<StorageObject> acquired;
+        if (objectRepository.incrementReferences(key) > 0) {
+            deduplicatedCounter.increment();
+            acquired = CompletableFuture.completedFuture(find(key));
+        } else {
+            deletionRepository.cancel(key);
+            acquired = asyncBackend.uploadFileAsync(file, contentLength, key)
+                    .thenApply(url -> register(key, url, contentLength));
+        }
+        return acquired.thenApply(storageObject -> {
+            reference(fileName, key);
+            return publicUrl(storageObject);
+        });
+    }
+
+    public URI adopt(String key, URI url, long contentLength) {
+        var storageObject = objectRepository.saveAndFlush(StorageObject.builder()
+                .key(key)
+                .url(url.toString())
+                .contentLength(contentLength)
+                .referenceCount(1)
+                .build());
+        referenceRepository.save(new StorageReference(key, key));
+        return publicUrl(storageObject);
+    }
+
+    @Override
+    public Optional<StoredObject> findFile(String fileName) {
+        var key = referenceRepository.findById(fileName)
+                .map(StorageReference::getObjectKey)
+                .orElse(fileName);
+        return backend.findFile(key);
+    }
+
+    @Override
+    public StoredObjectListing listFiles(String continuationToken, int pageSize) {
+        return backend.listFiles(continuationToken, pageSize);
+    }
+
+    @Override
+    public void deleteFile(String fileName) {
+        unreferenced(fileName).ifPresent(this::enqueueDeletion);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteFileAsync(String fileName) {
+        deleteFile(fileName);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private URI store(InputStream inputStream, String fileName, boolean encoded) {
+        var spoolId = Identifiers.next();
+        try {
+            var digestStream = new DigestInputStream(inputStream, newDigest());
+            var spooledLength = uploadSpool.write(spoolId, digestStream);
+            var key = toHex(digestStream.getMessageDigest().digest());
+
+            var storageObject = acquire(key, spoolId, spooledLength, encoded);
+            reference(fileName, key);
+            return publicUrl(storageObject);
+        } finally {
+            uploadSpool.delete(spoolId);
+        }
+    }
+
+    private Optional<String> unreferenced(String fileName) {
+        var reference = referenceRepository.findById(fileName);
+        if (reference.isEmpty()) {
+            return Optional.of(fileName);
+        }
+        referenceRepository.delete(reference.get());
+        var key = reference.get().getObjectKey();
+        return release(key) ? Optional.of(key) : Optional.empty();
+    }
+
+    private StorageObject acquire(String key, UUID spoolId, long contentLength, boolean encoded) {
+        if (objectRepository.incrementReferences(key) > 0) {
+            deduplicatedCounter.increment();
+            return find(key);
+        }
+        deletionRepository.cancel(key);
+        return register(key, upload(key, spoolId, contentLength, encoded), contentLength);
+    }
+
+    private StorageObject register(String key, URI url, long contentLength) {
+        try {
+            return objectRepository.saveAndFlush(StorageObject.builder()
+                    .key(key)
+                    .url(url.toString())
+                    .contentLength(contentLength)
+                    .referenceCount(1)
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            objectRepository.incrementReferences(key);
+            return find(key);
+        }
+    }
+
+    private StorageObject find(String key) {
+        return objectRepository.findById(key)
+                .orElseThrow(ObjectNotFoundException::new);
+    }
+
+    private void reference(String fileName, String key) {
+        var previous = referenceRepository.findById(fileName);
+        referenceRepository.save(new StorageReference(fileName, key));
+        previous.filter(reference -> release(reference.getObjectKey()))
+                .ifPresent(reference -> enqueueDeletion(reference.getObjectKey()));
+    }
+
+    private boolean release(String key) {
+        objectRepository.decrementReferences(key);
+        return objectRepository.deleteUnreferenced(key) > 0;
+    }
+
+    private URI publicUrl(StorageObject storageObject) {
+        return publicBaseUrl.isBlank()
+                ? URI.create(storageObject.getUrl())
+                : URI.create(publicBaseUrl + storageObject.getKey());
+    }
+
+    private void enqueueDeletion(String key) {
+        if (!deletionRepository.existsById(key)) {
+            deletionRepository.save(StorageDeletion.builder()
+                    .key(key)
+                    .build());
+        }
+    }
+
+    private URI upload(String key, UUID spoolId, long contentLength, boolean encoded) {
+        try (var inputStream = uploadSpool.open(spoolId)) {
+            return encoded
+                    ? backend.uploadEncodedFile(inputStream, contentLength, key)
+                    : backend.uploadFile(inputStream, contentLength, key);
+        } catch (IOException e) {
+            throw FileException.errorToReadFile();
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] hash) {
+        var hex = new StringBuilder(hash.length * 2);
+        for (var b : hash) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16))
+                    .append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+}
@@ -0,0 +1,204 @@
+package br.com.blackbeard.blackbeardapi.service.storage;
+
+import br.com.blackbeard.blackbeardapi.exceptions.FileException;
+import br.com.blackbeard.blackbeardapi.service.AsyncImageStorageService;
+import br.com.blackbeard.blackbeardapi.service.ImageStorageService;
+import br.com.blackbeard.blackbeardapi.service.image.ImageEncoder;
+import br.com.blackbeard.blackbeardapi.service.image.ImageFormat;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Pattern;
+
+@Service
+@StorageBackend
+@ConditionalOnProperty(name = "storage.type", havingValue = "local")
+public class LocalFileStorageService implements ImageStorageService, AsyncImageStorageService {
+
+    private static final Pattern VALID_KEY = Pattern.compile("[A-Za-z0-9-]+");
+    private static final int SHARD_LENGTH = 2;
+    private static final int SHARD_LEVELS = 2;
+
+    private final Path rootDirectory;
+    private final String baseUrl;
+    private final ImageEncoder imageEncoder;
+
+    public LocalFileStorageService(@Value("${storage.local.root-dir}") String rootDirectory,
+                                   @Value("${storage.local.base-url}") String baseUrl,
+                                   ImageEncoder imageEncoder) {
+        try {
+            this.rootDirectory = Files.createDirectories(Path.of(rootDirectory));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+        this.imageEncoder = imageEncoder;
+    }
+
+    @Override
+    public URI uploadFile(InputStream inputStream, long contentLength, String fileName) {
+        return upload(inputStream, contentLength, fileName, imageEncoder.isEnabled());
+    }
+
+    @Override
+    public URI uploadEncodedFile(InputStream inputStream, long contentLength, String fileName) {
+        return upload(inputStream, contentLength, fileName, false);
+    }
+
+    private URI upload(InputStream inputStream, long contentLength, String fileName, boolean reencode) {
+        var target = path(fileName).orElseThrow(FileException::errorToReadFile);
+        Path temporary = null;
+        try {
+            var bufferedStream = new BufferedInputStream(inputStream);
+            ImageFormat.detect(bufferedStream);
+            var content = reencode
+                    ? new ByteArrayInputStream(imageEncoder.reencode(bufferedStream, contentLength).getContent())
+                    : bufferedStream;
+
+            Files.createDirectories(target.getParent());
+            temporary = Files.createTempFile(target.getParent(), fileName, ".tmp");
+            Files.copy(content, temporary, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw FileException.errorToReadFile();
+        } finally {
+            deleteQuietly(temporary);
+        }
+        return URI.create(baseUrl + fileName);
+    }
+
+    @Override
+    public CompletableFuture<URI> uploadFileAsync(Path file, long contentLength, String fileName) {
+        try (var inputStream = Files.newInputStream(file)) {
+            return CompletableFuture.completedFuture(uploadFile(inputStream, contentLength, fileName));
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(FileException.errorToReadFile());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteFileAsync(String fileName) {
+        try {
+            deleteFile(fileName);
+            return CompletableFuture.completedFuture(null);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public void deleteFile(String fileName) {
+        path(fileName).ifPresent(path -> {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @Override
+    public Optional<StoredObject> findFile(String fileName) {
+        var found = path(fileName).filter(Files::isRegularFile);
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        var path = found.get();
+        try (var inputStream = new BufferedInputStream(Files.newInputStream(path), ImageFormat.SIGNATURE_LENGTH)) {
+            var contentType = ImageFormat.detect(inputStream).getContentType();
+            return Optional.of(new StoredObject(fileName, Files.size(path), contentType, path,
+                    (start, end) -> Channels.newInputStream(FileChannel.open(path).position(start))));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public StoredObjectListing listFiles(String continuationToken, int pageSize) {
+        var objects = new ArrayList<StoredObjectSummary>(pageSize);
+        collect(rootDirectory, "", continuationToken, pageSize, objects);
+        var last = objects.isEmpty() ? null : objects.get(objects.size() - 1).getKey();
+        return new StoredObjectListing(objects, objects.size() < pageSize ? null : last);
+    }
+
+    // Shard directories are named after the key prefix, so visiting entries in key order yields a sorted listing
+    // and a continuation token can skip every directory that only holds earlier keys
+    private void collect(Path directory, String prefix, String continuationToken, int pageSize,
+                         List<StoredObjectSummary> objects) {
+        var entries = new TreeMap<String, Path>();
+        try (var paths = Files.list(directory)) {
+            paths.filter(path -> VALID_KEY.matcher(path.getFileName().toString()).matches())
+                    .forEach(path -> entries.put(Files.isDirectory(path)
+                            ? prefix + path.getFileName()
+                            : path.getFileName().toString(), path));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        for (var entry : entries.entrySet()) {
+            if (objects.size() >= pageSize) {
+                return;
+            }
+            var key = entry.getKey();
+            var path = entry.getValue();
+            if (Files.isDirectory(path)) {
+                if (continuationToken == null || key.compareTo(continuationToken) > 0
+                        || continuationToken.startsWith(key)) {
+                    collect(path, key, continuationToken, pageSize, objects);
+                }
+            } else if (continuationToken == null || key.compareTo(continuationToken) > 0) {
+                objects.add(summary(path));
+            }
+        }
+    }
+
+    private static StoredObjectSummary summary(Path path) {
+        try {
+            return new StoredObjectSummary(path.getFileName().toString(), Files.size(path),
+                    Files.getLastModifiedTime(path).toInstant());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Optional<Path> path(String fileName) {
+        if (fileName == null || !VALID_KEY.matcher(fileName).matches()) {
+            return Optional.empty();
+        }
+        var directory = rootDirectory;
+        for (var level = 0; level < SHARD_LEVELS && fileName.length() >= (level + 1) * SHARD_LENGTH; level++) {
+            directory = directory.resolve(fileName.substring(level * SHARD_LENGTH, (level + 1) * SHARD_LENGTH));
+        }
+        return Optional.of(directory.resolve(fileName));
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // the file was moved or will be overwritten by the next upload
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package br.com.blackbeard.blackbeardapi.service.storage;
+
+import lombok.Getter;
+
+@Getter
+public class OrphanCollectionReport {
+
+    private long scanned;
+    private long orphans;
+    private long bytesReclaimed;
+
+    void scanned(int count) {
+        scanned += count;
+    }
+
+    void orphan(StoredObjectSummary summary) {
+        orphans++;
+        bytesReclaimed += summary.getContentLength();
+    }
+}
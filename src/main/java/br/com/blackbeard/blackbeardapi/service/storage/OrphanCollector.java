@@ -0,0 +1,84 @@
+package br.com.blackbeard.blackbeardapi.service.storage;
+
+import br.com.blackbeard.blackbeardapi.models.StorageDeletion;
+import br.com.blackbeard.blackbeardapi.repositories.StorageDeletionRepository;
+import br.com.blackbeard.blackbeardapi.repositories.StorageObjectRepository;
+import br.com.blackbeard.blackbeardapi.service.ImageStorageService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.stream.Collectors;
+
+@Component
+public class OrphanCollector {
+
+    private final ImageStorageService backend;
+    private final StorageObjectRepository objectRepository;
+    private final StorageDeletionRepository deletionRepository;
+    private final Duration gracePeriod;
+    private final int pageSize;
+    private final Counter orphansCounter;
+    private final Counter reclaimedCounter;
+
+    public OrphanCollector(@StorageBackend ImageStorageService backend,
+                           StorageObjectRepository objectRepository,
+                           StorageDeletionRepository deletionRepository,
+                           @Value("${storage.orphans.grace-period:P1D}") Duration gracePeriod,
+                           @Value("${storage.orphans.page-size:1000}") int pageSize,
+                           MeterRegistry meterRegistry) {
+        this.backend = backend;
+        this.objectRepository = objectRepository;
+        this.deletionRepository = deletionRepository;
+        this.gracePeriod = gracePeriod;
+        this.pageSize = pageSize;
+        this.orphansCounter = Counter.builder("image.storage.orphans")
+                .description("Stored objects no entity refers to")
+                .register(meterRegistry);
+        this.reclaimedCounter = Counter.builder("image.storage.orphans.reclaimed")
+                .description("Bytes queued for deletion by the orphan collector")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${storage.orphans.cron:0 30 3 * * *}")
+    public OrphanCollectionReport collect() {
+        var report = new OrphanCollectionReport();
+        var olderThan = Instant.now().minus(gracePeriod);
+        String continuationToken = null;
+        do {
+            var listing = backend.listFiles(continuationToken, pageSize);
+            report.scanned(listing.getObjects().size());
+
+            var candidates = listing.getObjects().stream()
+                    .filter(summary -> summary.getLastModified().isBefore(olderThan))
+                    .collect(Collectors.toList());
+            if (!candidates.isEmpty()) {
+                var keys = candidates.stream()
+                        .map(StoredObjectSummary::getKey)
+                        .collect(Collectors.toList());
+                var known = new HashSet<>(objectRepository.findExistingKeys(keys));
+                known.addAll(deletionRepository.findQueuedKeys(keys));
+
+                candidates.stream()
+                        .filter(summary -> !known.contains(summary.getKey()))
+                        .forEach(summary -> {
+                            deletionRepository.save(StorageDeletion.builder()
+                                    .key(summary.getKey())
+                                    .build());
+                            report.orphan(summary);
+                        });
+            }
+            continuationToken = listing.getContinuationToken();
+        } while (continuationToken != null);
+
+        orphansCounter.increment(report.getOrphans());
+        reclaimedCounter.increment(report.getBytesReclaimed());
+        return report;
+    }
+}
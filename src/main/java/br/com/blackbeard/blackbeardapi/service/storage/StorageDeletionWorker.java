@@ -0,0 +1,113 @@
+package br.com.blackbeard.blackbeardapi.service.storage;
+
+import br.com.blackbeard.blackbeardapi.models.StorageDeletion;
+import br.com.blackbeard.blackbeardapi.repositories.StorageDeletionRepository;
+import br.com.blackbeard.blackbeardapi.repositories.StorageObjectRepository;
+import br.com.blackbeard.blackbeardapi.service.ImageStorageService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.stream.Collectors;
+
+@Component
+public class StorageDeletionWorker {
+
+    private static final int MAX_BACKOFF_SHIFT = 10;
+
+    private final ImageStorageService backend;
+    private final StorageDeletionRepository deletionRepository;
+    private final StorageObjectRepository objectRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryDelay;
+    private final Counter deletedCounter;
+    private final Counter failedCounter;
+    private final Counter parkedCounter;
+
+    public StorageDeletionWorker(@StorageBackend ImageStorageService backend,
+                                 StorageDeletionRepository deletionRepository,
+                                 StorageObjectRepository objectRepository,
+                                 ApplicationEventPublisher eventPublisher,
+                                 @Value("${storage.deletion.batch-size:1000}") int batchSize,
+                                 @Value("${storage.deletion.max-attempts:10}") int maxAttempts,
+                                 @Value("${storage.deletion.retry-delay:PT1M}") Duration retryDelay,
+                                 MeterRegistry meterRegistry) {
+        this.backend = backend;
+        this.deletionRepository = deletionRepository;
+        this.objectRepository = objectRepository;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryDelay = retryDelay;
+        this.deletedCounter = Counter.builder("image.storage.deletions")
+                .description("Objects removed from storage by the deletion outbox")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("image.storage.deletions.failed")
+                .description("Outbox deletions that will be retried")
+                .register(meterRegistry);
+        this.parkedCounter = Counter.builder("image.storage.deletions.parked")
+                .description("Outbox deletions given up on after the last attempt")
+                .register(meterRegistry);
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${storage.deletion.interval:PT10S}")
+    public int drain() {
+        var batch = deletionRepository.findNextBatch(maxAttempts, LocalDateTime.now(), PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        var existing = new HashSet<>(objectRepository.findExistingKeys(batch.stream()
+                .map(StorageDeletion::getKey)
+                .collect(Collectors.toList())));
+        var revived = batch.stream()
+                .collect(Collectors.partitioningBy(deletion -> existing.contains(deletion.getKey())));
+        deletionRepository.deleteAll(revived.get(true));
+
+        var pending = revived.get(false);
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        var keys = pending.stream()
+                .map(StorageDeletion::getKey)
+                .collect(Collectors.toList());
+        try {
+            var deleted = new HashSet<>(backend.deleteFiles(keys));
+            for (var deletion : pending) {
+                if (deleted.contains(deletion.getKey())) {
+                    deletionRepository.delete(deletion);
+                    eventPublisher.publishEvent(new StorageObjectDeletedEvent(deletion.getKey()));
+                } else {
+                    fail(deletion, "not deleted by the storage backend");
+                }
+            }
+            deletedCounter.increment(deleted.size());
+            return deleted.size();
+        } catch (RuntimeException e) {
+            pending.forEach(deletion -> fail(deletion, e.getMessage()));
+            return 0;
+        }
+    }
+
+    // Backs off exponentially; after the last attempt the row stays in the outbox for inspection but is never picked
+    private void fail(StorageDeletion deletion, String reason) {
+        var backoff = retryDelay.multipliedBy(1L << Math.min(deletion.getAttempts(), MAX_BACKOFF_SHIFT));
+        deletion.fail(reason, LocalDateTime.now().plus(backoff));
+        if (deletion.getAttempts() >= maxAttempts) {
+            parkedCounter.increment();
+        } else {
+            failedCounter.increment();
+        }
+    }
+}
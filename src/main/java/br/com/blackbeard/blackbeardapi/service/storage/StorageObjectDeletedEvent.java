@@ -0,0 +1,11 @@
+package br.com.blackbeard.blackbeardapi.service.storage;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class StorageObjectDeletedEvent {
+
+    private final String key;
+}
@@ -0,0 +1,36 @@
+package br.com.blackbeard.blackbeardapi.service.storage;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+
+@Getter
+@AllArgsConstructor
+public class StoredObject {
+
+    public static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+    public static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    @FunctionalInterface
+    public interface RangeReader {
+        InputStream open(long start, long end) throws IOException;
+    }
+
+    private final String key;
+    private final long contentLength;
+    private final String contentType;
+    private final Path path;
+    private final RangeReader reader;
+
+    public Optional<Path> getPath() {
+        return Optional.ofNullable(path);
+    }
+
+    public InputStream open(long start, long end) throws IOException {
+        return reader.open(start, end);
+    }
+}
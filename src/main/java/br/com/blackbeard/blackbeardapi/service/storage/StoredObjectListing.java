@@ -0,0 +1,18 @@
+package br.com.blackbeard.blackbeardapi.service.storage;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class StoredObjectListing {
+
+    private final List<StoredObjectSummary> objects;
+    private final String continuationToken;
+
+    public boolean hasNext() {
+        return continuationToken != null;
+    }
+}
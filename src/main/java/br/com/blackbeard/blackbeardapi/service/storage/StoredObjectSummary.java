@@ -0,0 +1,15 @@
+package br.com.blackbeard.blackbeardapi.service.storage;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+@Getter
+@AllArgsConstructor
+public class StoredObjectSummary {
+
+    private final String key;
+    private final long contentLength;
+    private final Instant lastModified;
+}
@@ -0,0 +1,34 @@
+package br.com.blackbeard.blackbeardapi.service.upload;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.net.URI;
+import java.util.UUID;
+
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class ImageImport {
+
+    private final UUID barberShopId;
+    private final URI source;
+    private final URI uri;
+    private final String failureReason;
+
+    public static ImageImport of(UUID barberShopId, URI source) {
+        return new ImageImport(barberShopId, source, null, null);
+    }
+
+    public ImageImport imported(URI uri) {
+        return new ImageImport(barberShopId, source, uri, null);
+    }
+
+    public ImageImport failed(String reason) {
+        return new ImageImport(barberShopId, source, null, reason);
+    }
+
+    public boolean isImported() {
+        return uri != null;
+    }
+}
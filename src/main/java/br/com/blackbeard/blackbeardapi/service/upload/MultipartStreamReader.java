@@ -0,0 +1,59 @@
+package br.com.blackbeard.blackbeardapi.service.upload;
+
+import br.com.blackbeard.blackbeardapi.exceptions.FileException;
+import org.apache.commons.fileupload.FileUploadBase;
+import org.apache.commons.fileupload.FileUploadException;
+import org.apache.commons.fileupload.servlet.ServletFileUpload;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+
+@Component
+public class MultipartStreamReader {
+
+    private final long maxFileSize;
+    private final long maxRequestSize;
+
+    public MultipartStreamReader(@Value("${spring.servlet.multipart.max-file-size:1MB}") DataSize maxFileSize,
+                                 @Value("${spring.servlet.multipart.max-request-size:10MB}") DataSize maxRequestSize) {
+        this.maxFileSize = maxFileSize.toBytes();
+        this.maxRequestSize = maxRequestSize.toBytes();
+    }
+
+    public <T> T read(HttpServletRequest request, String fieldName, PartHandler<T> handler) {
+        if (!ServletFileUpload.isMultipartContent(request)) {
+            throw FileException.errorToReadFile();
+        }
+        try {
+            var upload = new ServletFileUpload();
+            upload.setSizeMax(maxRequestSize);
+            var items = upload.getItemIterator(request);
+            while (items.hasNext()) {
+                var item = items.next();
+                if (!item.isFormField() && fieldName.equals(item.getFieldName())) {
+                    try (var inputStream = new LimitedInputStream(item.openStream(), maxFileSize)) {
+                        return handler.handle(inputStream);
+                    }
+                }
+            }
+        } catch (FileUploadBase.SizeLimitExceededException e) {
+            throw new MaxUploadSizeExceededException(maxRequestSize, e);
+        } catch (FileUploadException | IOException e) {
+            if (e.getCause() instanceof FileUploadBase.SizeLimitExceededException) {
+                throw new MaxUploadSizeExceededException(maxRequestSize, e);
+            }
+            throw FileException.errorToReadFile();
+        }
+        throw FileException.errorToReadFile();
+    }
+
+    @FunctionalInterface
+    public interface PartHandler<T> {
+        T handle(InputStream inputStream);
+    }
+}
@@ -0,0 +1,17 @@
+package br.com.blackbeard.blackbeardapi.service.upload;
+
+import br.com.blackbeard.blackbeardapi.models.UploadJob;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.net.URL;
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+public class PresignedUpload {
+
+    private final UploadJob uploadJob;
+    private final URL url;
+    private final Map<String, String> headers;
+}
@@ -0,0 +1,191 @@
+package br.com.blackbeard.blackbeardapi.service.upload;
+
+import br.com.blackbeard.blackbeardapi.exceptions.FileException;
+import org.apache.http.HttpHeaders;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.Inet4Address;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+@Component
+public class RemoteImageFetcher {
+
+    private static final int MAX_REDIRECTS = 5;
+    private static final byte[] NAT64_PREFIX = {0, 0x64, (byte) 0xFF, (byte) 0x9B, 0, 0, 0, 0, 0, 0, 0, 0};
+
+    private final CloseableHttpClient httpClient;
+    private final int maxConnectionsPerHost;
+    private final long maxFileSize;
+    private final Set<String> trustedHosts;
+    private final DnsResolver dnsResolver;
+    private final Map<String, Semaphore> hosts = new ConcurrentHashMap<>();
+
+    public RemoteImageFetcher(@Value("${image.import.timeout:PT30S}") Duration timeout,
+                              @Value("${image.import.max-connections-per-host:4}") int maxConnectionsPerHost,
+                              @Value("${spring.servlet.multipart.max-file-size:1MB}") DataSize maxFileSize) {
+        this(timeout, maxConnectionsPerHost, maxFileSize, Set.of(), SystemDefaultDnsResolver.INSTANCE);
+    }
+
+    RemoteImageFetcher(Duration timeout, int maxConnectionsPerHost, DataSize maxFileSize, Set<String> trustedHosts,
+                       DnsResolver dnsResolver) {
+        // Connections only go to the addresses checkPublic returned, so a host cannot pass the check and then be
+        // resolved again to an internal address when the socket is opened
+        var connectionManager = new PoolingHttpClientConnectionManager(
+                RegistryBuilder.<ConnectionSocketFactory>create()
+                        .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                        .register("https", SSLConnectionSocketFactory.getSocketFactory())
+                        .build(),
+                this::checkPublic);
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerHost);
+        var timeoutMillis = Math.toIntExact(timeout.toMillis());
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectTimeout(timeoutMillis)
+                        .setConnectionRequestTimeout(timeoutMillis)
+                        .setSocketTimeout(timeoutMillis)
+                        .build())
+                .disableRedirectHandling()
+                .build();
+        this.maxConnectionsPerHost = maxConnectionsPerHost;
+        this.maxFileSize = maxFileSize.toBytes();
+        this.trustedHosts = trustedHosts;
+        this.dnsResolver = dnsResolver;
+    }
+
+    public <T> T fetch(URI uri, Function<InputStream, T> handler) {
+        var location = uri;
+        for (int redirects = 0; redirects <= MAX_REDIRECTS; redirects++) {
+            checkHttp(location);
+            var host = acquire(location);
+            // The permit is held until the body is consumed, so it tracks the connections open to the host
+            try (var response = httpClient.execute(new HttpGet(location))) {
+                var statusCode = response.getStatusLine().getStatusCode();
+                var redirect = response.getFirstHeader(HttpHeaders.LOCATION);
+                if (isRedirect(statusCode) && redirect != null) {
+                    location = location.resolve(redirect.getValue());
+                    continue;
+                }
+                var entity = response.getEntity();
+                if (statusCode != 200 || entity == null) {
+                    throw FileException.errorToDownloadFile();
+                }
+                if (entity.getContentLength() > maxFileSize) {
+                    throw new MaxUploadSizeExceededException(maxFileSize);
+                }
+                return handler.apply(new LimitedInputStream(entity.getContent(), maxFileSize));
+            } catch (IllegalArgumentException | IOException e) {
+                throw FileException.errorToDownloadFile();
+            } finally {
+                host.release();
+            }
+        }
+        throw FileException.errorToDownloadFile();
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        httpClient.close();
+    }
+
+    private static void checkHttp(URI uri) {
+        if (uri.getHost() == null
+                || !("http".equalsIgnoreCase(uri.getScheme()) || "https".equalsIgnoreCase(uri.getScheme()))) {
+            throw FileException.errorToDownloadFile();
+        }
+    }
+
+    // Runs for every connection, redirects included, so none of them can reach loopback, private or metadata addresses
+    private InetAddress[] checkPublic(String host) throws UnknownHostException {
+        var addresses = dnsResolver.resolve(host);
+        if (trustedHosts.contains(host.toLowerCase())) {
+            return addresses;
+        }
+        for (var address : addresses) {
+            if (isInternal(address)) {
+                throw new UnknownHostException(host);
+            }
+        }
+        return addresses;
+    }
+
+    static boolean isInternal(InetAddress address) {
+        var bytes = address.getAddress();
+        if (address instanceof Inet6Address && isIpv4Embedding(bytes)) {
+            try {
+                return isInternal(InetAddress.getByAddress(Arrays.copyOfRange(bytes, 12, 16)));
+            } catch (UnknownHostException e) {
+                return true;
+            }
+        }
+        return address.isLoopbackAddress()
+                || address.isSiteLocalAddress()
+                || address.isLinkLocalAddress()
+                || address.isAnyLocalAddress()
+                || address.isMulticastAddress()
+                || address instanceof Inet4Address && (bytes[0] == 0 || isCarrierGradeNat(bytes))
+                || address instanceof Inet6Address && (bytes[0] & 0xFE) == 0xFC;
+    }
+
+    // IPv4-mapped (::ffff:0:0/96), IPv4-compatible (::/96) and NAT64 (64:ff9b::/96) addresses reach the IPv4 host
+    private static boolean isIpv4Embedding(byte[] bytes) {
+        var prefix = Arrays.copyOfRange(bytes, 0, 12);
+        if (Arrays.equals(prefix, NAT64_PREFIX)) {
+            return true;
+        }
+        for (int i = 0; i < 10; i++) {
+            if (prefix[i] != 0) {
+                return false;
+            }
+        }
+        return prefix[10] == prefix[11] && (prefix[10] == 0 || prefix[10] == (byte) 0xFF);
+    }
+
+    // 100.64.0.0/10
+    private static boolean isCarrierGradeNat(byte[] bytes) {
+        return bytes[0] == 100 && (bytes[1] & 0xC0) == 64;
+    }
+
+    private Semaphore acquire(URI uri) {
+        var host = hosts.computeIfAbsent(uri.getHost().toLowerCase(), key -> new Semaphore(maxConnectionsPerHost, true));
+        try {
+            host.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw FileException.errorToDownloadFile();
+        }
+        return host;
+    }
+
+    private static boolean isRedirect(int statusCode) {
+        return statusCode == 301 || statusCode == 302 || statusCode == 303
+                || statusCode == 307 || statusCode == 308;
+    }
+}
@@ -0,0 +1,110 @@
+package br.com.blackbeard.blackbeardapi.service.upload;
+
+import br.com.blackbeard.blackbeardapi.exceptions.FileException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+
+@Component
+public class UploadSpool {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Path directory;
+
+    public UploadSpool(@Value("${upload.spool-dir:${java.io.tmpdir}/blackbeard/spool}") String directory) {
+        try {
+            this.directory = Files.createDirectories(Path.of(directory));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void write(UUID id, MultipartFile multipartFile) {
+        try {
+            multipartFile.transferTo(path(id));
+        } catch (IOException e) {
+            throw FileException.errorToReadFile();
+        }
+    }
+
+    public long write(UUID id, InputStream inputStream) {
+        try {
+            return Files.copy(inputStream, path(id), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            delete(id);
+            throw FileException.errorToReadFile();
+        } catch (RuntimeException e) {
+            delete(id);
+            throw e;
+        }
+    }
+
+    public long write(UUID id, long offset, InputStream inputStream, long maxLength) {
+        try (var channel = FileChannel.open(path(id), StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            if (offset > channel.size()) {
+                throw FileException.errorToReadFile();
+            }
+            channel.truncate(offset);
+            channel.position(offset);
+            var length = offset;
+            var buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = readQuietly(inputStream, buffer)) != -1) {
+                length += read;
+                if (length > maxLength) {
+                    channel.truncate(offset);
+                    throw FileException.invalidImageSize();
+                }
+                var byteBuffer = ByteBuffer.wrap(buffer, 0, read);
+                while (byteBuffer.hasRemaining()) {
+                    channel.write(byteBuffer);
+                }
+            }
+            channel.force(false);
+            return length;
+        } catch (IOException e) {
+            throw FileException.errorToReadFile();
+        }
+    }
+
+    public InputStream open(UUID id) throws IOException {
+        return Files.newInputStream(path(id));
+    }
+
+    public boolean exists(UUID id) {
+        return Files.exists(path(id));
+    }
+
+    public void delete(UUID id) {
+        try {
+            Files.deleteIfExists(path(id));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public Path path(UUID id) {
+        return directory.resolve(id.toString());
+    }
+
+    private static int readQuietly(InputStream inputStream, byte[] buffer) {
+        // A dropped connection ends the chunk; what arrived is kept so the client can resume after it
+        try {
+            return inputStream.read(buffer);
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,3 @@
+ALTER TABLE upload_job ADD COLUMN node_id VARCHAR(255);
+
+CREATE INDEX idx_upload_job_status_node_id ON upload_job (status, node_id);
@@ -0,0 +1,52 @@
+CREATE TABLE address
+(
+    id       UUID NOT NULL,
+    city     VARCHAR(255),
+    district VARCHAR(255),
+    number   VARCHAR(255),
+    street   VARCHAR(255),
+    CONSTRAINT pk_address PRIMARY KEY (id)
+);
+
+CREATE TABLE barber_shop
+(
+    id           UUID NOT NULL,
+    created_date TIMESTAMP,
+    name         VARCHAR(255),
+    url_logo     VARCHAR(255),
+    address_id   UUID,
+    CONSTRAINT pk_barber_shop PRIMARY KEY (id),
+    CONSTRAINT fk_barber_shop_address FOREIGN KEY (address_id) REFERENCES address (id)
+);
+
+CREATE TABLE barber
+(
+    id             UUID NOT NULL,
+    created_date   TIMESTAMP,
+    name           VARCHAR(255),
+    barber_shop_id UUID,
+    CONSTRAINT pk_barber PRIMARY KEY (id),
+    CONSTRAINT fk_barber_barber_shop FOREIGN KEY (barber_shop_id) REFERENCES barber_shop (id)
+);
+
+CREATE TABLE barber_service_model
+(
+    id           UUID NOT NULL,
+    created_date TIMESTAMP,
+    description  VARCHAR(255),
+    duration     NUMERIC(19, 2),
+    name         VARCHAR(255),
+    price        NUMERIC(19, 2),
+    barber_id    UUID,
+    CONSTRAINT pk_barber_service_model PRIMARY KEY (id),
+    CONSTRAINT fk_barber_service_model_barber FOREIGN KEY (barber_id) REFERENCES barber (id)
+);
+
+CREATE TABLE image
+(
+    id             UUID NOT NULL,
+    url            VARCHAR(255),
+    barber_shop_id UUID,
+    CONSTRAINT pk_image PRIMARY KEY (id),
+    CONSTRAINT fk_image_barber_shop FOREIGN KEY (barber_shop_id) REFERENCES barber_shop (id)
+);
@@ -0,0 +1,18 @@
+ALTER TABLE barber_service_model ADD COLUMN IF NOT EXISTS created_date TIMESTAMP;
+
+UPDATE barber_service_model SET created_date = CURRENT_TIMESTAMP WHERE created_date IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_barber_shop_created_date_id
+    ON barber_shop (created_date, id);
+
+CREATE INDEX IF NOT EXISTS idx_barber_barber_shop_id_created_date_id
+    ON barber (barber_shop_id, created_date, id);
+
+CREATE INDEX IF NOT EXISTS idx_barber_barber_shop_id_name
+    ON barber (barber_shop_id, name);
+
+CREATE INDEX IF NOT EXISTS idx_barber_service_model_barber_id_created_date_id
+    ON barber_service_model (barber_id, created_date, id);
+
+CREATE INDEX IF NOT EXISTS idx_image_barber_shop_id
+    ON image (barber_shop_id);
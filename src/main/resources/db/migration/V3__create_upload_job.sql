@@ -0,0 +1,17 @@
+CREATE TABLE upload_job
+(
+    id                 UUID        NOT NULL,
+    barber_shop_id     UUID        NOT NULL,
+    target             VARCHAR(16) NOT NULL,
+    status             VARCHAR(16) NOT NULL,
+    content_length     BIGINT      NOT NULL,
+    url                VARCHAR(255),
+    failure_reason     VARCHAR(255),
+    created_date       TIMESTAMP,
+    last_modified_date TIMESTAMP,
+    CONSTRAINT pk_upload_job PRIMARY KEY (id),
+    CONSTRAINT fk_upload_job_barber_shop FOREIGN KEY (barber_shop_id) REFERENCES barber_shop (id)
+);
+
+CREATE INDEX idx_upload_job_barber_shop_id_target_status ON upload_job (barber_shop_id, target, status);
+CREATE INDEX idx_upload_job_status ON upload_job (status);
@@ -0,0 +1,2 @@
+ALTER TABLE image ADD COLUMN variants VARCHAR(2048);
+ALTER TABLE barber_shop ADD COLUMN logo_variants VARCHAR(2048);
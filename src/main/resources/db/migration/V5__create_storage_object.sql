@@ -0,0 +1,34 @@
+CREATE TABLE storage_object
+(
+    object_key      VARCHAR(255) NOT NULL,
+    url             VARCHAR(255),
+    content_length  BIGINT,
+    reference_count BIGINT       NOT NULL,
+    created_date    TIMESTAMP,
+    CONSTRAINT pk_storage_object PRIMARY KEY (object_key)
+);
+
+CREATE TABLE storage_reference
+(
+    name       VARCHAR(255) NOT NULL,
+    object_key VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_storage_reference PRIMARY KEY (name),
+    CONSTRAINT fk_storage_reference_storage_object FOREIGN KEY (object_key) REFERENCES storage_object (object_key)
+);
+
+CREATE INDEX idx_storage_reference_object_key ON storage_reference (object_key);
+
+-- Objects uploaded before content addressing keep their id as key and a single reference.
+INSERT INTO storage_object (object_key, url, reference_count, created_date)
+SELECT CAST(id AS VARCHAR(255)), url, 1, CURRENT_TIMESTAMP
+FROM image
+WHERE url IS NOT NULL;
+
+INSERT INTO storage_object (object_key, url, reference_count, created_date)
+SELECT CAST(id AS VARCHAR(255)), url_logo, 1, CURRENT_TIMESTAMP
+FROM barber_shop
+WHERE url_logo IS NOT NULL;
+
+INSERT INTO storage_reference (name, object_key)
+SELECT object_key, object_key
+FROM storage_object;
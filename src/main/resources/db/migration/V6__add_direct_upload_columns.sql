@@ -0,0 +1,2 @@
+ALTER TABLE upload_job ADD COLUMN content_type VARCHAR(64);
+ALTER TABLE upload_job ADD COLUMN expires_at TIMESTAMP;
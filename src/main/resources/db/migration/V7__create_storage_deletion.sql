@@ -0,0 +1,10 @@
+CREATE TABLE storage_deletion
+(
+    object_key   VARCHAR(255) NOT NULL,
+    attempts     INTEGER      NOT NULL DEFAULT 0,
+    last_error   VARCHAR(255),
+    created_date TIMESTAMP,
+    CONSTRAINT pk_storage_deletion PRIMARY KEY (object_key)
+);
+
+CREATE INDEX idx_storage_deletion_created_date ON storage_deletion (created_date);
@@ -0,0 +1,3 @@
+ALTER TABLE upload_job ADD COLUMN received_length BIGINT;
+
+CREATE INDEX idx_upload_job_status_expires_at ON upload_job (status, expires_at);
@@ -0,0 +1,9 @@
+ALTER TABLE storage_deletion ADD COLUMN next_attempt_at TIMESTAMP;
+
+UPDATE storage_deletion SET next_attempt_at = COALESCE(created_date, CURRENT_TIMESTAMP);
+
+ALTER TABLE storage_deletion ALTER COLUMN next_attempt_at SET NOT NULL;
+
+DROP INDEX idx_storage_deletion_created_date;
+
+CREATE INDEX idx_storage_deletion_next_attempt_at ON storage_deletion (next_attempt_at);
@@ -0,0 +1,85 @@
+package br.com.blackbeard.blackbeardapi.benchmarks;
+
+import br.com.blackbeard.blackbeardapi.dtos.barbershop.BarberShopResponse;
+import br.com.blackbeard.blackbeardapi.mappers.BarberShopMapper;
+import br.com.blackbeard.blackbeardapi.models.Address;
+import br.com.blackbeard.blackbeardapi.models.BarberShop;
+import br.com.blackbeard.blackbeardapi.models.Image;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(BarberShopMapperBenchmark.PAGE_SIZE)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BarberShopMapperBenchmark {
+
+    static final int PAGE_SIZE = 1_000;
+
+    private final ModelMapper modelMapper = new ModelMapper();
+
+    private Page<BarberShop> page;
+
+    @Setup
+    public void setup() {
+        var barberShops = new ArrayList<BarberShop>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            var barberShop = BarberShop.builder()
+                    .id(UUID.randomUUID())
+                    .name("Barber shop " + i)
+                    .urlLogo("https://bucket.s3.amazonaws.com/" + i)
+                    .createdDate(LocalDateTime.now())
+                    .address(Address.builder()
+                            .id(UUID.randomUUID())
+                            .city("City")
+                            .district("District")
+                            .street("Street")
+                            .number(String.valueOf(i))
+                            .build())
+                    .build();
+            barberShop.setImages(List.of(image(barberShop), image(barberShop)));
+            barberShops.add(barberShop);
+        }
+        page = new PageImpl<>(barberShops, PageRequest.of(0, PAGE_SIZE), PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Page<BarberShopResponse> modelMapper() {
+        return page.map(barberShop -> modelMapper.map(barberShop, BarberShopResponse.class));
+    }
+
+    @Benchmark
+    public Page<BarberShopResponse> generatedMapper() {
+        return page.map(BarberShopMapper::convertToResponse);
+    }
+
+    private static Image image(BarberShop barberShop) {
+        return Image.builder()
+                .id(UUID.randomUUID())
+                .url("https://bucket.s3.amazonaws.com/" + UUID.randomUUID())
+                .barberShop(barberShop)
+                .build();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BarberShopMapperBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
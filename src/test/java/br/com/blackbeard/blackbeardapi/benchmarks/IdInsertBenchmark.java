@@ -0,0 +1,77 @@
+package br.com.blackbeard.blackbeardapi.benchmarks;
+
+import br.com.blackbeard.blackbeardapi.models.identifiers.IdGenerator;
+import br.com.blackbeard.blackbeardapi.models.identifiers.RandomIdGenerator;
+import br.com.blackbeard.blackbeardapi.models.identifiers.TimeOrderedIdGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(IdInsertBenchmark.BATCH_SIZE)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class IdInsertBenchmark {
+
+    static final int BATCH_SIZE = 1_000;
+
+    private static final String JDBC_URL = System.getProperty("benchmark.jdbc.url", "jdbc:h2:mem:ids");
+    private static final String JDBC_USER = System.getProperty("benchmark.jdbc.user", "sa");
+    private static final String JDBC_PASSWORD = System.getProperty("benchmark.jdbc.password", "");
+
+    @Param({"random", "time-ordered"})
+    private String generator;
+
+    private IdGenerator idGenerator;
+    private Connection connection;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        idGenerator = "random".equals(generator) ? new RandomIdGenerator() : new TimeOrderedIdGenerator();
+        connection = DriverManager.getConnection(JDBC_URL, JDBC_USER, JDBC_PASSWORD);
+        connection.setAutoCommit(false);
+        try (var statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS id_benchmark");
+            statement.execute("CREATE TABLE id_benchmark (id UUID PRIMARY KEY, name VARCHAR(255))");
+        }
+        connection.commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (var statement = connection.createStatement()) {
+            statement.execute("DROP TABLE id_benchmark");
+        }
+        connection.commit();
+        connection.close();
+    }
+
+    @Benchmark
+    public int[] insert() throws SQLException {
+        try (var statement = connection.prepareStatement("INSERT INTO id_benchmark (id, name) VALUES (?, ?)")) {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                statement.setObject(1, idGenerator.generate());
+                statement.setString(2, "barber shop");
+                statement.addBatch();
+            }
+            var result = statement.executeBatch();
+            connection.commit();
+            return result;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(IdInsertBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
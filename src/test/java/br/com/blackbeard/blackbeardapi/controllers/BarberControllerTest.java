@@ -3,6 +3,7 @@ package br.com.blackbeard.blackbeardapi.controllers;
 
 import br.com.blackbeard.blackbeardapi.dtos.barber.BarberRequest;
 import br.com.blackbeard.blackbeardapi.dtos.barber.BarberResponse;
+import br.com.blackbeard.blackbeardapi.dtos.page.CursorPage;
 import br.com.blackbeard.blackbeardapi.exceptions.BarberArgumentException;
 import br.com.blackbeard.blackbeardapi.exceptions.ObjectNotFoundException;
 import br.com.blackbeard.blackbeardapi.models.Barber;
@@ -20,6 +21,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -174,6 +176,29 @@ class BarberControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void shouldReturnOkWhenGetAllByCursor() throws Exception {
+        var barberShop = BarberShop.builder()
+                .id(UUID.randomUUID())
+                .build();
+
+        var barber = Barber.builder()
+                .id(UUID.randomUUID())
+                .barberShop(barberShop)
+                .build();
+
+        when(service.listAllBarberByIdBarberShop(barberShop.getId(), null, CursorPage.DEFAULT_SIZE))
+                .thenReturn(CursorPage.of(List.of(barber), CursorPage.pageable(CursorPage.DEFAULT_SIZE), b -> null));
+
+        mockMvc.perform(
+                        MockMvcRequestBuilders.get("/barber/cursor")
+                                .param("idBarberShop", barberShop.getId().toString())
+                                .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id", is(barber.getId().toString())));
+    }
+
     @Test
     void shouldReturnNotFoundWhenGetAllIdBarberShopInvalid() throws Exception {
         var id = UUID.randomUUID();
@@ -1,5 +1,6 @@
 package br.com.blackbeard.blackbeardapi.controllers;
 
+import br.com.blackbeard.blackbeardapi.dtos.page.CursorPage;
 import br.com.blackbeard.blackbeardapi.dtos.service.ServiceRequest;
 import br.com.blackbeard.blackbeardapi.dtos.service.ServiceResponse;
 import br.com.blackbeard.blackbeardapi.exceptions.ObjectNotFoundException;
@@ -19,6 +20,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -240,6 +242,29 @@ class BarberServiceControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void shouldReturnOkWhenGetAllByCursor() throws Exception {
+        var barber = Barber.builder()
+                .id(UUID.randomUUID())
+                .build();
+
+        var serviceBarber = BarberServiceModel.builder()
+                .id(UUID.randomUUID())
+                .barber(barber)
+                .build();
+
+        when(service.listAllServiceByIdBarber(barber.getId(), null, CursorPage.DEFAULT_SIZE))
+                .thenReturn(CursorPage.of(List.of(serviceBarber), CursorPage.pageable(CursorPage.DEFAULT_SIZE), s -> null));
+
+        mockMvc.perform(
+                        MockMvcRequestBuilders.get("/barber/service/cursor")
+                                .param("barberId", barber.getId().toString())
+                                .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id", is(serviceBarber.getId().toString())));
+    }
+
     @Test
     void shouldReturnNotFoundWhenGetAllIdBarberShopInvalid() throws Exception {
         var id = UUID.randomUUID();
@@ -2,15 +2,19 @@ package br.com.blackbeard.blackbeardapi.controllers;
 
 import br.com.blackbeard.blackbeardapi.dtos.barbershop.BarberShopRequest;
 import br.com.blackbeard.blackbeardapi.dtos.barbershop.BarberShopResponse;
+import br.com.blackbeard.blackbeardapi.dtos.page.CursorPage;
+import br.com.blackbeard.blackbeardapi.dtos.page.PageCursor;
 import br.com.blackbeard.blackbeardapi.exceptions.FileException;
 import br.com.blackbeard.blackbeardapi.exceptions.ObjectNotFoundException;
 import br.com.blackbeard.blackbeardapi.models.BarberShop;
 import br.com.blackbeard.blackbeardapi.service.BarberShopService;
+import br.com.blackbeard.blackbeardapi.service.upload.MultipartStreamReader;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
@@ -20,13 +24,20 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
 import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -34,8 +45,11 @@ import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(BarberShopController.class)
+@Import(MultipartStreamReader.class)
 class BarberShopControllerTest {
 
+    private static final String BOUNDARY = "boundary";
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -143,7 +157,7 @@ class BarberShopControllerTest {
 
         var expectedResponse = BarberShopResponse.builder().id(barberShopId).build();
 
-        when(service.findById(barberShopId)).thenReturn(barberShop);
+        when(service.findByIdWithImages(barberShopId)).thenReturn(barberShop);
 
         var json = mapper.writeValueAsString(expectedResponse);
 
@@ -157,7 +171,7 @@ class BarberShopControllerTest {
 
     @Test
     void shouldReturnNotFoundWhenGetByInvalidId() throws Exception {
-        when(service.findById(any())).thenThrow(ObjectNotFoundException.class);
+        when(service.findByIdWithImages(any())).thenThrow(ObjectNotFoundException.class);
 
         mockMvc.perform(
                 MockMvcRequestBuilders.get("/barberShop/{id}", UUID.randomUUID())
@@ -180,6 +194,37 @@ class BarberShopControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void shouldReturnOkWhenGetAllByCursor() throws Exception {
+        var cursor = new PageCursor(LocalDateTime.now(), UUID.randomUUID());
+        var barberShop = BarberShop.builder()
+                .id(UUID.randomUUID())
+                .createdDate(LocalDateTime.now())
+                .build();
+        var next = new PageCursor(barberShop.getCreatedDate(), barberShop.getId());
+
+        when(service.listAll(cursor, 1)).thenReturn(CursorPage.of(
+                List.of(barberShop, BarberShop.builder().build()), CursorPage.pageable(1), b -> next));
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/barberShop/cursor")
+                        .param("cursor", cursor.encode())
+                        .param("size", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id", is(barberShop.getId().toString())))
+                .andExpect(jsonPath("$.nextCursor", is(next.encode())));
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenGetAllByInvalidCursor() throws Exception {
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/barberShop/cursor")
+                        .param("cursor", "invalid")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void shouldReturnCreatedWhenPostValidRequestForLogo() throws Exception {
         var barberShopId = UUID.randomUUID();
@@ -202,6 +247,25 @@ class BarberShopControllerTest {
     }
 
 
+    @Test
+    void shouldStreamTheLogoPartIntoTheService() throws Exception {
+        var barberShopId = UUID.randomUUID();
+        var content = "Hello, World!".getBytes();
+
+        when(service.saveLogo(eq(barberShopId), any(InputStream.class)))
+                .thenAnswer(invocation -> {
+                    assertThat(invocation.<InputStream>getArgument(1).readAllBytes()).isEqualTo(content);
+                    return URI.create("https://www.teste.com/");
+                });
+
+        mockMvc.perform(
+                post("/barberShop/logo/stream/{barberShopId}", barberShopId)
+                        .contentType("multipart/form-data; boundary=" + BOUNDARY)
+                        .content(multipartBody("logo", content)))
+                .andExpect(header().string("Location", "https://www.teste.com/"))
+                .andExpect(status().isCreated());
+    }
+
     @Test
     void shouldReturnOKWhenDeleteValidRequestForLogo() throws Exception {
         var barberShopId = UUID.randomUUID();
@@ -256,4 +320,16 @@ class BarberShopControllerTest {
                 .andExpect(jsonPath("$.message", is(errors)))
                 .andExpect(status().isBadRequest());
     }
+
+    private static byte[] multipartBody(String name, byte[] content) {
+        var head = "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"" + name + "\"; filename=\"hello.png\"\r\n"
+                + "Content-Type: image/png\r\n\r\n";
+        var tail = "\r\n--" + BOUNDARY + "--\r\n";
+        var body = new ByteArrayOutputStream();
+        body.writeBytes(head.getBytes(StandardCharsets.US_ASCII));
+        body.writeBytes(content);
+        body.writeBytes(tail.getBytes(StandardCharsets.US_ASCII));
+        return body.toByteArray();
+    }
 }
@@ -2,7 +2,9 @@ package br.com.blackbeard.blackbeardapi.controllers;
 
 import br.com.blackbeard.blackbeardapi.exceptions.BarberShopImageLimitException;
 import br.com.blackbeard.blackbeardapi.exceptions.FileException;
+import br.com.blackbeard.blackbeardapi.exceptions.ImageProcessingRejectedException;
 import br.com.blackbeard.blackbeardapi.service.ImageService;
+import br.com.blackbeard.blackbeardapi.service.upload.MultipartStreamReader;
 import com.amazonaws.AmazonClientException;
 import com.amazonaws.AmazonServiceException;
 import com.amazonaws.services.s3.model.AmazonS3Exception;
@@ -10,24 +12,39 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(BarberShopImageController.class)
+@Import(MultipartStreamReader.class)
 class BarberShopImageControllerTest {
 
+    private static final String BOUNDARY = "boundary";
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -56,6 +73,128 @@ class BarberShopImageControllerTest {
 
     }
 
+    @Test
+    void shouldReturnServiceUnavailableWhenTheProcessingPoolIsFull() throws Exception {
+        var barberShopId = UUID.randomUUID();
+        var multipartFile = new MockMultipartFile("image", "hello.png",
+                MediaType.IMAGE_PNG_VALUE, "Hello, World!".getBytes());
+
+        when(service.saveImage(barberShopId, multipartFile)).thenThrow(new ImageProcessingRejectedException());
+
+        mockMvc.perform(
+                multipart("/barberShop/image")
+                        .file(multipartFile)
+                        .param("barberShopId", barberShopId.toString())
+                        .contentType(MediaType.MULTIPART_FORM_DATA))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.message", is("Image processing unavailable")));
+    }
+
+    @Test
+    void shouldStreamTheImagePartIntoTheService() throws Exception {
+        var barberShopId = UUID.randomUUID();
+        var content = "Hello, World!".getBytes();
+
+        when(service.saveImage(eq(barberShopId), any(InputStream.class)))
+                .thenAnswer(invocation -> {
+                    assertThat(invocation.<InputStream>getArgument(1).readAllBytes()).isEqualTo(content);
+                    return URI.create("https://www.teste.com/");
+                });
+
+        mockMvc.perform(
+                post("/barberShop/image/stream/{barberShopId}", barberShopId)
+                        .contentType("multipart/form-data; boundary=" + BOUNDARY)
+                        .content(multipartBody("image", content)))
+                .andExpect(header().string("Location", "https://www.teste.com/"))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenAStreamedImageExceedsTheMaxFileSize() throws Exception {
+        var barberShopId = UUID.randomUUID();
+
+        when(service.saveImage(eq(barberShopId), any(InputStream.class)))
+                .thenAnswer(invocation -> invocation.<InputStream>getArgument(1).readAllBytes());
+
+        mockMvc.perform(
+                post("/barberShop/image/stream/{barberShopId}", barberShopId)
+                        .contentType("multipart/form-data; boundary=" + BOUNDARY)
+                        .content(multipartBody("image", new byte[600 * 1024])))
+                .andExpect(jsonPath("$.message", is("Image size exceeded")))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenAStreamedRequestExceedsTheMaxRequestSize() throws Exception {
+        var barberShopId = UUID.randomUUID();
+
+        mockMvc.perform(
+                post("/barberShop/image/stream/{barberShopId}", barberShopId)
+                        .contentType("multipart/form-data; boundary=" + BOUNDARY)
+                        .content(multipartBody("padding", new byte[3000 * 1024])))
+                .andExpect(jsonPath("$.message", is("Image size exceeded")))
+                .andExpect(status().isBadRequest());
+
+        verify(service, never()).saveImage(eq(barberShopId), any(InputStream.class));
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenTheStreamedImagePartIsMissing() throws Exception {
+        mockMvc.perform(
+                post("/barberShop/image/stream/{barberShopId}", UUID.randomUUID())
+                        .contentType("multipart/form-data; boundary=" + BOUNDARY)
+                        .content(multipartBody("logo", "Hello, World!".getBytes())))
+                .andExpect(jsonPath("$.message", is("error of archive")))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldReturnCreatedWhenPostABatchOfImages() throws Exception {
+        var barberShopId = UUID.randomUUID();
+
+        var first = new MockMultipartFile("images",
+                "first.png",
+                MediaType.IMAGE_PNG_VALUE,
+                "first".getBytes());
+        var second = new MockMultipartFile("images",
+                "second.png",
+                MediaType.IMAGE_PNG_VALUE,
+                "second".getBytes());
+
+        when(service.saveImages(barberShopId, List.of(first, second)))
+                .thenReturn(List.of(URI.create("https://www.teste.com/1"), URI.create("https://www.teste.com/2")));
+
+        mockMvc.perform(
+                multipart("/barberShop/image/batch")
+                        .file(first)
+                        .file(second)
+                        .param("barberShopId", barberShopId.toString())
+                        .contentType(MediaType.MULTIPART_FORM_DATA))
+                .andExpect(jsonPath("$[0]", is("https://www.teste.com/1")))
+                .andExpect(jsonPath("$[1]", is("https://www.teste.com/2")))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenPostABatchOverTheImageLimit() throws Exception {
+        var barberShopId = UUID.randomUUID();
+
+        var multipartFile = new MockMultipartFile("images",
+                "hello.png",
+                MediaType.IMAGE_PNG_VALUE,
+                "Hello, World!".getBytes());
+
+        when(service.saveImages(barberShopId, List.of(multipartFile))).thenThrow(BarberShopImageLimitException.class);
+
+        mockMvc.perform(
+                multipart("/barberShop/image/batch")
+                        .file(multipartFile)
+                        .param("barberShopId", barberShopId.toString())
+                        .contentType(MediaType.MULTIPART_FORM_DATA))
+                .andExpect(jsonPath("$.message", is("Barber shop image error")))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void shouldReturnOKWhenDeleteValidRequestForImage() throws Exception {
         var barberShopId = UUID.randomUUID();
@@ -222,4 +361,16 @@ class BarberShopImageControllerTest {
                 .andExpect(jsonPath("$.message", is(errors)))
                 .andExpect(status().isBadRequest());
     }
+
+    private static byte[] multipartBody(String name, byte[] content) {
+        var head = "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"" + name + "\"; filename=\"hello.png\"\r\n"
+                + "Content-Type: image/png\r\n\r\n";
+        var tail = "\r\n--" + BOUNDARY + "--\r\n";
+        var body = new ByteArrayOutputStream();
+        body.writeBytes(head.getBytes(StandardCharsets.US_ASCII));
+        body.writeBytes(content);
+        body.writeBytes(tail.getBytes(StandardCharsets.US_ASCII));
+        return body.toByteArray();
+    }
 }
@@ -0,0 +1,89 @@
+package br.com.blackbeard.blackbeardapi.controllers;
+
+import br.com.blackbeard.blackbeardapi.dtos.image.ImageImportItem;
+import br.com.blackbeard.blackbeardapi.dtos.image.ImageImportRequest;
+import br.com.blackbeard.blackbeardapi.exceptions.FileException;
+import br.com.blackbeard.blackbeardapi.service.ImageImportService;
+import br.com.blackbeard.blackbeardapi.service.upload.ImageImport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ImageImportController.class)
+class ImageImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ImageImportService service;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void shouldReturnTheResultOfEachImage() throws Exception {
+        var barberShopId = UUID.randomUUID();
+        var found = URI.create("https://old.site/found.png");
+        var missing = URI.create("https://old.site/missing.png");
+        var request = ImageImportRequest.builder()
+                .items(List.of(
+                        ImageImportItem.builder().barberShopId(barberShopId).url(found).build(),
+                        ImageImportItem.builder().barberShopId(barberShopId).url(missing).build()))
+                .build();
+
+        when(service.importImages(anyList())).thenReturn(List.of(
+                ImageImport.of(barberShopId, found).imported(URI.create("https://www.teste.com/found")),
+                ImageImport.of(barberShopId, missing).failed(FileException.ERROR_TO_DOWNLOAD_FILE)));
+
+        mockMvc.perform(post("/barberShop/image/import")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].source", is(found.toString())))
+                .andExpect(jsonPath("$[0].imported", is(true)))
+                .andExpect(jsonPath("$[0].url", is("https://www.teste.com/found")))
+                .andExpect(jsonPath("$[1].imported", is(false)))
+                .andExpect(jsonPath("$[1].url", nullValue()))
+                .andExpect(jsonPath("$[1].failureReason", is(FileException.ERROR_TO_DOWNLOAD_FILE)));
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenThereIsNothingToImport() throws Exception {
+        var request = ImageImportRequest.builder()
+                .items(Collections.emptyList())
+                .build();
+
+        mockMvc.perform(post("/barberShop/image/import")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenAnItemHasNoUrl() throws Exception {
+        var request = ImageImportRequest.builder()
+                .items(List.of(ImageImportItem.builder().barberShopId(UUID.randomUUID()).build()))
+                .build();
+
+        mockMvc.perform(post("/barberShop/image/import")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,144 @@
+package br.com.blackbeard.blackbeardapi.controllers;
+
+import br.com.blackbeard.blackbeardapi.exceptions.ObjectNotFoundException;
+import br.com.blackbeard.blackbeardapi.service.ImageServingService;
+import br.com.blackbeard.blackbeardapi.service.storage.StoredObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ImageServingController.class)
+class ImageServingControllerTest {
+
+    private static final byte[] CONTENT = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, 1, 2, 3, 4, 5};
+    private static final String KEY = "abc123";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ImageServingService service;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldServeTheWholeObjectWithAnImmutableETag() throws Exception {
+        when(service.find(KEY)).thenReturn(inMemory());
+
+        mockMvc.perform(get("/images/{name}", KEY))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("image/jpeg"))
+                .andExpect(header().string("ETag", "\"" + KEY + "\""))
+                .andExpect(header().string("Cache-Control", "public, max-age=31536000, immutable"))
+                .andExpect(header().string("Accept-Ranges", "bytes"))
+                .andExpect(header().longValue("Content-Length", CONTENT.length))
+                .andExpect(content().bytes(CONTENT));
+    }
+
+    @Test
+    void shouldAskClientsToRevalidateNamesThatAreNotContentHashes() throws Exception {
+        when(service.find("logo")).thenReturn(inMemory());
+
+        mockMvc.perform(get("/images/{name}", "logo"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "public, max-age=60, must-revalidate"));
+    }
+
+    @Test
+    void shouldReturnNotModifiedWhenTheETagMatches() throws Exception {
+        when(service.find(KEY)).thenReturn(inMemory());
+
+        mockMvc.perform(get("/images/{name}", KEY)
+                .header("If-None-Match", "\"other\", \"" + KEY + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void shouldServeASingleByteRange() throws Exception {
+        when(service.find(KEY)).thenReturn(inMemory());
+
+        mockMvc.perform(get("/images/{name}", KEY)
+                .header("Range", "bytes=2-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 2-5/" + CONTENT.length))
+                .andExpect(header().longValue("Content-Length", 4))
+                .andExpect(content().bytes(Arrays.copyOfRange(CONTENT, 2, 6)));
+    }
+
+    @Test
+    void shouldRejectARangeOutsideTheObject() throws Exception {
+        when(service.find(KEY)).thenReturn(inMemory());
+
+        mockMvc.perform(get("/images/{name}", KEY)
+                .header("Range", "bytes=100-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string("Content-Range", "bytes */" + CONTENT.length));
+    }
+
+    @Test
+    void shouldRejectARangeStartingAtTheEndOfTheObject() throws Exception {
+        when(service.find(KEY)).thenReturn(inMemory());
+
+        mockMvc.perform(get("/images/{name}", KEY)
+                .header("Range", "bytes=" + CONTENT.length + "-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string("Content-Range", "bytes */" + CONTENT.length));
+    }
+
+    @Test
+    void shouldStreamLocalFilesFromTheFileChannel() throws Exception {
+        when(service.find(KEY)).thenReturn(onDisk());
+
+        mockMvc.perform(get("/images/{name}", KEY)
+                .header("Range", "bytes=-3"))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().bytes(Arrays.copyOfRange(CONTENT, 5, 8)));
+    }
+
+    @Test
+    void shouldHandLocalFilesToTheContainerWhenSendfileIsSupported() throws Exception {
+        var storedObject = onDisk();
+        when(service.find(KEY)).thenReturn(storedObject);
+
+        mockMvc.perform(get("/images/{name}", KEY)
+                .requestAttr(ImageServingController.SENDFILE_SUPPORT, Boolean.TRUE))
+                .andExpect(status().isOk())
+                .andExpect(request().attribute(ImageServingController.SENDFILE_FILENAME,
+                        storedObject.getPath().orElseThrow().toAbsolutePath().toString()))
+                .andExpect(request().attribute(ImageServingController.SENDFILE_START, 0L))
+                .andExpect(request().attribute(ImageServingController.SENDFILE_END, (long) CONTENT.length));
+    }
+
+    @Test
+    void shouldReturnNotFoundWhenTheObjectDoesNotExist() throws Exception {
+        when(service.find("missing")).thenThrow(new ObjectNotFoundException());
+
+        mockMvc.perform(get("/images/{name}", "missing"))
+                .andExpect(status().isNotFound());
+    }
+
+    private static StoredObject inMemory() {
+        return new StoredObject(KEY, CONTENT.length, "image/jpeg", null,
+                (start, end) -> new ByteArrayInputStream(CONTENT, (int) start, (int) (end - start + 1)));
+    }
+
+    private StoredObject onDisk() throws Exception {
+        var path = Files.write(directory.resolve(KEY), CONTENT);
+        return new StoredObject(KEY, CONTENT.length, "image/jpeg", path,
+                (start, end) -> Files.newInputStream(path));
+    }
+}
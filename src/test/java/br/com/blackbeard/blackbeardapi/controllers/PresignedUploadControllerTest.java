@@ -0,0 +1,101 @@
+package br.com.blackbeard.blackbeardapi.controllers;
+
+import br.com.blackbeard.blackbeardapi.dtos.image.PresignedUploadRequest;
+import br.com.blackbeard.blackbeardapi.exceptions.BarberShopImageException;
+import br.com.blackbeard.blackbeardapi.models.Image;
+import br.com.blackbeard.blackbeardapi.models.UploadJob;
+import br.com.blackbeard.blackbeardapi.service.PresignedUploadService;
+import br.com.blackbeard.blackbeardapi.service.upload.PresignedUpload;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.net.URL;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(PresignedUploadController.class)
+class PresignedUploadControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private PresignedUploadService service;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void shouldReturnCreatedWithTheSignedUrl() throws Exception {
+        var request = PresignedUploadRequest.builder()
+                .barberShopId(UUID.randomUUID())
+                .contentType("image/png")
+                .contentLength(512)
+                .build();
+        var uploadJob = UploadJob.builder()
+                .id(UUID.randomUUID())
+                .expiresAt(LocalDateTime.now().plusMinutes(5))
+                .build();
+        var url = new URL("https://bucket.s3.amazonaws.com/key?X-Amz-Signature=abc");
+
+        when(service.create(request.getBarberShopId(), "image/png", 512))
+                .thenReturn(new PresignedUpload(uploadJob, url, Map.of("Content-Type", "image/png")));
+
+        mockMvc.perform(post("/barberShop/image/presigned")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id", is(uploadJob.getId().toString())))
+                .andExpect(jsonPath("$.method", is("PUT")))
+                .andExpect(jsonPath("$.url", is(url.toString())))
+                .andExpect(jsonPath("$.headers.Content-Type", is("image/png")));
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenTheRequestIsInvalid() throws Exception {
+        var request = PresignedUploadRequest.builder()
+                .contentType("image/png")
+                .build();
+
+        mockMvc.perform(post("/barberShop/image/presigned")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldReturnCreatedWhenCompletingAnUpload() throws Exception {
+        var id = UUID.randomUUID();
+        var image = Image.builder()
+                .id(id)
+                .url("https://bucket.s3.amazonaws.com/" + id)
+                .build();
+
+        when(service.complete(id)).thenReturn(image);
+
+        mockMvc.perform(post("/barberShop/image/presigned/{id}/complete", id))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", image.getUrl()));
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenTheUploadExpired() throws Exception {
+        var id = UUID.randomUUID();
+
+        when(service.complete(id)).thenThrow(BarberShopImageException.uploadExpired());
+
+        mockMvc.perform(post("/barberShop/image/presigned/{id}/complete", id))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Barber shop image error")));
+    }
+}
@@ -0,0 +1,138 @@
+package br.com.blackbeard.blackbeardapi.controllers;
+
+import br.com.blackbeard.blackbeardapi.dtos.upload.ResumableUploadRequest;
+import br.com.blackbeard.blackbeardapi.exceptions.BarberShopImageException;
+import br.com.blackbeard.blackbeardapi.models.Image;
+import br.com.blackbeard.blackbeardapi.models.UploadJob;
+import br.com.blackbeard.blackbeardapi.service.ResumableUploadService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ResumableUploadController.class)
+class ResumableUploadControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ResumableUploadService service;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void shouldReturnCreatedWithTheSessionLocation() throws Exception {
+        var request = ResumableUploadRequest.builder()
+                .barberShopId(UUID.randomUUID())
+                .contentType("image/png")
+                .contentLength(2048)
+                .build();
+        var uploadJob = uploadJob(0L);
+
+        when(service.create(request.getBarberShopId(), "image/png", 2048)).thenReturn(uploadJob);
+
+        mockMvc.perform(post("/barberShop/image/resumable")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", endsWith("/barberShop/image/resumable/" + uploadJob.getId())))
+                .andExpect(jsonPath("$.id", is(uploadJob.getId().toString())))
+                .andExpect(jsonPath("$.offset", is(0)));
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenTheRequestIsInvalid() throws Exception {
+        var request = ResumableUploadRequest.builder()
+                .contentType("image/png")
+                .build();
+
+        mockMvc.perform(post("/barberShop/image/resumable")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldReturnTheReceivedOffset() throws Exception {
+        var uploadJob = uploadJob(1024L);
+
+        when(service.findById(uploadJob.getId())).thenReturn(uploadJob);
+
+        mockMvc.perform(get("/barberShop/image/resumable/{id}", uploadJob.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.offset", is(1024)))
+                .andExpect(jsonPath("$.status", is("PENDING")));
+    }
+
+    @Test
+    void shouldAppendTheRequestBodyAtTheOffset() throws Exception {
+        var uploadJob = uploadJob(1536L);
+
+        when(service.append(eq(uploadJob.getId()), eq(1024L), any(InputStream.class))).thenReturn(uploadJob);
+
+        mockMvc.perform(put("/barberShop/image/resumable/{id}", uploadJob.getId())
+                .param("offset", "1024")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .content(new byte[512]))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.offset", is(1536)));
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenTheOffsetDoesNotMatch() throws Exception {
+        var id = UUID.randomUUID();
+
+        when(service.append(eq(id), eq(0L), any(InputStream.class)))
+                .thenThrow(BarberShopImageException.uploadOffsetMismatch());
+
+        mockMvc.perform(put("/barberShop/image/resumable/{id}", id)
+                .param("offset", "0")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .content(new byte[512]))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Barber shop image error")));
+    }
+
+    @Test
+    void shouldReturnCreatedWhenCompletingAnUpload() throws Exception {
+        var id = UUID.randomUUID();
+        var image = Image.builder()
+                .id(id)
+                .url("https://www.teste.com/" + id)
+                .build();
+
+        when(service.complete(id)).thenReturn(image);
+
+        mockMvc.perform(post("/barberShop/image/resumable/{id}/complete", id))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", image.getUrl()));
+    }
+
+    private UploadJob uploadJob(long receivedLength) {
+        return UploadJob.builder()
+                .id(UUID.randomUUID())
+                .barberShopId(UUID.randomUUID())
+                .status(UploadJob.Status.PENDING)
+                .contentType("image/png")
+                .contentLength(2048)
+                .receivedLength(receivedLength)
+                .expiresAt(LocalDateTime.now().plusHours(24))
+                .build();
+    }
+}
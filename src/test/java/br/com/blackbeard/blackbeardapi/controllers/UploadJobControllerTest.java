@@ -0,0 +1,120 @@
+package br.com.blackbeard.blackbeardapi.controllers;
+
+import br.com.blackbeard.blackbeardapi.exceptions.ImageProcessingRejectedException;
+import br.com.blackbeard.blackbeardapi.exceptions.ObjectNotFoundException;
+import br.com.blackbeard.blackbeardapi.models.UploadJob;
+import br.com.blackbeard.blackbeardapi.service.UploadJobService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.net.URI;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(UploadJobController.class)
+class UploadJobControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private UploadJobService service;
+
+    @Test
+    void shouldReturnAcceptedWhenPostAnImageAsync() throws Exception {
+        var barberShopId = UUID.randomUUID();
+        var multipartFile = new MockMultipartFile("image", "hello.png",
+                MediaType.IMAGE_PNG_VALUE, "Hello, World!".getBytes());
+        var uploadJob = uploadJob(barberShopId, UploadJob.Target.IMAGE);
+
+        when(service.acceptImage(barberShopId, multipartFile)).thenReturn(uploadJob);
+
+        mockMvc.perform(
+                multipart("/barberShop/image/async")
+                        .file(multipartFile)
+                        .param("barberShopId", barberShopId.toString())
+                        .contentType(MediaType.MULTIPART_FORM_DATA))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", endsWith("/barberShop/upload/" + uploadJob.getId())))
+                .andExpect(jsonPath("$.id", is(uploadJob.getId().toString())))
+                .andExpect(jsonPath("$.status", is("PENDING")));
+    }
+
+    @Test
+    void shouldReturnAcceptedWhenPostALogoAsync() throws Exception {
+        var barberShopId = UUID.randomUUID();
+        var multipartFile = new MockMultipartFile("logo", "logo.png",
+                MediaType.IMAGE_PNG_VALUE, "Hello, World!".getBytes());
+        var uploadJob = uploadJob(barberShopId, UploadJob.Target.LOGO);
+
+        when(service.acceptLogo(barberShopId, multipartFile)).thenReturn(uploadJob);
+
+        mockMvc.perform(
+                multipart("/barberShop/logo/async")
+                        .file(multipartFile)
+                        .param("barberShopId", barberShopId.toString())
+                        .contentType(MediaType.MULTIPART_FORM_DATA))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.target", is("LOGO")));
+    }
+
+    @Test
+    void shouldReturnServiceUnavailableWhenTheQueueIsFull() throws Exception {
+        var barberShopId = UUID.randomUUID();
+        var multipartFile = new MockMultipartFile("image", "hello.png",
+                MediaType.IMAGE_PNG_VALUE, "Hello, World!".getBytes());
+
+        when(service.acceptImage(barberShopId, multipartFile)).thenThrow(new ImageProcessingRejectedException());
+
+        mockMvc.perform(
+                multipart("/barberShop/image/async")
+                        .file(multipartFile)
+                        .param("barberShopId", barberShopId.toString())
+                        .contentType(MediaType.MULTIPART_FORM_DATA))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.message", is("Image processing unavailable")));
+    }
+
+    @Test
+    void shouldReturnTheJobStatus() throws Exception {
+        var uploadJob = uploadJob(UUID.randomUUID(), UploadJob.Target.IMAGE);
+        uploadJob.complete(URI.create("https://www.teste.com/"));
+
+        when(service.findById(uploadJob.getId())).thenReturn(uploadJob);
+
+        mockMvc.perform(get("/barberShop/upload/{id}", uploadJob.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("COMPLETED")))
+                .andExpect(jsonPath("$.url", is("https://www.teste.com/")));
+    }
+
+    @Test
+    void shouldReturnNotFoundWhenTheJobDoesNotExist() throws Exception {
+        var id = UUID.randomUUID();
+
+        when(service.findById(id)).thenThrow(new ObjectNotFoundException());
+
+        mockMvc.perform(get("/barberShop/upload/{id}", id))
+                .andExpect(status().isNotFound());
+    }
+
+    private UploadJob uploadJob(UUID barberShopId, UploadJob.Target target) {
+        return UploadJob.builder()
+                .id(UUID.randomUUID())
+                .barberShopId(barberShopId)
+                .target(target)
+                .status(UploadJob.Status.PENDING)
+                .build();
+    }
+}
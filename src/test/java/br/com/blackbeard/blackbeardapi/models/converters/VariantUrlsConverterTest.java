@@ -0,0 +1,31 @@
+package br.com.blackbeard.blackbeardapi.models.converters;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VariantUrlsConverterTest {
+
+    private final VariantUrlsConverter converter = new VariantUrlsConverter();
+
+    @Test
+    void shouldRoundTripVariantUrlsInOrder() {
+        var variants = new LinkedHashMap<String, String>();
+        variants.put("thumbnail", "https://www.teste.com/id-thumbnail");
+        variants.put("medium", "https://www.teste.com/id-medium");
+
+        var column = converter.convertToDatabaseColumn(variants);
+
+        assertThat(converter.convertToEntityAttribute(column)).containsExactlyEntriesOf(variants);
+    }
+
+    @Test
+    void shouldStoreNullWhenThereAreNoVariants() {
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+        assertThat(converter.convertToDatabaseColumn(Map.of())).isNull();
+        assertThat(converter.convertToEntityAttribute(null)).isNull();
+    }
+}
@@ -0,0 +1,58 @@
+package br.com.blackbeard.blackbeardapi.models.identifiers;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimeOrderedIdGeneratorTest {
+
+    private static final Instant NOW = Instant.parse("2021-08-01T10:15:30.123Z");
+
+    @Test
+    void shouldGenerateVersionSevenIds() {
+        var id = new TimeOrderedIdGenerator().generate();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldEncodeTheTimestampInTheFirstBits() {
+        var generator = new TimeOrderedIdGenerator(Clock.fixed(NOW, ZoneOffset.UTC));
+
+        var id = generator.generate();
+
+        assertThat(id.getMostSignificantBits() >>> 16).isEqualTo(NOW.toEpochMilli());
+    }
+
+    @Test
+    void shouldGenerateIncreasingIdsWithinTheSameMillisecond() {
+        var generator = new TimeOrderedIdGenerator(Clock.fixed(NOW, ZoneOffset.UTC));
+        var ids = new ArrayList<UUID>();
+
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(generator.generate());
+        }
+
+        assertThat(ids).isSortedAccordingTo((first, second) ->
+                Long.compareUnsigned(first.getMostSignificantBits(), second.getMostSignificantBits()));
+        assertThat(ids).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void shouldUseTheConfiguredGenerator() {
+        var id = UUID.randomUUID();
+
+        Identifiers.use(() -> id);
+        var generated = Identifiers.next();
+        Identifiers.use(new TimeOrderedIdGenerator());
+
+        assertThat(generated).isEqualTo(id);
+    }
+}
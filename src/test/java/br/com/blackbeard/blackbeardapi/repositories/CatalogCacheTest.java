@@ -0,0 +1,105 @@
+package br.com.blackbeard.blackbeardapi.repositories;
+
+import br.com.blackbeard.blackbeardapi.models.Barber;
+import br.com.blackbeard.blackbeardapi.models.BarberShop;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CatalogCacheTest {
+
+    @Autowired
+    private BarberShopRepository barberShopRepository;
+
+    @Autowired
+    private BarberRepository barberRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private BarberShop barberShop;
+
+    private Barber barber;
+
+    @BeforeEach
+    void setup() {
+        barberShop = barberShopRepository.save(BarberShop.builder()
+                .id(UUID.randomUUID())
+                .name("barber shop")
+                .build());
+        barber = barberRepository.save(Barber.builder()
+                .id(UUID.randomUUID())
+                .name("barber")
+                .barberShop(barberShop)
+                .build());
+
+        var sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        sessionFactory.getCache().evictAllRegions();
+        // The inserts above may share a timestamp with the first query, which would mark its results stale
+        sessionFactory.getCache().getTimestampsCache().clear();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        barberRepository.deleteAll();
+        barberShopRepository.deleteAll();
+    }
+
+    @Test
+    void shouldServeARepeatedLookupFromTheSecondLevelCache() {
+        barberShopRepository.findById(barberShop.getId());
+        var statements = statistics.getPrepareStatementCount();
+
+        var cached = barberShopRepository.findById(barberShop.getId());
+
+        assertThat(cached).isPresent();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+        assertThat(statistics.getCacheRegionStatistics(BarberShop.CACHE_REGION).getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldServeARepeatedBarberListingFromTheQueryCache() {
+        barberRepository.findAllByBarberShopId(barberShop.getId(), PageRequest.of(0, 20));
+        var statements = statistics.getPrepareStatementCount();
+
+        var page = barberRepository.findAllByBarberShopId(barberShop.getId(), PageRequest.of(0, 20));
+
+        assertThat(page.getContent()).extracting(Barber::getId).containsExactly(barber.getId());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldListTheUpdatedBarberAfterAnUpdate() {
+        barberRepository.findAllByBarberShopId(barberShop.getId(), PageRequest.of(0, 20));
+
+        var persistedBarber = barberRepository.findById(barber.getId()).orElseThrow();
+        persistedBarber.setName("renamed");
+        barberRepository.save(persistedBarber);
+
+        var page = barberRepository.findAllByBarberShopId(barberShop.getId(), PageRequest.of(0, 20));
+
+        assertThat(page.getContent()).extracting(Barber::getName).containsExactly("renamed");
+        assertThat(statistics.getQueryCacheHitCount()).isZero();
+    }
+}
@@ -0,0 +1,68 @@
+package br.com.blackbeard.blackbeardapi.repositories;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FinderIndexTest {
+
+    private static final String JDBC_URL = "jdbc:h2:mem:finders;MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+    private static final String ID = "'0178f5a2-7c1e-7000-8000-000000000000'";
+    private static final String CREATED_DATE = "TIMESTAMP '2021-08-01 10:15:30'";
+
+    private static Connection connection;
+
+    @BeforeAll
+    static void migrate() throws SQLException {
+        Flyway.configure()
+                .dataSource(JDBC_URL, "sa", "")
+                .load()
+                .migrate();
+        connection = DriverManager.getConnection(JDBC_URL, "sa", "");
+    }
+
+    @AfterAll
+    static void close() throws SQLException {
+        connection.close();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "SELECT * FROM barber_shop ORDER BY created_date, id LIMIT 21",
+            "SELECT * FROM barber_shop WHERE created_date >= " + CREATED_DATE
+                    + " AND (created_date > " + CREATED_DATE + " OR id > " + ID + ") ORDER BY created_date, id LIMIT 21",
+            "SELECT * FROM barber WHERE barber_shop_id = " + ID + " LIMIT 20",
+            "SELECT * FROM barber WHERE barber_shop_id = " + ID + " ORDER BY created_date, id LIMIT 21",
+            "SELECT * FROM barber WHERE barber_shop_id = " + ID + " AND created_date >= " + CREATED_DATE
+                    + " AND (created_date > " + CREATED_DATE + " OR id > " + ID + ") ORDER BY created_date, id LIMIT 21",
+            "SELECT id FROM barber WHERE name = 'barber' AND barber_shop_id = " + ID + " LIMIT 1",
+            "SELECT * FROM barber_service_model WHERE barber_id = " + ID + " LIMIT 20",
+            "SELECT * FROM barber_service_model WHERE barber_id = " + ID + " ORDER BY created_date, id LIMIT 21",
+            "SELECT * FROM barber_service_model WHERE barber_id = " + ID + " AND created_date >= " + CREATED_DATE
+                    + " AND (created_date > " + CREATED_DATE + " OR id > " + ID + ") ORDER BY created_date, id LIMIT 21",
+            "SELECT * FROM image WHERE barber_shop_id = " + ID,
+            "SELECT COUNT(*) FROM upload_job WHERE barber_shop_id = " + ID + " AND target = 'IMAGE' AND status = 'PENDING'"
+                    + " AND (expires_at IS NULL OR expires_at > " + CREATED_DATE + ")",
+            "SELECT * FROM upload_job WHERE status = 'PENDING' AND expires_at IS NULL",
+            "SELECT * FROM storage_reference WHERE object_key = 'key'",
+            "SELECT * FROM storage_deletion WHERE attempts < 10 AND next_attempt_at <= " + CREATED_DATE
+                    + " ORDER BY next_attempt_at LIMIT 1000"
+    })
+    void shouldUseAnIndexForEveryFinderQuery(String query) throws SQLException {
+        try (var statement = connection.createStatement();
+             var plan = statement.executeQuery("EXPLAIN " + query)) {
+            plan.next();
+
+            // H2 may prefer the index it creates for a foreign key over ours, so only a table scan is a failure
+            assertThat(plan.getString(1)).doesNotContainIgnoringCase("tableScan");
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package br.com.blackbeard.blackbeardapi.repositories;
+
+import br.com.blackbeard.blackbeardapi.models.StorageDeletion;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class StorageDeletionRepositoryTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Autowired
+    private StorageDeletionRepository repository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void shouldOfferANewDeletionRightAway() {
+        repository.saveAndFlush(StorageDeletion.builder().key("new").build());
+        entityManager.clear();
+
+        assertThat(repository.findNextBatch(MAX_ATTEMPTS, LocalDateTime.now(), PageRequest.of(0, 10)))
+                .extracting(StorageDeletion::getKey)
+                .containsExactly("new");
+    }
+
+    @Test
+    void shouldHoldBackDeletionsUntilTheirNextAttempt() {
+        var backingOff = StorageDeletion.builder().key("backing-off").build();
+        backingOff.fail("timeout", LocalDateTime.now().plusMinutes(5));
+        var parked = StorageDeletion.builder().key("parked").attempts(MAX_ATTEMPTS).build();
+        repository.saveAllAndFlush(List.of(backingOff, parked));
+        entityManager.clear();
+
+        assertThat(repository.findNextBatch(MAX_ATTEMPTS, LocalDateTime.now(), PageRequest.of(0, 10))).isEmpty();
+    }
+}
@@ -0,0 +1,68 @@
+package br.com.blackbeard.blackbeardapi.repositories;
+
+import br.com.blackbeard.blackbeardapi.models.StorageObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class StorageObjectRepositoryTest {
+
+    private static final String KEY = "dffd6021bb2bd5b0af676290809ec3a53191dd81c7f70a4b28688a362182986f";
+
+    @Autowired
+    private StorageObjectRepository repository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setup() {
+        repository.saveAndFlush(StorageObject.builder()
+                .key(KEY)
+                .url("https://www.teste.com/" + KEY)
+                .referenceCount(1)
+                .build());
+        entityManager.clear();
+    }
+
+    @Test
+    void shouldCountReferences() {
+        assertThat(repository.incrementReferences(KEY)).isEqualTo(1);
+        assertThat(repository.incrementReferences("missing")).isZero();
+        entityManager.clear();
+
+        assertThat(repository.findById(KEY)).get()
+                .extracting(StorageObject::getReferenceCount)
+                .isEqualTo(2L);
+    }
+
+    @Test
+    void shouldOnlyDeleteUnreferencedObjects() {
+        assertThat(repository.deleteUnreferenced(KEY)).isZero();
+
+        repository.decrementReferences(KEY);
+
+        assertThat(repository.deleteUnreferenced(KEY)).isEqualTo(1);
+        assertThat(repository.findById(KEY)).isEmpty();
+    }
+
+    @Test
+    void shouldNotOverwriteAnExistingObjectWhenSavingANewOne() {
+        var duplicate = StorageObject.builder()
+                .key(KEY)
+                .url("https://www.teste.com/other")
+                .referenceCount(1)
+                .build();
+
+        assertThrows(DataIntegrityViolationException.class, () -> repository.saveAndFlush(duplicate));
+    }
+}
@@ -0,0 +1,90 @@
+package br.com.blackbeard.blackbeardapi.repositories;
+
+import br.com.blackbeard.blackbeardapi.exceptions.BarberShopImageException;
+import br.com.blackbeard.blackbeardapi.models.BarberShop;
+import br.com.blackbeard.blackbeardapi.models.UploadJob;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class UploadJobRepositoryTest {
+
+    private static final String NODE_ID = "node-a";
+
+    @Autowired
+    private UploadJobRepository repository;
+
+    @Autowired
+    private BarberShopRepository barberShopRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private BarberShop barberShop;
+
+    @BeforeEach
+    void setup() {
+        barberShop = barberShopRepository.save(BarberShop.builder()
+                .id(UUID.randomUUID())
+                .name("barber shop")
+                .build());
+    }
+
+    @Test
+    void shouldOnlyResumeTheJobsOfTheNode() {
+        var own = repository.save(pendingJob(NODE_ID));
+        repository.saveAndFlush(pendingJob("node-b"));
+        entityManager.clear();
+
+        assertThat(repository.findAllByStatusAndNodeIdAndExpiresAtIsNull(UploadJob.Status.PENDING, NODE_ID))
+                .extracting(UploadJob::getId)
+                .containsExactly(own.getId());
+    }
+
+    @Test
+    void shouldFailOnlyTheOldJobsOfOtherNodes() {
+        var own = repository.save(pendingJob(NODE_ID));
+        var other = repository.save(pendingJob("node-b"));
+        var legacy = repository.saveAndFlush(pendingJob(null));
+        entityManager.clear();
+
+        var now = LocalDateTime.now();
+        assertThat(repository.failAbandoned(NODE_ID, now.minusHours(1), BarberShopImageException.UPLOAD_ABANDONED,
+                now, UploadJob.Status.PENDING, UploadJob.Status.FAILED)).isZero();
+        assertThat(repository.failAbandoned(NODE_ID, now.plusMinutes(1), BarberShopImageException.UPLOAD_ABANDONED,
+                now, UploadJob.Status.PENDING, UploadJob.Status.FAILED)).isEqualTo(2);
+        entityManager.clear();
+
+        assertThat(repository.findById(own.getId())).get()
+                .extracting(UploadJob::getStatus)
+                .isEqualTo(UploadJob.Status.PENDING);
+        assertThat(repository.findAllById(List.of(other.getId(), legacy.getId())))
+                .allSatisfy(uploadJob -> {
+                    assertThat(uploadJob.getStatus()).isEqualTo(UploadJob.Status.FAILED);
+                    assertThat(uploadJob.getFailureReason()).isEqualTo(BarberShopImageException.UPLOAD_ABANDONED);
+                });
+    }
+
+    private UploadJob pendingJob(String nodeId) {
+        return UploadJob.builder()
+                .id(UUID.randomUUID())
+                .barberShopId(barberShop.getId())
+                .target(UploadJob.Target.IMAGE)
+                .status(UploadJob.Status.PENDING)
+                .contentLength(8)
+                .nodeId(nodeId)
+                .createdDate(LocalDateTime.now())
+                .build();
+    }
+}
@@ -1,5 +1,7 @@
 package br.com.blackbeard.blackbeardapi.service;
 
+import br.com.blackbeard.blackbeardapi.dtos.page.CursorPage;
+import br.com.blackbeard.blackbeardapi.dtos.page.PageCursor;
 import br.com.blackbeard.blackbeardapi.exceptions.ObjectNotFoundException;
 import br.com.blackbeard.blackbeardapi.models.Address;
 import br.com.blackbeard.blackbeardapi.models.Barber;
@@ -17,6 +19,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -114,6 +117,38 @@ class BarberServiceTest {
                 .findAllByBarberShopId(barber.getBarberShop().getId(), pageable);
     }
 
+    @Test
+    void shouldListFirstBarberPageByIdBarberShopWithoutCounting() {
+        var barberShopId = barber.getBarberShop().getId();
+        var first = Barber.builder().id(UUID.randomUUID()).createdDate(LocalDateTime.now()).build();
+        var second = Barber.builder().id(UUID.randomUUID()).createdDate(LocalDateTime.now()).build();
+
+        when(repository.findFirstPageByBarberShopId(barberShopId, CursorPage.pageable(1)))
+                .thenReturn(List.of(first, second));
+
+        var page = service.listAllBarberByIdBarberShop(barberShopId, null, 1);
+
+        assertThat(page.getContent()).containsExactly(first);
+        assertThat(PageCursor.valueOf(page.getNextCursor()))
+                .isEqualTo(new PageCursor(first.getCreatedDate(), first.getId()));
+        verify(barberShopService, times(1)).findById(barberShopId);
+        verify(repository, never()).count();
+    }
+
+    @Test
+    void shouldListBarberPageAfterCursorByIdBarberShop() {
+        var barberShopId = barber.getBarberShop().getId();
+        var cursor = new PageCursor(LocalDateTime.now(), UUID.randomUUID());
+
+        when(repository.findPageAfterByBarberShopId(barberShopId, cursor.getCreatedDate(), cursor.getId(),
+                CursorPage.pageable(20))).thenReturn(List.of(barber));
+
+        var page = service.listAllBarberByIdBarberShop(barberShopId, cursor, 20);
+
+        assertThat(page.getContent()).containsExactly(barber);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
     @Test
     void shouldUpdateAnBarberById() {
         var persistedBarber = Barber.builder()
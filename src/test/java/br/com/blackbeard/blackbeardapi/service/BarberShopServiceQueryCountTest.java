@@ -0,0 +1,117 @@
+package br.com.blackbeard.blackbeardapi.service;
+
+import br.com.blackbeard.blackbeardapi.models.Address;
+import br.com.blackbeard.blackbeardapi.models.BarberShop;
+import br.com.blackbeard.blackbeardapi.models.Image;
+import br.com.blackbeard.blackbeardapi.service.image.ImageDecoder;
+import br.com.blackbeard.blackbeardapi.service.image.ImageProcessingExecutor;
+import br.com.blackbeard.blackbeardapi.service.upload.UploadSpool;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(BarberShopService.class)
+class BarberShopServiceQueryCountTest {
+
+    private static final int PAGE_SIZE = 50;
+    private static final int SELECT_PAGE_COUNT_AND_IMAGES = 3;
+
+    @Autowired
+    private BarberShopService service;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockBean
+    private ImageStorageService imageStorageService;
+
+    @MockBean
+    private ImageVariantService imageVariantService;
+
+    @MockBean
+    private AsyncImageStorageService asyncImageStorageService;
+
+    @MockBean
+    private ImageProcessingExecutor imageProcessingExecutor;
+
+    @MockBean
+    private UploadSpool uploadSpool;
+
+    @MockBean
+    private ImageDecoder imageDecoder;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        for (int i = 0; i < PAGE_SIZE * 2; i++) {
+            persistBarberShop(i % 4);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager()
+                .getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void shouldListAPageOfBarberShopsWithAConstantNumberOfStatements() {
+        var page = service.listAll(PageRequest.of(0, PAGE_SIZE));
+
+        assertThat(page.getContent()).hasSize(PAGE_SIZE);
+        assertThat(page.getContent()).allMatch(barberShop -> Hibernate.isInitialized(barberShop.getImages()));
+        assertThat(page.getContent()).allMatch(barberShop -> Hibernate.isInitialized(barberShop.getAddress()));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(SELECT_PAGE_COUNT_AND_IMAGES);
+    }
+
+    @Test
+    void shouldKeepTheNumberOfStatementsWhenListingAnotherPage() {
+        service.listAll(PageRequest.of(0, PAGE_SIZE));
+        var firstPageStatements = statistics.getPrepareStatementCount();
+        entityManager.clear();
+        statistics.clear();
+
+        service.listAll(PageRequest.of(1, PAGE_SIZE));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(firstPageStatements);
+    }
+
+    private void persistBarberShop(int images) {
+        var address = entityManager.persist(Address.builder()
+                .id(UUID.randomUUID())
+                .city("city")
+                .build());
+
+        var barberShop = entityManager.persist(BarberShop.builder()
+                .id(UUID.randomUUID())
+                .name("barber shop")
+                .address(address)
+                .build());
+
+        for (int i = 0; i < images; i++) {
+            entityManager.persist(Image.builder()
+                    .id(UUID.randomUUID())
+                    .url("https://www.teste.com/")
+                    .barberShop(barberShop)
+                    .build());
+        }
+    }
+}
@@ -1,10 +1,16 @@
 package br.com.blackbeard.blackbeardapi.service;
 
+import br.com.blackbeard.blackbeardapi.dtos.page.CursorPage;
+import br.com.blackbeard.blackbeardapi.dtos.page.PageCursor;
+import br.com.blackbeard.blackbeardapi.exceptions.ImageProcessingRejectedException;
 import br.com.blackbeard.blackbeardapi.exceptions.ObjectAlreadyCreatedException;
 import br.com.blackbeard.blackbeardapi.exceptions.ObjectNotFoundException;
 import br.com.blackbeard.blackbeardapi.models.Address;
 import br.com.blackbeard.blackbeardapi.models.BarberShop;
 import br.com.blackbeard.blackbeardapi.repositories.BarberShopRepository;
+import br.com.blackbeard.blackbeardapi.service.image.ImageDecoder;
+import br.com.blackbeard.blackbeardapi.service.image.ImageProcessingExecutor;
+import br.com.blackbeard.blackbeardapi.service.upload.UploadSpool;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,9 +23,16 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.mock.web.MockMultipartFile;
 
+import java.io.ByteArrayInputStream;
 import java.net.URI;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -35,7 +48,22 @@ class BarberShopServiceTest {
     private BarberShopRepository repository;
 
     @Mock
-    private S3Service s3Service;
+    private ImageStorageService imageStorageService;
+
+    @Mock
+    private ImageVariantService imageVariantService;
+
+    @Mock
+    private AsyncImageStorageService asyncImageStorageService;
+
+    @Mock
+    private ImageProcessingExecutor imageProcessingExecutor;
+
+    @Mock
+    private UploadSpool uploadSpool;
+
+    @Mock
+    private ImageDecoder imageDecoder;
 
     @Captor
     ArgumentCaptor<BarberShop> barberShopCaptor;
@@ -44,6 +72,10 @@ class BarberShopServiceTest {
 
     @BeforeEach
     void setup() {
+        lenient().when(imageProcessingExecutor.submit(any()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(
+                        invocation.<Callable<?>>getArgument(0).call()));
+
         var address = Address.builder()
                 .id(UUID.randomUUID())
                 .build();
@@ -63,6 +95,28 @@ class BarberShopServiceTest {
         verify(repository, times(1)).findById(barberShop.getId());
     }
 
+    @Test
+    void shouldFindABarberShopWithImagesById() {
+        when(repository.findWithImagesById(barberShop.getId())).thenReturn(Optional.of(barberShop));
+
+        var result = service.findByIdWithImages(barberShop.getId());
+
+        assertThat(result).isEqualTo(barberShop);
+        verify(repository, never()).findById(barberShop.getId());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenFindABarberShopWithImagesById() {
+        var barberShopId = barberShop.getId();
+
+        when(repository.findWithImagesById(barberShopId)).thenReturn(Optional.empty());
+
+        var exception = assertThrows(ObjectNotFoundException.class,
+                () -> service.findByIdWithImages(barberShopId));
+
+        assertThat(exception).hasMessage("Object not found");
+    }
+
     @Test
     void shouldThrowExceptionWhenFindABarberShopById() {
         var barberShopId = barberShop.getId();
@@ -101,6 +155,34 @@ class BarberShopServiceTest {
         verify(repository, times(1)).findAll(pageable);
     }
 
+    @Test
+    void shouldListFirstBarberShopPageWithoutCounting() {
+        var first = BarberShop.builder().id(UUID.randomUUID()).createdDate(LocalDateTime.now()).build();
+        var second = BarberShop.builder().id(UUID.randomUUID()).createdDate(LocalDateTime.now()).build();
+
+        when(repository.findFirstPage(CursorPage.pageable(1))).thenReturn(List.of(first, second));
+
+        var page = service.listAll(null, 1);
+
+        assertThat(page.getContent()).containsExactly(first);
+        assertThat(PageCursor.valueOf(page.getNextCursor()))
+                .isEqualTo(new PageCursor(first.getCreatedDate(), first.getId()));
+        verify(repository, never()).count();
+    }
+
+    @Test
+    void shouldListBarberShopPageAfterCursor() {
+        var cursor = new PageCursor(LocalDateTime.now(), UUID.randomUUID());
+
+        when(repository.findPageAfter(cursor.getCreatedDate(), cursor.getId(), CursorPage.pageable(20)))
+                .thenReturn(List.of(barberShop));
+
+        var page = service.listAll(cursor, 20);
+
+        assertThat(page.getContent()).containsExactly(barberShop);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
     @Test
     void shouldUpdateAnBarberShopById() {
         var persistedBarberShop = BarberShop.builder()
@@ -198,15 +280,100 @@ class BarberShopServiceTest {
                 "text/plain", "Spring Framework".getBytes());
 
         when(repository.findById(barberShopId)).thenReturn(Optional.of(barberShop));
-        when(s3Service.uploadFile(multipartFile, barberShop.getId().toString()))
-                .thenReturn(uri);
+        when(asyncImageStorageService.uploadFileAsync(any(), eq(multipartFile.getSize()), eq(barberShopId.toString())))
+                .thenReturn(CompletableFuture.completedFuture(uri));
 
         service.saveLogo(barberShopId, multipartFile);
 
         verify(repository).save(barberShopCaptor.capture());
+        verify(uploadSpool).write(any(UUID.class), eq(multipartFile));
+        verify(uploadSpool, never()).delete(any(UUID.class));
 
         assertThat(barberShopCaptor.getValue().getUrlLogo()).isEqualTo(uri.toString());
+        verify(imageVariantService).scheduleLogoVariants(eq(barberShopId), any(UUID.class));
+    }
+
+    @Test
+    void shouldRejectALogoWhenTheProcessingPoolIsFull() {
+        var multipartFile = new MockMultipartFile("file", "test.png",
+                "text/plain", "Spring Framework".getBytes());
+
+        doThrow(new ImageProcessingRejectedException()).when(imageProcessingExecutor).submit(any());
 
+        assertThrows(ImageProcessingRejectedException.class,
+                () -> service.saveLogo(UUID.randomUUID(), multipartFile));
+
+        var spoolId = ArgumentCaptor.forClass(UUID.class);
+        verify(uploadSpool).write(spoolId.capture(), eq(multipartFile));
+        verify(uploadSpool).delete(spoolId.getValue());
+        verifyNoInteractions(asyncImageStorageService, repository);
+    }
+
+    @Test
+    void shouldSaveALogoFromAStream() {
+        var barberShopId = UUID.randomUUID();
+        var barberShop = BarberShop.builder()
+                .id(barberShopId)
+                .build();
+        var uri = URI.create("https://www.teste.com/");
+        var inputStream = new ByteArrayInputStream("Spring Framework".getBytes());
+
+        when(uploadSpool.write(any(UUID.class), eq(inputStream))).thenReturn(16L);
+        when(repository.findById(barberShopId)).thenReturn(Optional.of(barberShop));
+        when(asyncImageStorageService.uploadFileAsync(any(), eq(16L), eq(barberShopId.toString())))
+                .thenReturn(CompletableFuture.completedFuture(uri));
+
+        var uriLogo = service.saveLogo(barberShopId, inputStream);
+
+        assertThat(uriLogo).isEqualTo(uri);
+        verify(imageDecoder).inspect(nullable(Path.class));
+        verify(repository).save(barberShopCaptor.capture());
+        assertThat(barberShopCaptor.getValue().getUrlLogo()).isEqualTo(uri.toString());
+        verify(imageVariantService).scheduleLogoVariants(eq(barberShopId), any(UUID.class));
+    }
+
+    @Test
+    void shouldRetireThePreviousLogoVariantsWhenTheLogoChanges() {
+        var barberShopId = UUID.randomUUID();
+        var previousVariants = Map.of("thumbnail", "https://www.teste.com/previous-thumbnail");
+        var barberShop = BarberShop.builder()
+                .id(barberShopId)
+                .urlLogo("https://www.teste.com/previous")
+                .logoVariants(previousVariants)
+                .build();
+        var uri = URI.create("https://www.teste.com/next");
+
+        var multipartFile = new MockMultipartFile("file", "test.png",
+                "text/plain", "Spring Framework".getBytes());
+
+        when(repository.findById(barberShopId)).thenReturn(Optional.of(barberShop));
+        when(asyncImageStorageService.uploadFileAsync(any(), eq(multipartFile.getSize()), eq(barberShopId.toString())))
+                .thenReturn(CompletableFuture.completedFuture(uri));
+
+        service.saveLogo(barberShopId, multipartFile);
+
+        var inOrder = inOrder(imageVariantService);
+        inOrder.verify(imageVariantService).deleteVariants(barberShopId.toString(), previousVariants);
+        inOrder.verify(imageVariantService).scheduleLogoVariants(eq(barberShopId), any(UUID.class));
+        verify(repository).save(barberShopCaptor.capture());
+        assertThat(barberShopCaptor.getValue().getUrlLogo()).isEqualTo(uri.toString());
+        assertThat(barberShopCaptor.getValue().getLogoVariants()).isNull();
+    }
+
+    @Test
+    void shouldUpdateTheLogoUrl() {
+        var barberShopId = UUID.randomUUID();
+        var barberShop = BarberShop.builder()
+                .id(barberShopId)
+                .build();
+        var uri = URI.create("https://www.teste.com/");
+
+        when(repository.findById(barberShopId)).thenReturn(Optional.of(barberShop));
+
+        service.updateLogo(barberShopId, uri);
+
+        verify(repository).save(barberShopCaptor.capture());
+        assertThat(barberShopCaptor.getValue().getUrlLogo()).isEqualTo(uri.toString());
     }
 
     @Test
@@ -215,9 +382,12 @@ class BarberShopServiceTest {
 
         var uri = URI.create("https://www.teste.com/");
 
+        var logoVariants = Map.of("thumbnail", uri + "-thumbnail");
+
         var barberShop = BarberShop.builder()
                 .id(barberShopId)
                 .urlLogo(uri.toString())
+                .logoVariants(logoVariants)
                 .build();
 
         when(repository.findById(barberShopId)).thenReturn(Optional.of(barberShop));
@@ -226,8 +396,26 @@ class BarberShopServiceTest {
 
         verify(repository).save(barberShopCaptor.capture());
 
-        verify(s3Service, times(1)).deleteFile(barberShopId);
+        verify(imageStorageService, times(1)).deleteFile(barberShopId);
+        verify(imageVariantService).deleteVariants(barberShopId.toString(), logoVariants);
 
         assertThat(barberShopCaptor.getValue().getUrlLogo()).isNull();
+        assertThat(barberShopCaptor.getValue().getLogoVariants()).isNull();
+    }
+
+    @Test
+    void shouldRemoveTheUploadedLogoWhenTheBarberShopDoesNotExist() {
+        var barberShopId = UUID.randomUUID();
+        var multipartFile = new MockMultipartFile("logo", "logo.png", "image/png", "Hello, World!".getBytes());
+
+        when(repository.findById(barberShopId)).thenReturn(Optional.empty());
+        when(asyncImageStorageService.uploadFileAsync(any(), anyLong(), eq(barberShopId.toString())))
+                .thenReturn(CompletableFuture.completedFuture(URI.create("https://www.teste.com/")));
+        when(asyncImageStorageService.deleteFileAsync(barberShopId)).thenReturn(CompletableFuture.completedFuture(null));
+
+        assertThrows(ObjectNotFoundException.class, () -> service.saveLogo(barberShopId, multipartFile));
+
+        verify(asyncImageStorageService).deleteFileAsync(barberShopId);
+        verify(repository, never()).save(any());
     }
 }
@@ -0,0 +1,113 @@
+package br.com.blackbeard.blackbeardapi.service;
+
+import br.com.blackbeard.blackbeardapi.exceptions.BarberShopImageLimitException;
+import br.com.blackbeard.blackbeardapi.exceptions.FileException;
+import br.com.blackbeard.blackbeardapi.service.upload.ImageImport;
+import br.com.blackbeard.blackbeardapi.service.upload.RemoteImageFetcher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImageImportServiceTest {
+
+    private ImageImportService service;
+
+    @Mock
+    private ImageService imageService;
+
+    @Mock
+    private RemoteImageFetcher remoteImageFetcher;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new ImageImportService(imageService, remoteImageFetcher, 4, meterRegistry);
+        lenient().when(remoteImageFetcher.fetch(any(URI.class), any())).thenAnswer(invocation -> {
+            Function<InputStream, URI> handler = invocation.getArgument(1);
+            return handler.apply(new ByteArrayInputStream(new byte[]{1, 2, 3}));
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void shouldReportTheResultOfEachImageInRequestOrder() {
+        var first = UUID.randomUUID();
+        var second = UUID.randomUUID();
+        var imports = List.of(
+                ImageImport.of(first, URI.create("https://old.site/1.png")),
+                ImageImport.of(second, URI.create("https://old.site/2.png")),
+                ImageImport.of(first, URI.create("https://old.site/3.png")));
+        when(imageService.saveImage(eq(first), any(InputStream.class)))
+                .thenReturn(URI.create("https://www.teste.com/1"))
+                .thenThrow(new BarberShopImageLimitException());
+        when(imageService.saveImage(eq(second), any(InputStream.class)))
+                .thenReturn(URI.create("https://www.teste.com/2"));
+
+        var results = service.importImages(imports);
+
+        assertThat(results).extracting(ImageImport::getSource)
+                .containsExactly(imports.get(0).getSource(), imports.get(1).getSource(), imports.get(2).getSource());
+        assertThat(results.get(0).getUri()).isEqualTo(URI.create("https://www.teste.com/1"));
+        assertThat(results.get(1).getUri()).isEqualTo(URI.create("https://www.teste.com/2"));
+        assertThat(results.get(2).isImported()).isFalse();
+        assertThat(results.get(2).getFailureReason()).isEqualTo(BarberShopImageLimitException.LIMIT_OF_IMAGES_EXCEEDED);
+        assertThat(meterRegistry.counter("image.import.imported").count()).isEqualTo(2.0);
+        assertThat(meterRegistry.counter("image.import.failed").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldImportTheImagesOfABarberShopInOrder() {
+        var barberShopId = UUID.randomUUID();
+        var first = URI.create("https://old.site/1.png");
+        var second = URI.create("https://old.site/2.png");
+        when(imageService.saveImage(eq(barberShopId), any(InputStream.class)))
+                .thenReturn(URI.create("https://www.teste.com/1"), URI.create("https://www.teste.com/2"));
+
+        service.importImages(List.of(ImageImport.of(barberShopId, first), ImageImport.of(barberShopId, second)));
+
+        InOrder inOrder = inOrder(remoteImageFetcher);
+        inOrder.verify(remoteImageFetcher).fetch(eq(first), any());
+        inOrder.verify(remoteImageFetcher).fetch(eq(second), any());
+    }
+
+    @Test
+    void shouldKeepImportingWhenADownloadFails() {
+        var barberShopId = UUID.randomUUID();
+        var missing = URI.create("https://old.site/missing.png");
+        var found = URI.create("https://old.site/found.png");
+        doThrow(FileException.errorToDownloadFile()).when(remoteImageFetcher).fetch(eq(missing), any());
+        when(imageService.saveImage(eq(barberShopId), any(InputStream.class)))
+                .thenReturn(URI.create("https://www.teste.com/found"));
+
+        var results = service.importImages(
+                List.of(ImageImport.of(barberShopId, missing), ImageImport.of(barberShopId, found)));
+
+        assertThat(results.get(0).getFailureReason()).isEqualTo(FileException.ERROR_TO_DOWNLOAD_FILE);
+        assertThat(results.get(1).isImported()).isTrue();
+        verify(imageService, times(1)).saveImage(eq(barberShopId), any(InputStream.class));
+    }
+}
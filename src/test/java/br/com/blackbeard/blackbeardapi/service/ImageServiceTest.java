@@ -2,22 +2,35 @@ package br.com.blackbeard.blackbeardapi.service;
 
 import br.com.blackbeard.blackbeardapi.exceptions.BarberShopImageException;
 import br.com.blackbeard.blackbeardapi.exceptions.BarberShopImageLimitException;
+import br.com.blackbeard.blackbeardapi.exceptions.FileException;
+import br.com.blackbeard.blackbeardapi.exceptions.ImageProcessingRejectedException;
 import br.com.blackbeard.blackbeardapi.exceptions.ObjectNotFoundException;
 import br.com.blackbeard.blackbeardapi.models.BarberShop;
 import br.com.blackbeard.blackbeardapi.models.Image;
+import br.com.blackbeard.blackbeardapi.models.UploadJob;
 import br.com.blackbeard.blackbeardapi.repositories.ImageRepository;
+import br.com.blackbeard.blackbeardapi.repositories.UploadJobRepository;
+import br.com.blackbeard.blackbeardapi.service.image.ImageDecoder;
+import br.com.blackbeard.blackbeardapi.service.image.ImageProcessingExecutor;
+import br.com.blackbeard.blackbeardapi.service.upload.UploadSpool;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
 import java.net.URI;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -40,9 +53,37 @@ class ImageServiceTest {
     @Mock
     private ImageStorageService imageStorageService;
 
+    @Mock
+    private AsyncImageStorageService asyncImageStorageService;
+
+    @Mock
+    private ImageProcessingExecutor imageProcessingExecutor;
+
+    @Mock
+    private UploadSpool uploadSpool;
+
+    @Mock
+    private ImageDecoder imageDecoder;
+
+    @Mock
+    private UploadJobRepository uploadJobRepository;
+
+    @Mock
+    private ImageVariantService imageVariantService;
+
     @Captor
     ArgumentCaptor<Image> imageCaptor;
 
+    @Captor
+    ArgumentCaptor<List<Image>> imagesCaptor;
+
+    @BeforeEach
+    void setup() {
+        lenient().when(imageProcessingExecutor.submit(any()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(
+                        invocation.<Callable<?>>getArgument(0).call()));
+    }
+
     @Test
     void shouldCreateAnImage() {
         var uri = URI.create("https://www.teste.com/");
@@ -66,17 +107,106 @@ class ImageServiceTest {
 
         when(barberShopService.findById(barberShop.getId())).thenReturn(barberShop);
 
-        when(service.createImage(barberShop)).thenReturn(image);
-
-        when(imageStorageService.uploadFile(multipartFile, image.getId().toString())).thenReturn(uri);
+        when(asyncImageStorageService.uploadFileAsync(any(), eq(multipartFile.getSize()), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(uri));
 
         var imageURI = service.saveImage(barberShop.getId(), multipartFile);
 
         verify(repository, times(1)).save(imageCaptor.capture());
 
+        var imageId = imageCaptor.getValue().getId();
         assertThat(uri).isEqualTo(imageURI);
         assertThat(imageCaptor.getValue().getUrl()).isEqualTo(imageURI.toString());
+        assertThat(imageCaptor.getValue().getBarberShop()).isEqualTo(barberShop);
+        verify(uploadSpool).write(imageId, multipartFile);
+        verify(asyncImageStorageService).uploadFileAsync(any(), eq(multipartFile.getSize()), eq(imageId.toString()));
+        verify(uploadSpool, never()).delete(imageId);
+        verify(imageVariantService).scheduleImageVariants(imageId, imageId);
+
+    }
+
+    @Test
+    void shouldRejectAnImageWhenTheProcessingPoolIsFull() {
+        var multipartFile = new MockMultipartFile("image", "image.png",
+                MediaType.IMAGE_PNG_VALUE, "Hello, World!".getBytes());
+
+        doThrow(new ImageProcessingRejectedException()).when(imageProcessingExecutor).submit(any());
+
+        assertThrows(ImageProcessingRejectedException.class,
+                () -> service.saveImage(UUID.randomUUID(), multipartFile));
+
+        var spoolId = ArgumentCaptor.forClass(UUID.class);
+        verify(uploadSpool).write(spoolId.capture(), eq(multipartFile));
+        verify(uploadSpool).delete(spoolId.getValue());
+        verifyNoInteractions(asyncImageStorageService, barberShopService, repository);
+    }
+
+    @Test
+    void shouldCreateAnImageFromAStream() {
+        var uri = URI.create("https://www.teste.com/");
+        var inputStream = new ByteArrayInputStream("Hello, World!".getBytes());
+        var barberShop = BarberShop.builder()
+                .id(UUID.randomUUID())
+                .build();
+
+        when(uploadSpool.write(any(UUID.class), eq(inputStream))).thenReturn(13L);
+        when(barberShopService.findById(barberShop.getId())).thenReturn(barberShop);
+        when(asyncImageStorageService.uploadFileAsync(any(), eq(13L), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(uri));
+
+        var imageURI = service.saveImage(barberShop.getId(), inputStream);
+
+        verify(repository).save(imageCaptor.capture());
+        var imageId = imageCaptor.getValue().getId();
+        assertThat(imageURI).isEqualTo(uri);
+        verify(uploadSpool).write(imageId, inputStream);
+        verify(imageDecoder).inspect(nullable(Path.class));
+        verify(imageVariantService).scheduleImageVariants(imageId, imageId);
+    }
+
+    @Test
+    void shouldDiscardTheSpooledStreamWhenItIsNotAValidImage() {
+        var inputStream = new ByteArrayInputStream("Hello, World!".getBytes());
+
+        when(imageDecoder.inspect(nullable(Path.class))).thenThrow(FileException.invalidImageFormat());
+
+        assertThrows(FileException.class, () -> service.saveImage(UUID.randomUUID(), inputStream));
+
+        verify(uploadSpool).delete(any(UUID.class));
+        verifyNoInteractions(asyncImageStorageService, repository);
+    }
 
+    @Test
+    void shouldCountPendingUploadsTowardsTheImageLimit() {
+        var barberShop = BarberShop.builder()
+                .id(UUID.randomUUID())
+                .build();
+
+        when(repository.findAllByBarberShopId(barberShop.getId()))
+                .thenReturn(List.of(new Image(), new Image(), new Image()));
+        when(uploadJobRepository.countInFlight(
+                eq(barberShop.getId()), eq(UploadJob.Target.IMAGE), eq(UploadJob.Status.PENDING), any()))
+                .thenReturn(2L);
+
+        assertThrows(BarberShopImageLimitException.class, () -> service.checkImageLimit(barberShop));
+    }
+
+    @Test
+    void shouldRegisterAnUploadedImage() {
+        var barberShop = BarberShop.builder()
+                .id(UUID.randomUUID())
+                .build();
+        var imageId = UUID.randomUUID();
+        var uri = URI.create("https://www.teste.com/");
+
+        when(barberShopService.findById(barberShop.getId())).thenReturn(barberShop);
+
+        service.registerImage(barberShop.getId(), imageId, uri);
+
+        verify(repository).save(imageCaptor.capture());
+        assertThat(imageCaptor.getValue().getId()).isEqualTo(imageId);
+        assertThat(imageCaptor.getValue().getUrl()).isEqualTo(uri.toString());
+        assertThat(imageCaptor.getValue().getBarberShop()).isEqualTo(barberShop);
     }
 
     @Test
@@ -138,10 +268,10 @@ class ImageServiceTest {
         when(barberShopService.findById(barberShop.getId())).thenReturn(barberShop);
         when(repository.findById(imageId)).thenReturn(Optional.of(image));
 
-
         service.deleteImage(barberShop.getId(), imageId);
 
         verify(imageStorageService, times(1)).deleteFile(image.getId());
+        verify(imageVariantService).deleteVariants(image.getId().toString(), image.getVariants());
         verify(repository, times(1)).delete(image);
     }
 
@@ -199,14 +329,87 @@ class ImageServiceTest {
         when(barberShopService.findById(barberShopID)).thenReturn(barberShop);
         when(repository.findAllByBarberShopId(barberShop.getId()))
                 .thenReturn(listImage);
+        when(asyncImageStorageService.uploadFileAsync(any(), anyLong(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(URI.create("https://www.teste.com/")));
+        when(asyncImageStorageService.deleteFileAsync(any(UUID.class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
 
         var exception = assertThrows(BarberShopImageLimitException.class,
                 () -> service.saveImage(barberShopID, multipartFile));
 
         assertThat(exception).hasMessage("limit of images exceeded");
+        verify(asyncImageStorageService).deleteFileAsync(any(UUID.class));
+        verify(repository, never()).save(any());
     }
 
-}
+    @Test
+    void shouldCreateABatchOfImagesWithASingleInsert() {
+        var barberShop = BarberShop.builder()
+                .id(UUID.randomUUID())
+                .build();
+        var first = new MockMultipartFile("images", "first.png", MediaType.IMAGE_PNG_VALUE, "first".getBytes());
+        var second = new MockMultipartFile("images", "second.png", MediaType.IMAGE_PNG_VALUE, "second".getBytes());
 
+        when(barberShopService.findById(barberShop.getId())).thenReturn(barberShop);
+        when(repository.findAllByBarberShopId(barberShop.getId())).thenReturn(singletonList(new Image()));
+        when(asyncImageStorageService.uploadFileAsync(any(), anyLong(), anyString()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(
+                        URI.create("https://www.teste.com/" + invocation.getArgument(2))));
+
+        var uris = service.saveImages(barberShop.getId(), List.of(first, second));
+
+        verify(repository).saveAll(imagesCaptor.capture());
+        verify(repository, times(1)).findAllByBarberShopId(barberShop.getId());
+        verify(repository, never()).save(any());
+
+        var images = imagesCaptor.getValue();
+        assertThat(images).hasSize(2);
+        assertThat(images).allMatch(image -> image.getBarberShop().equals(barberShop));
+        assertThat(uris).containsExactly(URI.create(images.get(0).getUrl()), URI.create(images.get(1).getUrl()));
+        verify(imageDecoder).inspect(first);
+        verify(imageDecoder).inspect(second);
+        verify(uploadSpool).write(images.get(0).getId(), first);
+        verify(uploadSpool).write(images.get(1).getId(), second);
+        verify(uploadSpool, never()).delete(any(UUID.class));
+        verify(imageVariantService).scheduleImageVariants(images.get(0).getId(), images.get(0).getId());
+        verify(imageVariantService).scheduleImageVariants(images.get(1).getId(), images.get(1).getId());
+        verify(imageVariantService, never()).scheduleImageVariants(any(UUID.class), any(MultipartFile.class));
+    }
 
+    @Test
+    void shouldDiscardTheUploadedBatchWhenItExceedsTheImageLimit() {
+        var barberShop = BarberShop.builder()
+                .id(UUID.randomUUID())
+                .build();
+        var multipartFile = new MockMultipartFile("images", "image.png", MediaType.IMAGE_PNG_VALUE, "image".getBytes());
 
+        when(barberShopService.findById(barberShop.getId())).thenReturn(barberShop);
+        when(repository.findAllByBarberShopId(barberShop.getId()))
+                .thenReturn(List.of(new Image(), new Image(), new Image(), new Image()));
+        when(asyncImageStorageService.uploadFileAsync(any(), anyLong(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(URI.create("https://www.teste.com/")));
+        when(asyncImageStorageService.deleteFileAsync(any(UUID.class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        assertThrows(BarberShopImageLimitException.class,
+                () -> service.saveImages(barberShop.getId(), List.of(multipartFile, multipartFile)));
+
+        verify(asyncImageStorageService, times(2)).deleteFileAsync(any(UUID.class));
+        verify(uploadSpool, times(2)).delete(any(UUID.class));
+        verify(repository, never()).saveAll(any());
+    }
+
+    @Test
+    void shouldRejectABatchLargerThanTheImageLimitBeforeUploading() {
+        var multipartFile = new MockMultipartFile("images", "image.png", MediaType.IMAGE_PNG_VALUE, "image".getBytes());
+        var multipartFiles = new ArrayList<MultipartFile>();
+        for (int i = 0; i <= 5; i++) {
+            multipartFiles.add(multipartFile);
+        }
+
+        assertThrows(BarberShopImageLimitException.class,
+                () -> service.saveImages(UUID.randomUUID(), multipartFiles));
+
+        verifyNoInteractions(asyncImageStorageService, uploadSpool, barberShopService);
+    }
+}
@@ -0,0 +1,114 @@
+package br.com.blackbeard.blackbeardapi.service;
+
+import br.com.blackbeard.blackbeardapi.exceptions.ObjectNotFoundException;
+import br.com.blackbeard.blackbeardapi.service.storage.StorageObjectDeletedEvent;
+import br.com.blackbeard.blackbeardapi.service.storage.StoredObject;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ImageServingServiceTest {
+
+    private static final byte[] CONTENT = {1, 2, 3, 4};
+    private static final String KEY = "abc123";
+
+    @Mock
+    private ImageStorageService imageStorageService;
+
+    private final AtomicInteger reads = new AtomicInteger();
+
+    private ImageServingService service;
+
+    @BeforeEach
+    void setup() {
+        service = new ImageServingService(imageStorageService, DataSize.ofKilobytes(1), DataSize.ofBytes(16),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void shouldKeepSmallImmutableObjectsInMemory() throws Exception {
+        when(imageStorageService.findFile(KEY)).thenReturn(Optional.of(remote(KEY, CONTENT.length)));
+
+        service.find(KEY);
+        var storedObject = service.find(KEY);
+
+        verify(imageStorageService, times(1)).findFile(KEY);
+        assertThat(reads).hasValue(1);
+        try (var inputStream = storedObject.open(1, 2)) {
+            assertThat(inputStream.readAllBytes()).containsExactly(2, 3);
+        }
+    }
+
+    @Test
+    void shouldNotCacheObjectsLargerThanTheEntryLimit() {
+        when(imageStorageService.findFile(KEY)).thenReturn(Optional.of(remote(KEY, 32)));
+
+        service.find(KEY);
+        service.find(KEY);
+
+        verify(imageStorageService, times(2)).findFile(KEY);
+        assertThat(reads).hasValue(0);
+    }
+
+    @Test
+    void shouldNotCacheNamesThatCanPointToOtherContent() {
+        when(imageStorageService.findFile("logo")).thenReturn(Optional.of(remote(KEY, CONTENT.length)));
+
+        service.find("logo");
+        service.find("logo");
+
+        verify(imageStorageService, times(2)).findFile("logo");
+    }
+
+    @Test
+    void shouldNotCacheLocalFiles() {
+        var local = new StoredObject(KEY, CONTENT.length, "image/png", Path.of(KEY), null);
+        when(imageStorageService.findFile(KEY)).thenReturn(Optional.of(local));
+
+        assertThat(service.find(KEY)).isSameAs(local);
+        service.find(KEY);
+
+        verify(imageStorageService, times(2)).findFile(KEY);
+    }
+
+    @Test
+    void shouldEvictDeletedObjects() {
+        when(imageStorageService.findFile(KEY)).thenReturn(Optional.of(remote(KEY, CONTENT.length)));
+
+        service.find(KEY);
+        service.evict(new StorageObjectDeletedEvent(KEY));
+        service.find(KEY);
+
+        verify(imageStorageService, times(2)).findFile(KEY);
+    }
+
+    @Test
+    void shouldThrowWhenTheObjectDoesNotExist() {
+        when(imageStorageService.findFile("missing")).thenReturn(Optional.empty());
+
+        assertThrows(ObjectNotFoundException.class, () -> service.find("missing"));
+    }
+
+    private StoredObject remote(String key, long contentLength) {
+        return new StoredObject(key, contentLength, "image/png", null, (start, end) -> {
+            reads.incrementAndGet();
+            return new ByteArrayInputStream(CONTENT);
+        });
+    }
+}
@@ -0,0 +1,222 @@
+package br.com.blackbeard.blackbeardapi.service;
+
+import br.com.blackbeard.blackbeardapi.exceptions.ImageProcessingRejectedException;
+import br.com.blackbeard.blackbeardapi.models.BarberShop;
+import br.com.blackbeard.blackbeardapi.models.Image;
+import br.com.blackbeard.blackbeardapi.repositories.BarberShopRepository;
+import br.com.blackbeard.blackbeardapi.repositories.ImageRepository;
+import br.com.blackbeard.blackbeardapi.service.image.ImageFormat;
+import br.com.blackbeard.blackbeardapi.service.image.ImageProcessingExecutor;
+import br.com.blackbeard.blackbeardapi.service.image.ImageVariant;
+import br.com.blackbeard.blackbeardapi.service.image.ImageVariantGenerator;
+import br.com.blackbeard.blackbeardapi.service.upload.UploadSpool;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImageVariantServiceTest {
+
+    private static final byte[] CONTENT = {1, 2, 3};
+
+    private ImageVariantService service;
+
+    @Mock
+    private ImageVariantGenerator imageVariantGenerator;
+
+    @Mock
+    private ImageStorageService imageStorageService;
+
+    @Mock
+    private ImageProcessingExecutor imageProcessingExecutor;
+
+    @Mock
+    private UploadSpool uploadSpool;
+
+    @Mock
+    private ImageRepository imageRepository;
+
+    @Mock
+    private BarberShopRepository barberShopRepository;
+
+    @Captor
+    private ArgumentCaptor<Image> imageCaptor;
+
+    @Captor
+    private ArgumentCaptor<BarberShop> barberShopCaptor;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new ImageVariantService(imageVariantGenerator, imageStorageService, imageProcessingExecutor,
+                uploadSpool, imageRepository, barberShopRepository, meterRegistry);
+    }
+
+    @Test
+    void shouldStoreEveryVariantUnderItsDerivedKey() throws IOException {
+        var image = Image.builder().id(UUID.randomUUID()).build();
+        var spoolId = UUID.randomUUID();
+        InputStream inputStream = new ByteArrayInputStream(CONTENT);
+
+        when(imageVariantGenerator.isEnabled()).thenReturn(true);
+        when(uploadSpool.open(spoolId)).thenReturn(inputStream);
+        when(imageVariantGenerator.generate(inputStream)).thenReturn(List.of(
+                new ImageVariant("thumbnail", ImageFormat.PNG, CONTENT),
+                new ImageVariant("medium", ImageFormat.PNG, CONTENT)));
+        when(imageStorageService.uploadEncodedFile(any(InputStream.class), eq((long) CONTENT.length), eq(image.getId() + "-thumbnail")))
+                .thenReturn(URI.create("https://www.teste.com/" + image.getId() + "-thumbnail"));
+        when(imageStorageService.uploadEncodedFile(any(InputStream.class), eq((long) CONTENT.length), eq(image.getId() + "-medium")))
+                .thenReturn(URI.create("https://www.teste.com/" + image.getId() + "-medium"));
+        when(imageRepository.findById(image.getId())).thenReturn(Optional.of(image));
+
+        service.generateImageVariants(image.getId(), spoolId);
+
+        verify(imageRepository).save(imageCaptor.capture());
+        assertThat(imageCaptor.getValue().getVariants()).containsExactly(
+                Map.entry("thumbnail", "https://www.teste.com/" + image.getId() + "-thumbnail"),
+                Map.entry("medium", "https://www.teste.com/" + image.getId() + "-medium"));
+    }
+
+    @Test
+    void shouldStoreLogoVariantsOnTheBarberShop() throws IOException {
+        var barberShop = BarberShop.builder().id(UUID.randomUUID()).build();
+        var spoolId = UUID.randomUUID();
+        InputStream inputStream = new ByteArrayInputStream(CONTENT);
+
+        when(imageVariantGenerator.isEnabled()).thenReturn(true);
+        when(uploadSpool.open(spoolId)).thenReturn(inputStream);
+        when(imageVariantGenerator.generate(inputStream))
+                .thenReturn(List.of(new ImageVariant("thumbnail", ImageFormat.JPEG, CONTENT)));
+        when(imageStorageService.uploadEncodedFile(any(InputStream.class), anyLong(), eq(barberShop.getId() + "-thumbnail")))
+                .thenReturn(URI.create("https://www.teste.com/logo-thumbnail"));
+        when(barberShopRepository.findById(barberShop.getId())).thenReturn(Optional.of(barberShop));
+
+        service.generateLogoVariants(barberShop.getId(), spoolId);
+
+        verify(barberShopRepository).save(barberShopCaptor.capture());
+        assertThat(barberShopCaptor.getValue().getLogoVariants())
+                .containsEntry("thumbnail", "https://www.teste.com/logo-thumbnail");
+    }
+
+    @Test
+    void shouldCountAFailureInsteadOfThrowing() throws IOException {
+        var imageId = UUID.randomUUID();
+        var spoolId = UUID.randomUUID();
+
+        when(imageVariantGenerator.isEnabled()).thenReturn(true);
+        when(uploadSpool.open(spoolId)).thenThrow(new IOException());
+
+        service.generateImageVariants(imageId, spoolId);
+
+        verifyNoInteractions(imageRepository, imageStorageService);
+        assertThat(meterRegistry.get("image.variants.failed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldSpoolAndGenerateVariantsInTheBackground() throws Exception {
+        var imageId = UUID.randomUUID();
+        var multipartFile = new MockMultipartFile("image", "image.png", MediaType.IMAGE_PNG_VALUE, CONTENT);
+
+        when(imageVariantGenerator.isEnabled()).thenReturn(true);
+        when(uploadSpool.open(any())).thenReturn(new ByteArrayInputStream(CONTENT));
+        when(imageVariantGenerator.generate(any(InputStream.class))).thenReturn(List.of());
+        when(imageProcessingExecutor.submit(any()))
+                .thenAnswer(invocation -> {
+                    invocation.<Callable<?>>getArgument(0).call();
+                    return null;
+                });
+
+        service.scheduleImageVariants(imageId, multipartFile);
+
+        verify(uploadSpool).write(any(UUID.class), eq(multipartFile));
+        verify(imageVariantGenerator).generate(any(InputStream.class));
+        verify(uploadSpool).delete(any(UUID.class));
+    }
+
+    @Test
+    void shouldTakeOverAnAlreadySpooledUpload() throws Exception {
+        var imageId = UUID.randomUUID();
+        var spoolId = UUID.randomUUID();
+
+        when(imageVariantGenerator.isEnabled()).thenReturn(true);
+        when(uploadSpool.open(spoolId)).thenReturn(new ByteArrayInputStream(CONTENT));
+        when(imageVariantGenerator.generate(any(InputStream.class))).thenReturn(List.of());
+        when(imageProcessingExecutor.submit(any()))
+                .thenAnswer(invocation -> {
+                    invocation.<Callable<?>>getArgument(0).call();
+                    return null;
+                });
+
+        service.scheduleImageVariants(imageId, spoolId);
+
+        verify(uploadSpool, never()).write(any(UUID.class), any(MultipartFile.class));
+        verify(imageVariantGenerator).generate(any(InputStream.class));
+        verify(uploadSpool).delete(spoolId);
+    }
+
+    @Test
+    void shouldDeleteATakenOverSpoolWhenVariantsAreDisabled() {
+        var spoolId = UUID.randomUUID();
+
+        service.scheduleLogoVariants(UUID.randomUUID(), spoolId);
+
+        verify(uploadSpool).delete(spoolId);
+        verifyNoInteractions(imageProcessingExecutor);
+    }
+
+    @Test
+    void shouldSkipVariantsWhenTheExecutorIsSaturated() {
+        var multipartFile = new MockMultipartFile("image", "image.png", MediaType.IMAGE_PNG_VALUE, CONTENT);
+
+        when(imageVariantGenerator.isEnabled()).thenReturn(true);
+        when(imageProcessingExecutor.submit(any())).thenThrow(new ImageProcessingRejectedException());
+
+        service.scheduleLogoVariants(UUID.randomUUID(), multipartFile);
+
+        verify(uploadSpool).delete(any(UUID.class));
+        assertThat(meterRegistry.get("image.variants.failed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotSpoolWhenVariantsAreDisabled() {
+        var multipartFile = new MockMultipartFile("image", "image.png", MediaType.IMAGE_PNG_VALUE, CONTENT);
+
+        service.scheduleImageVariants(UUID.randomUUID(), multipartFile);
+
+        verifyNoInteractions(uploadSpool, imageProcessingExecutor);
+    }
+
+    @Test
+    void shouldDeleteEveryVariant() {
+        service.deleteVariants("key", Map.of("thumbnail", "a", "medium", "b"));
+
+        verify(imageStorageService).deleteFile("key-thumbnail");
+        verify(imageStorageService).deleteFile("key-medium");
+    }
+}
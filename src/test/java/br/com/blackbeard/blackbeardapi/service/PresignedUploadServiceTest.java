@@ -0,0 +1,308 @@
+package br.com.blackbeard.blackbeardapi.service;
+
+import br.com.blackbeard.blackbeardapi.exceptions.BarberShopImageException;
+import br.com.blackbeard.blackbeardapi.exceptions.BarberShopImageLimitException;
+import br.com.blackbeard.blackbeardapi.exceptions.FileException;
+import br.com.blackbeard.blackbeardapi.models.BarberShop;
+import br.com.blackbeard.blackbeardapi.models.Image;
+import br.com.blackbeard.blackbeardapi.models.UploadJob;
+import br.com.blackbeard.blackbeardapi.repositories.UploadJobRepository;
+import br.com.blackbeard.blackbeardapi.service.image.ImageDecoder;
+import br.com.blackbeard.blackbeardapi.service.image.ImageEncoder;
+import br.com.blackbeard.blackbeardapi.service.image.ImageFormat;
+import br.com.blackbeard.blackbeardapi.service.image.ImageHeader;
+import br.com.blackbeard.blackbeardapi.service.storage.ContentAddressedStorageService;
+import br.com.blackbeard.blackbeardapi.service.storage.StoredObject;
+import br.com.blackbeard.blackbeardapi.service.upload.UploadSpool;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.S3Object;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.URL;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PresignedUploadServiceTest {
+
+    private static final String BUCKET = "bucket";
+    private static final long MAX_CONTENT_LENGTH = 1024;
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    private PresignedUploadService service;
+
+    @Mock
+    private AmazonS3 s3;
+
+    @Mock
+    private UploadJobRepository repository;
+
+    @Mock
+    private ImageService imageService;
+
+    @Mock
+    private BarberShopService barberShopService;
+
+    @Mock
+    private ContentAddressedStorageService contentAddressedStorageService;
+
+    @Mock
+    private ImageVariantService imageVariantService;
+
+    @Mock
+    private UploadSpool uploadSpool;
+
+    @Mock
+    private ImageDecoder imageDecoder;
+
+    @Mock
+    private ImageEncoder imageEncoder;
+
+    @Captor
+    private ArgumentCaptor<GeneratePresignedUrlRequest> presignCaptor;
+
+    private BarberShop barberShop;
+
+    @BeforeEach
+    void setup() {
+        service = new PresignedUploadService(s3, BUCKET, Duration.ofMinutes(5), MAX_CONTENT_LENGTH,
+                repository, imageService, barberShopService, contentAddressedStorageService, imageVariantService,
+                uploadSpool, imageDecoder, imageEncoder);
+        barberShop = BarberShop.builder()
+                .id(UUID.randomUUID())
+                .build();
+    }
+
+    @Test
+    void shouldSignAPutRestrictedToTheDeclaredTypeAndSize() throws Exception {
+        when(barberShopService.findById(barberShop.getId())).thenReturn(barberShop);
+        when(repository.save(any(UploadJob.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(s3.generatePresignedUrl(any(GeneratePresignedUrlRequest.class)))
+                .thenReturn(new URL("https://bucket.s3.amazonaws.com/key?X-Amz-Signature=abc"));
+
+        var presignedUpload = service.create(barberShop.getId(), "image/png", 512);
+
+        verify(imageService).checkImageLimit(barberShop);
+        verify(s3).generatePresignedUrl(presignCaptor.capture());
+        var request = presignCaptor.getValue();
+        assertThat(request.getKey()).isEqualTo(presignedUpload.getUploadJob().getId().toString());
+        assertThat(request.getContentType()).isEqualTo("image/png");
+        assertThat(request.getCustomRequestHeaders()).containsEntry("Content-Length", "512");
+        assertThat(request.getCustomRequestHeaders())
+                .containsEntry("Cache-Control", StoredObject.IMMUTABLE_CACHE_CONTROL);
+        assertThat(presignedUpload.getHeaders()).containsEntry("Content-Type", "image/png");
+        assertThat(presignedUpload.getHeaders())
+                .containsEntry("Cache-Control", StoredObject.IMMUTABLE_CACHE_CONTROL);
+        assertThat(presignedUpload.getUploadJob().getExpiresAt()).isAfter(LocalDateTime.now());
+    }
+
+    @Test
+    void shouldNotSignUploadsOverTheSizeLimit() {
+        assertThrows(FileException.class, () -> service.create(barberShop.getId(), "image/png", MAX_CONTENT_LENGTH + 1));
+
+        verifyNoInteractions(s3, repository);
+    }
+
+    @Test
+    void shouldNotSignUnsupportedContentTypes() {
+        assertThrows(FileException.class, () -> service.create(barberShop.getId(), "application/pdf", 512));
+
+        verifyNoInteractions(s3, repository);
+    }
+
+    @Test
+    void shouldNotSignWhenTheImageLimitIsReached() {
+        when(barberShopService.findById(barberShop.getId())).thenReturn(barberShop);
+        doThrow(new BarberShopImageLimitException()).when(imageService).checkImageLimit(barberShop);
+
+        assertThrows(BarberShopImageLimitException.class, () -> service.create(barberShop.getId(), "image/png", 512));
+
+        verifyNoInteractions(s3);
+    }
+
+    @Test
+    void shouldRegisterTheImageWhenTheUploadIsValid() throws Exception {
+        var uploadJob = directJob(LocalDateTime.now().plusMinutes(1));
+        var key = uploadJob.getId().toString();
+        var url = new URL("https://bucket.s3.amazonaws.com/" + key);
+        var image = Image.builder().id(uploadJob.getId()).url(url.toString()).build();
+
+        when(repository.findLockedById(uploadJob.getId())).thenReturn(Optional.of(uploadJob));
+        uploaded(key, ImageFormat.PNG);
+        when(s3.getUrl(BUCKET, key)).thenReturn(url);
+        when(contentAddressedStorageService.adopt(key, url.toURI(), PNG.length)).thenReturn(url.toURI());
+        when(imageService.registerImage(barberShop.getId(), uploadJob.getId(), url.toURI())).thenReturn(image);
+
+        var result = service.complete(uploadJob.getId());
+
+        assertThat(result).isEqualTo(image);
+        assertThat(uploadJob.getStatus()).isEqualTo(UploadJob.Status.COMPLETED);
+        verify(uploadSpool).write(eq(uploadJob.getId()), eq(0L), any(), eq((long) PNG.length));
+        verify(imageVariantService).scheduleImageVariants(image.getId(), uploadJob.getId());
+        verify(uploadSpool, never()).delete(uploadJob.getId());
+        verify(s3, never()).deleteObject(BUCKET, key);
+    }
+
+    @Test
+    void shouldStoreTheReencodedImageWhenEncodingIsEnabled() throws Exception {
+        var uploadJob = directJob(LocalDateTime.now().plusMinutes(1));
+        var key = uploadJob.getId().toString();
+        var url = URI.create("https://bucket.s3.amazonaws.com/dffd6021bb2bd5b0af676290809ec3a5");
+        var image = Image.builder().id(uploadJob.getId()).url(url.toString()).build();
+
+        when(repository.findLockedById(uploadJob.getId())).thenReturn(Optional.of(uploadJob));
+        uploaded(key, ImageFormat.PNG);
+        when(imageEncoder.isEnabled()).thenReturn(true);
+        when(uploadSpool.open(uploadJob.getId())).thenReturn(new ByteArrayInputStream(PNG));
+        when(contentAddressedStorageService.uploadFile(any(), eq((long) PNG.length), eq(key))).thenReturn(url);
+        when(imageService.registerImage(barberShop.getId(), uploadJob.getId(), url)).thenReturn(image);
+
+        service.complete(uploadJob.getId());
+
+        verify(contentAddressedStorageService, never()).adopt(any(), any(), anyLong());
+        verify(s3).deleteObject(BUCKET, key);
+        verify(imageVariantService).scheduleImageVariants(image.getId(), uploadJob.getId());
+        assertThat(uploadJob.getUrl()).isEqualTo(url.toString());
+    }
+
+    @Test
+    void shouldRejectAnUploadWhoseBytesAreNotTheDeclaredImage() {
+        var uploadJob = directJob(LocalDateTime.now().plusMinutes(1));
+        var key = uploadJob.getId().toString();
+
+        when(repository.findLockedById(uploadJob.getId())).thenReturn(Optional.of(uploadJob));
+        uploaded(key, ImageFormat.JPEG);
+
+        assertThrows(FileException.class, () -> service.complete(uploadJob.getId()));
+
+        verify(s3).deleteObject(BUCKET, key);
+        verify(uploadSpool).delete(uploadJob.getId());
+        verify(imageService, never()).registerImage(any(), any(), any());
+        assertThat(uploadJob.getStatus()).isEqualTo(UploadJob.Status.FAILED);
+    }
+
+    @Test
+    void shouldRejectAnUploadWhoseHeaderIsOverTheLimits() {
+        var uploadJob = directJob(LocalDateTime.now().plusMinutes(1));
+        var key = uploadJob.getId().toString();
+
+        when(repository.findLockedById(uploadJob.getId())).thenReturn(Optional.of(uploadJob));
+        when(s3.getObjectMetadata(BUCKET, key)).thenReturn(metadata(PNG.length, "image/png"));
+        when(s3.getObject(BUCKET, key)).thenReturn(object(PNG));
+        when(uploadSpool.path(uploadJob.getId())).thenReturn(Path.of(key));
+        when(imageDecoder.inspect(Path.of(key))).thenThrow(FileException.imageTooLarge());
+
+        var exception = assertThrows(FileException.class, () -> service.complete(uploadJob.getId()));
+
+        assertThat(exception).hasMessage(FileException.IMAGE_TOO_LARGE);
+        verify(s3).deleteObject(BUCKET, key);
+        verify(uploadSpool).delete(uploadJob.getId());
+        verifyNoInteractions(contentAddressedStorageService, imageVariantService);
+        assertThat(uploadJob.getStatus()).isEqualTo(UploadJob.Status.FAILED);
+    }
+
+    @Test
+    void shouldRejectAnUploadWithAnotherSize() {
+        var uploadJob = directJob(LocalDateTime.now().plusMinutes(1));
+        var key = uploadJob.getId().toString();
+
+        when(repository.findLockedById(uploadJob.getId())).thenReturn(Optional.of(uploadJob));
+        when(s3.getObjectMetadata(BUCKET, key)).thenReturn(metadata(PNG.length + 1, "image/png"));
+
+        assertThrows(FileException.class, () -> service.complete(uploadJob.getId()));
+
+        verify(s3).deleteObject(BUCKET, key);
+    }
+
+    @Test
+    void shouldRejectAnExpiredUpload() {
+        var uploadJob = directJob(LocalDateTime.now().minusSeconds(1));
+
+        when(repository.findLockedById(uploadJob.getId())).thenReturn(Optional.of(uploadJob));
+
+        var exception = assertThrows(BarberShopImageException.class, () -> service.complete(uploadJob.getId()));
+
+        assertThat(exception).hasMessage(BarberShopImageException.UPLOAD_EXPIRED);
+        assertThat(uploadJob.getStatus()).isEqualTo(UploadJob.Status.FAILED);
+    }
+
+    @Test
+    void shouldReturnTheRegisteredImageWhenCompletedAgain() {
+        var uploadJob = directJob(LocalDateTime.now().plusMinutes(1));
+        uploadJob.complete(URI.create("https://www.teste.com/"));
+        var image = Image.builder().id(uploadJob.getId()).url("https://www.teste.com/").build();
+
+        when(repository.findLockedById(uploadJob.getId())).thenReturn(Optional.of(uploadJob));
+        when(imageService.findById(uploadJob.getId())).thenReturn(image);
+
+        var result = service.complete(uploadJob.getId());
+
+        assertThat(result).isEqualTo(image);
+        verifyNoInteractions(s3, contentAddressedStorageService);
+        verify(imageService, never()).registerImage(any(), any(), any());
+    }
+
+    @Test
+    void shouldNotCompleteAFailedUpload() {
+        var uploadJob = directJob(LocalDateTime.now().plusMinutes(1));
+        uploadJob.fail(FileException.IMAGE_FORMAT_ERROR_MESSAGE);
+
+        when(repository.findLockedById(uploadJob.getId())).thenReturn(Optional.of(uploadJob));
+
+        assertThrows(BarberShopImageException.class, () -> service.complete(uploadJob.getId()));
+
+        verifyNoInteractions(s3);
+    }
+
+    private UploadJob directJob(LocalDateTime expiresAt) {
+        return UploadJob.builder()
+                .id(UUID.randomUUID())
+                .barberShopId(barberShop.getId())
+                .target(UploadJob.Target.IMAGE)
+                .status(UploadJob.Status.PENDING)
+                .contentType("image/png")
+                .contentLength(PNG.length)
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    private void uploaded(String key, ImageFormat format) {
+        when(s3.getObjectMetadata(BUCKET, key)).thenReturn(metadata(PNG.length, "image/png"));
+        when(s3.getObject(BUCKET, key)).thenReturn(object(PNG));
+        when(uploadSpool.path(UUID.fromString(key))).thenReturn(Path.of(key));
+        when(imageDecoder.inspect(Path.of(key))).thenReturn(new ImageHeader(format, 1, 1, 32));
+    }
+
+    private ObjectMetadata metadata(long contentLength, String contentType) {
+        var metadata = new ObjectMetadata();
+        metadata.setContentLength(contentLength);
+        metadata.setContentType(contentType);
+        return metadata;
+    }
+
+    private S3Object object(byte[] content) {
+        var object = new S3Object();
+        object.setObjectContent(new ByteArrayInputStream(content));
+        return object;
+    }
+}
@@ -0,0 +1,262 @@
+package br.com.blackbeard.blackbeardapi.service;
+
+import br.com.blackbeard.blackbeardapi.exceptions.BarberShopImageException;
+import br.com.blackbeard.blackbeardapi.exceptions.BarberShopImageLimitException;
+import br.com.blackbeard.blackbeardapi.exceptions.FileException;
+import br.com.blackbeard.blackbeardapi.exceptions.ObjectNotFoundException;
+import br.com.blackbeard.blackbeardapi.models.BarberShop;
+import br.com.blackbeard.blackbeardapi.models.Image;
+import br.com.blackbeard.blackbeardapi.models.UploadJob;
+import br.com.blackbeard.blackbeardapi.repositories.UploadJobRepository;
+import br.com.blackbeard.blackbeardapi.service.image.ImageDecoder;
+import br.com.blackbeard.blackbeardapi.service.image.ImageFormat;
+import br.com.blackbeard.blackbeardapi.service.image.ImageHeader;
+import br.com.blackbeard.blackbeardapi.service.upload.UploadSpool;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ResumableUploadServiceTest {
+
+    private static final long CONTENT_LENGTH = 1024;
+    private static final DataSize MAX_CONTENT_LENGTH = DataSize.ofKilobytes(5);
+
+    private ResumableUploadService service;
+
+    @Mock
+    private UploadJobRepository repository;
+
+    @Mock
+    private ImageService imageService;
+
+    @Mock
+    private BarberShopService barberShopService;
+
+    @Mock
+    private ImageVariantService imageVariantService;
+
+    @Mock
+    private AsyncImageStorageService asyncImageStorageService;
+
+    @Mock
+    private UploadSpool uploadSpool;
+
+    @Mock
+    private ImageDecoder imageDecoder;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private BarberShop barberShop;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new ResumableUploadService(repository, imageService, barberShopService, imageVariantService,
+                asyncImageStorageService, uploadSpool, imageDecoder, Duration.ofHours(24), MAX_CONTENT_LENGTH,
+                meterRegistry);
+        barberShop = BarberShop.builder()
+                .id(UUID.randomUUID())
+                .build();
+    }
+
+    @Test
+    void shouldCreateASessionWithNothingReceived() {
+        when(barberShopService.findById(barberShop.getId())).thenReturn(barberShop);
+        when(repository.save(any(UploadJob.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        var uploadJob = service.create(barberShop.getId(), "image/png", CONTENT_LENGTH);
+
+        verify(imageService).checkImageLimit(barberShop);
+        assertThat(uploadJob.getStatus()).isEqualTo(UploadJob.Status.PENDING);
+        assertThat(uploadJob.getReceivedLength()).isZero();
+        assertThat(uploadJob.isResumable()).isTrue();
+        assertThat(uploadJob.isDirect()).isFalse();
+        assertThat(uploadJob.getExpiresAt()).isAfter(LocalDateTime.now());
+    }
+
+    @Test
+    void shouldNotCreateASessionOverTheSizeLimit() {
+        assertThrows(FileException.class,
+                () -> service.create(barberShop.getId(), "image/png", MAX_CONTENT_LENGTH.toBytes() + 1));
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void shouldNotCreateASessionWhenTheImageLimitIsReached() {
+        when(barberShopService.findById(barberShop.getId())).thenReturn(barberShop);
+        doThrow(new BarberShopImageLimitException()).when(imageService).checkImageLimit(barberShop);
+
+        assertThrows(BarberShopImageLimitException.class,
+                () -> service.create(barberShop.getId(), "image/png", CONTENT_LENGTH));
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void shouldNotFindUploadsThatAreNotResumable() {
+        var uploadJob = uploadJob(null);
+        when(repository.findById(uploadJob.getId())).thenReturn(Optional.of(uploadJob));
+
+        assertThrows(ObjectNotFoundException.class, () -> service.findById(uploadJob.getId()));
+    }
+
+    @Test
+    void shouldAppendAChunkAtTheReceivedOffset() {
+        var uploadJob = uploadJob(512L);
+        var chunk = new ByteArrayInputStream(new byte[256]);
+        when(repository.findById(uploadJob.getId())).thenReturn(Optional.of(uploadJob));
+        when(uploadSpool.write(uploadJob.getId(), 512L, chunk, CONTENT_LENGTH)).thenReturn(768L);
+        when(repository.save(uploadJob)).thenReturn(uploadJob);
+
+        var result = service.append(uploadJob.getId(), 512L, chunk);
+
+        assertThat(result.getReceivedLength()).isEqualTo(768L);
+        assertThat(result.getStatus()).isEqualTo(UploadJob.Status.PENDING);
+    }
+
+    @Test
+    void shouldRejectAChunkAtTheWrongOffset() {
+        var uploadJob = uploadJob(512L);
+        when(repository.findById(uploadJob.getId())).thenReturn(Optional.of(uploadJob));
+
+        var exception = assertThrows(BarberShopImageException.class,
+                () -> service.append(uploadJob.getId(), 0L, new ByteArrayInputStream(new byte[256])));
+
+        assertThat(exception.getMessage()).isEqualTo(BarberShopImageException.UPLOAD_OFFSET_MISMATCH);
+        verifyNoInteractions(uploadSpool);
+    }
+
+    @Test
+    void shouldRejectAChunkForAnExpiredSession() {
+        var uploadJob = uploadJob(512L);
+        uploadJob.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+        when(repository.findById(uploadJob.getId())).thenReturn(Optional.of(uploadJob));
+
+        assertThrows(BarberShopImageException.class,
+                () -> service.append(uploadJob.getId(), 512L, new ByteArrayInputStream(new byte[256])));
+
+        verify(uploadSpool).delete(uploadJob.getId());
+        assertThat(uploadJob.getStatus()).isEqualTo(UploadJob.Status.FAILED);
+        assertThat(uploadJob.getFailureReason()).isEqualTo(BarberShopImageException.UPLOAD_EXPIRED);
+    }
+
+    @Test
+    void shouldNotCompleteASessionThatIsMissingContent() {
+        var uploadJob = uploadJob(512L);
+        when(repository.findById(uploadJob.getId())).thenReturn(Optional.of(uploadJob));
+
+        var exception = assertThrows(BarberShopImageException.class, () -> service.complete(uploadJob.getId()));
+
+        assertThat(exception.getMessage()).isEqualTo(BarberShopImageException.UPLOAD_IS_INCOMPLETE);
+        verifyNoInteractions(asyncImageStorageService, imageService);
+    }
+
+    @Test
+    void shouldStoreTheAssembledFileAndRegisterTheImage() {
+        var uploadJob = uploadJob(CONTENT_LENGTH);
+        var file = Path.of("spool", uploadJob.getId().toString());
+        var uri = URI.create("https://www.teste.com/" + uploadJob.getId());
+        var image = Image.builder()
+                .id(uploadJob.getId())
+                .url(uri.toString())
+                .build();
+        when(repository.findById(uploadJob.getId())).thenReturn(Optional.of(uploadJob));
+        when(uploadSpool.path(uploadJob.getId())).thenReturn(file);
+        when(imageDecoder.inspect(file)).thenReturn(new ImageHeader(ImageFormat.PNG, 10, 10, 32));
+        when(asyncImageStorageService.uploadFileAsync(file, CONTENT_LENGTH, uploadJob.getId().toString()))
+                .thenReturn(CompletableFuture.completedFuture(uri));
+        when(imageService.registerImage(barberShop.getId(), uploadJob.getId(), uri)).thenReturn(image);
+
+        var result = service.complete(uploadJob.getId());
+
+        assertThat(result).isEqualTo(image);
+        assertThat(uploadJob.getStatus()).isEqualTo(UploadJob.Status.COMPLETED);
+        assertThat(uploadJob.getUrl()).isEqualTo(uri.toString());
+        verify(repository).save(uploadJob);
+        verify(imageVariantService).scheduleImageVariants(image.getId(), uploadJob.getId());
+        verify(uploadSpool, never()).delete(any());
+    }
+
+    @Test
+    void shouldRejectTheSessionWhenTheContentIsNotTheDeclaredFormat() {
+        var uploadJob = uploadJob(CONTENT_LENGTH);
+        var file = Path.of("spool", uploadJob.getId().toString());
+        when(repository.findById(uploadJob.getId())).thenReturn(Optional.of(uploadJob));
+        when(uploadSpool.path(uploadJob.getId())).thenReturn(file);
+        when(imageDecoder.inspect(file)).thenReturn(new ImageHeader(ImageFormat.JPEG, 10, 10, 24));
+
+        assertThrows(FileException.class, () -> service.complete(uploadJob.getId()));
+
+        verify(uploadSpool).delete(uploadJob.getId());
+        assertThat(uploadJob.getStatus()).isEqualTo(UploadJob.Status.FAILED);
+        assertThat(uploadJob.getFailureReason()).isEqualTo(FileException.IMAGE_FORMAT_ERROR_MESSAGE);
+        verifyNoInteractions(asyncImageStorageService, imageService);
+    }
+
+    @Test
+    void shouldKeepTheReceivedContentWhenTheStorageFails() {
+        var uploadJob = uploadJob(CONTENT_LENGTH);
+        var file = Path.of("spool", uploadJob.getId().toString());
+        when(repository.findById(uploadJob.getId())).thenReturn(Optional.of(uploadJob));
+        when(uploadSpool.path(uploadJob.getId())).thenReturn(file);
+        when(imageDecoder.inspect(file)).thenReturn(new ImageHeader(ImageFormat.PNG, 10, 10, 32));
+        when(asyncImageStorageService.uploadFileAsync(eq(file), anyLong(), any()))
+                .thenReturn(CompletableFuture.failedFuture(FileException.errorToReadFile()));
+
+        assertThrows(FileException.class, () -> service.complete(uploadJob.getId()));
+
+        verify(uploadSpool, never()).delete(any());
+        assertThat(uploadJob.getStatus()).isEqualTo(UploadJob.Status.PENDING);
+    }
+
+    @Test
+    void shouldExpireAbandonedSessions() {
+        var uploadJob = uploadJob(512L);
+        when(repository.findAllByStatusAndReceivedLengthIsNotNullAndExpiresAtBefore(
+                eq(UploadJob.Status.PENDING), any(LocalDateTime.class))).thenReturn(List.of(uploadJob));
+
+        var expired = service.expire();
+
+        assertThat(expired).isEqualTo(1);
+        verify(uploadSpool).delete(uploadJob.getId());
+        verify(repository).save(uploadJob);
+        assertThat(uploadJob.getStatus()).isEqualTo(UploadJob.Status.FAILED);
+        assertThat(meterRegistry.counter("upload.resumable.expired").count()).isEqualTo(1.0);
+    }
+
+    private UploadJob uploadJob(Long receivedLength) {
+        return UploadJob.builder()
+                .id(UUID.randomUUID())
+                .barberShopId(barberShop.getId())
+                .target(UploadJob.Target.IMAGE)
+                .status(UploadJob.Status.PENDING)
+                .contentType("image/png")
+                .contentLength(CONTENT_LENGTH)
+                .receivedLength(receivedLength)
+                .expiresAt(LocalDateTime.now().plusHours(1))
+                .build();
+    }
+}
@@ -0,0 +1,97 @@
+package br.com.blackbeard.blackbeardapi.service;
+
+import br.com.blackbeard.blackbeardapi.exceptions.FileException;
+import br.com.blackbeard.blackbeardapi.service.image.ImageEncoder;
+import br.com.blackbeard.blackbeardapi.service.storage.StoredObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3Utilities;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+
+import java.io.File;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class S3AsyncServiceTest {
+
+    @InjectMocks
+    private S3AsyncService service;
+
+    @Mock
+    private S3AsyncClient s3;
+
+    @Mock
+    private ImageEncoder imageEncoder;
+
+    @Captor
+    private ArgumentCaptor<PutObjectRequest> requestCaptor;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setup() {
+        ReflectionTestUtils.setField(service, "bucket", "bucket");
+    }
+
+    @Test
+    void shouldStreamTheFileWithoutBlockingTheCaller() throws Exception {
+        var png = Files.readAllBytes(new File("src/test/java/br/com/blackbeard/blackbeardapi/resources/teste.png").toPath());
+        var file = Files.write(directory.resolve("upload"), png);
+        // S3Utilities is final, so a real instance stands in for the client's utilities
+        var utilities = S3Utilities.builder().region(Region.US_EAST_1).build();
+
+        when(s3.putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class)))
+                .thenReturn(CompletableFuture.completedFuture(PutObjectResponse.builder().build()));
+        when(s3.utilities()).thenReturn(utilities);
+
+        var uri = service.uploadFileAsync(file, png.length, "key").join();
+
+        assertThat(uri).isEqualTo(URI.create("https://bucket.s3.amazonaws.com/key"));
+        verify(s3).putObject(requestCaptor.capture(), any(AsyncRequestBody.class));
+        assertThat(requestCaptor.getValue().bucket()).isEqualTo("bucket");
+        assertThat(requestCaptor.getValue().key()).isEqualTo("key");
+        assertThat(requestCaptor.getValue().contentType()).isEqualTo("image/png");
+        assertThat(requestCaptor.getValue().contentLength()).isEqualTo(png.length);
+        assertThat(requestCaptor.getValue().cacheControl()).isEqualTo(StoredObject.IMMUTABLE_CACHE_CONTROL);
+    }
+
+    @Test
+    void shouldFailTheFutureWhenTheFileIsNotAnImage() throws Exception {
+        var file = Files.write(directory.resolve("upload"), "Hello, World!".getBytes());
+
+        var upload = service.uploadFileAsync(file, 13, "key");
+
+        var exception = assertThrows(CompletionException.class, upload::join);
+        assertThat(exception).hasCauseInstanceOf(FileException.class);
+        verifyNoInteractions(s3);
+    }
+
+    @Test
+    void shouldUnwrapTheCauseWhenAwaiting() {
+        var failed = CompletableFuture.<URI>failedFuture(FileException.errorToReadFile());
+
+        assertThrows(FileException.class, () -> AsyncImageStorageService.await(failed));
+    }
+}
@@ -2,10 +2,24 @@ package br.com.blackbeard.blackbeardapi.service;
 
 import br.com.blackbeard.blackbeardapi.exceptions.FileException;
 import br.com.blackbeard.blackbeardapi.models.BarberShop;
+import br.com.blackbeard.blackbeardapi.service.image.EncodedImage;
+import br.com.blackbeard.blackbeardapi.service.image.ImageEncoder;
+import br.com.blackbeard.blackbeardapi.service.image.ImageFormat;
+import br.com.blackbeard.blackbeardapi.service.storage.StoredObject;
 import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.DeleteObjectsResult;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.MultiObjectDeleteException;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
 import com.amazonaws.util.IOUtils;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
@@ -15,11 +29,17 @@ import org.springframework.mock.web.MockMultipartFile;
 
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.InputStream;
 import java.net.URI;
+import java.util.Date;
+import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,9 +52,15 @@ class S3ServiceTest {
     @Mock
     private AmazonS3 s3;
 
+    @Mock
+    private ImageEncoder imageEncoder;
+
     @Value("${s3.bucket}")
     private String bucket;
 
+    @Captor
+    private ArgumentCaptor<ObjectMetadata> metadataCaptor;
+
     @Test
     void shouldCreatedURIWhenSaveFile() throws Exception {
         var uri = URI.create("https://www.teste.com/");
@@ -91,4 +117,166 @@ class S3ServiceTest {
 
         assertThat(exception).hasMessage("fail to convert URL to URI");
     }
+
+    @Test
+    void shouldStreamTheOriginalBytesWithTheirContentLength() throws Exception {
+        var uri = URI.create("https://www.teste.com/");
+        var file = new File("src/test/java/br/com/blackbeard/blackbeardapi/resources/teste.png");
+        var multipartFile = new MockMultipartFile("file",
+                file.getName(), "text/plain", IOUtils.toByteArray(new FileInputStream(file)));
+        var fileName = UUID.randomUUID().toString();
+
+        when(s3.getUrl(bucket, fileName)).thenReturn(uri.toURL());
+
+        s3Service.uploadFile(multipartFile, fileName);
+
+        verify(s3).putObject(eq(bucket), eq(fileName), any(InputStream.class), metadataCaptor.capture());
+        assertThat(metadataCaptor.getValue().getContentType()).isEqualTo("image/png");
+        assertThat(metadataCaptor.getValue().getContentLength()).isEqualTo(file.length());
+        assertThat(metadataCaptor.getValue().getCacheControl()).isEqualTo(StoredObject.IMMUTABLE_CACHE_CONTROL);
+    }
+
+    @Test
+    void shouldDetectJpegBySignature() throws Exception {
+        var uri = URI.create("https://www.teste.com/");
+        var multipartFile = new MockMultipartFile("file", "photo.png", "image/png",
+                new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0, 0, 0x10, 'J', 'F', 'I', 'F'});
+        var fileName = UUID.randomUUID().toString();
+
+        when(s3.getUrl(bucket, fileName)).thenReturn(uri.toURL());
+
+        s3Service.uploadFile(multipartFile, fileName);
+
+        verify(s3).putObject(eq(bucket), eq(fileName), any(InputStream.class), metadataCaptor.capture());
+        assertThat(metadataCaptor.getValue().getContentType()).isEqualTo("image/jpeg");
+        assertThat(metadataCaptor.getValue().getContentLength()).isEqualTo(multipartFile.getSize());
+    }
+
+    @Test
+    void shouldUploadFromAStreamWithTheGivenContentLength() throws Exception {
+        var uri = URI.create("https://www.teste.com/");
+        var file = new File("src/test/java/br/com/blackbeard/blackbeardapi/resources/teste.png");
+        var fileName = UUID.randomUUID().toString();
+
+        when(s3.getUrl(bucket, fileName)).thenReturn(uri.toURL());
+
+        try (var inputStream = new FileInputStream(file)) {
+            var uriImage = s3Service.uploadFile(inputStream, file.length(), fileName);
+            assertThat(uriImage).isEqualTo(uri);
+        }
+
+        verify(s3).putObject(eq(bucket), eq(fileName), any(InputStream.class), metadataCaptor.capture());
+        assertThat(metadataCaptor.getValue().getContentLength()).isEqualTo(file.length());
+    }
+
+    @Test
+    void shouldStoreTheReencodedImageWhenEncodingIsEnabled() throws Exception {
+        var uri = URI.create("https://www.teste.com/");
+        var file = new File("src/test/java/br/com/blackbeard/blackbeardapi/resources/teste.png");
+        var multipartFile = new MockMultipartFile("file",
+                file.getName(), "text/plain", IOUtils.toByteArray(new FileInputStream(file)));
+        var fileName = UUID.randomUUID().toString();
+
+        when(imageEncoder.isEnabled()).thenReturn(true);
+        when(imageEncoder.reencode(any(InputStream.class), eq(file.length())))
+                .thenReturn(new EncodedImage(ImageFormat.JPEG, new byte[]{1, 2, 3}));
+        when(s3.getUrl(bucket, fileName)).thenReturn(uri.toURL());
+
+        s3Service.uploadFile(multipartFile, fileName);
+
+        verify(s3).putObject(eq(bucket), eq(fileName), any(InputStream.class), metadataCaptor.capture());
+        assertThat(metadataCaptor.getValue().getContentType()).isEqualTo("image/jpeg");
+        assertThat(metadataCaptor.getValue().getContentLength()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldNotReencodeContentThatIsAlreadyEncoded() throws Exception {
+        var uri = URI.create("https://www.teste.com/");
+        var file = new File("src/test/java/br/com/blackbeard/blackbeardapi/resources/teste.png");
+        var fileName = UUID.randomUUID().toString();
+
+        when(s3.getUrl(bucket, fileName)).thenReturn(uri.toURL());
+
+        try (var inputStream = new FileInputStream(file)) {
+            s3Service.uploadEncodedFile(inputStream, file.length(), fileName);
+        }
+
+        verify(imageEncoder, never()).reencode(any(InputStream.class), anyLong());
+        verify(s3).putObject(eq(bucket), eq(fileName), any(InputStream.class), metadataCaptor.capture());
+        assertThat(metadataCaptor.getValue().getContentType()).isEqualTo("image/png");
+        assertThat(metadataCaptor.getValue().getContentLength()).isEqualTo(file.length());
+    }
+
+    @Test
+    void shouldDescribeAStoredObject() {
+        var metadata = new ObjectMetadata();
+        metadata.setContentType("image/png");
+        metadata.setContentLength(42);
+        when(s3.getObjectMetadata(bucket, "key")).thenReturn(metadata);
+
+        var storedObject = s3Service.findFile("key").orElseThrow();
+
+        assertThat(storedObject.getKey()).isEqualTo("key");
+        assertThat(storedObject.getContentType()).isEqualTo("image/png");
+        assertThat(storedObject.getContentLength()).isEqualTo(42);
+        assertThat(storedObject.getPath()).isEmpty();
+    }
+
+    @Test
+    void shouldReturnEmptyWhenTheObjectDoesNotExist() {
+        var notFound = new AmazonS3Exception("Not Found");
+        notFound.setStatusCode(404);
+        when(s3.getObjectMetadata(bucket, "missing")).thenThrow(notFound);
+
+        assertThat(s3Service.findFile("missing")).isEmpty();
+    }
+
+    @Test
+    void shouldDeleteManyObjectsInOneRequest() {
+        var result = new DeleteObjectsResult(List.of(deletedObject("first"), deletedObject("second")));
+        when(s3.deleteObjects(any(DeleteObjectsRequest.class))).thenReturn(result);
+
+        var deleted = s3Service.deleteFiles(List.of("first", "second"));
+
+        assertThat(deleted).containsExactly("first", "second");
+        verify(s3, times(1)).deleteObjects(any(DeleteObjectsRequest.class));
+    }
+
+    @Test
+    void shouldReportOnlyTheObjectsThatWereDeleted() {
+        var error = new MultiObjectDeleteException.DeleteError();
+        error.setKey("second");
+        when(s3.deleteObjects(any(DeleteObjectsRequest.class)))
+                .thenThrow(new MultiObjectDeleteException(List.of(error), List.of(deletedObject("first"))));
+
+        var deleted = s3Service.deleteFiles(List.of("first", "second"));
+
+        assertThat(deleted).containsExactly("first");
+    }
+
+    @Test
+    void shouldListAPageOfObjects() {
+        var summary = new S3ObjectSummary();
+        summary.setKey("key");
+        summary.setSize(42);
+        summary.setLastModified(new Date(0));
+        var result = new ListObjectsV2Result();
+        result.getObjectSummaries().add(summary);
+        result.setTruncated(true);
+        result.setNextContinuationToken("next");
+        when(s3.listObjectsV2(any(ListObjectsV2Request.class))).thenReturn(result);
+
+        var listing = s3Service.listFiles(null, 1000);
+
+        assertThat(listing.getObjects()).hasSize(1);
+        assertThat(listing.getObjects().get(0).getKey()).isEqualTo("key");
+        assertThat(listing.getObjects().get(0).getContentLength()).isEqualTo(42);
+        assertThat(listing.getContinuationToken()).isEqualTo("next");
+    }
+
+    private static DeleteObjectsResult.DeletedObject deletedObject(String key) {
+        var deletedObject = new DeleteObjectsResult.DeletedObject();
+        deletedObject.setKey(key);
+        return deletedObject;
+    }
 }
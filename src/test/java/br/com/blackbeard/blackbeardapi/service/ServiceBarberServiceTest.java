@@ -1,5 +1,7 @@
 package br.com.blackbeard.blackbeardapi.service;
 
+import br.com.blackbeard.blackbeardapi.dtos.page.CursorPage;
+import br.com.blackbeard.blackbeardapi.dtos.page.PageCursor;
 import br.com.blackbeard.blackbeardapi.exceptions.ObjectNotFoundException;
 import br.com.blackbeard.blackbeardapi.models.Barber;
 import br.com.blackbeard.blackbeardapi.models.BarberServiceModel;
@@ -16,6 +18,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -105,6 +109,37 @@ class ServiceBarberServiceTest {
                 .findAllByBarberId(barberServiceModel.getBarber().getId(), pageable);
     }
 
+    @Test
+    void shouldListFirstServicePageByIdBarberWithoutCounting() {
+        var barberId = barberServiceModel.getBarber().getId();
+        var first = BarberServiceModel.builder().id(UUID.randomUUID()).createdDate(LocalDateTime.now()).build();
+        var second = BarberServiceModel.builder().id(UUID.randomUUID()).createdDate(LocalDateTime.now()).build();
+
+        when(repository.findFirstPageByBarberId(barberId, CursorPage.pageable(1)))
+                .thenReturn(List.of(first, second));
+
+        var page = service.listAllServiceByIdBarber(barberId, null, 1);
+
+        assertThat(page.getContent()).containsExactly(first);
+        assertThat(PageCursor.valueOf(page.getNextCursor()))
+                .isEqualTo(new PageCursor(first.getCreatedDate(), first.getId()));
+        verify(repository, never()).count();
+    }
+
+    @Test
+    void shouldListServicePageAfterCursorByIdBarber() {
+        var barberId = barberServiceModel.getBarber().getId();
+        var cursor = new PageCursor(LocalDateTime.now(), UUID.randomUUID());
+
+        when(repository.findPageAfterByBarberId(barberId, cursor.getCreatedDate(), cursor.getId(),
+                CursorPage.pageable(20))).thenReturn(List.of(barberServiceModel));
+
+        var page = service.listAllServiceByIdBarber(barberId, cursor, 20);
+
+        assertThat(page.getContent()).containsExactly(barberServiceModel);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
     @Test
     void shouldUpdateAnServiceById() {
         var persistedService = BarberServiceModel.builder()
@@ -0,0 +1,256 @@
+package br.com.blackbeard.blackbeardapi.service;
+
+import br.com.blackbeard.blackbeardapi.exceptions.BarberShopImageException;
+import br.com.blackbeard.blackbeardapi.exceptions.BarberShopImageLimitException;
+import br.com.blackbeard.blackbeardapi.exceptions.FileException;
+import br.com.blackbeard.blackbeardapi.exceptions.ImageProcessingRejectedException;
+import br.com.blackbeard.blackbeardapi.models.BarberShop;
+import br.com.blackbeard.blackbeardapi.models.UploadJob;
+import br.com.blackbeard.blackbeardapi.repositories.UploadJobRepository;
+import br.com.blackbeard.blackbeardapi.service.image.ImageDecoder;
+import br.com.blackbeard.blackbeardapi.service.image.ImageProcessingExecutor;
+import br.com.blackbeard.blackbeardapi.service.upload.UploadSpool;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UploadJobServiceTest {
+
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final String NODE_ID = "node-a";
+    private static final Duration ABANDONED_AFTER = Duration.ofHours(1);
+
+    private UploadJobService service;
+
+    @Mock
+    private UploadJobRepository repository;
+
+    @Mock
+    private UploadSpool uploadSpool;
+
+    @Mock
+    private ImageStorageService imageStorageService;
+
+    @Mock
+    private ImageProcessingExecutor imageProcessingExecutor;
+
+    @Mock
+    private ImageService imageService;
+
+    @Mock
+    private BarberShopService barberShopService;
+
+    @Mock
+    private ImageVariantService imageVariantService;
+
+    @Mock
+    private ImageDecoder imageDecoder;
+
+    @Captor
+    private ArgumentCaptor<UploadJob> uploadJobCaptor;
+
+    private BarberShop barberShop;
+    private MockMultipartFile multipartFile;
+
+    @BeforeEach
+    void setup() {
+        service = new UploadJobService(repository, uploadSpool, imageStorageService, imageProcessingExecutor,
+                imageService, barberShopService, imageVariantService, imageDecoder, NODE_ID, ABANDONED_AFTER);
+        barberShop = BarberShop.builder()
+                .id(UUID.randomUUID())
+                .build();
+        multipartFile = new MockMultipartFile("image", "image.png", MediaType.IMAGE_PNG_VALUE, PNG);
+    }
+
+    @Test
+    void shouldSpoolAndAcceptAnImage() {
+        when(barberShopService.findById(barberShop.getId())).thenReturn(barberShop);
+        when(repository.save(any(UploadJob.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        var uploadJob = service.acceptImage(barberShop.getId(), multipartFile);
+
+        assertThat(uploadJob.getStatus()).isEqualTo(UploadJob.Status.PENDING);
+        assertThat(uploadJob.getTarget()).isEqualTo(UploadJob.Target.IMAGE);
+        assertThat(uploadJob.getContentLength()).isEqualTo(PNG.length);
+        assertThat(uploadJob.getNodeId()).isEqualTo(NODE_ID);
+        verify(imageService).checkImageLimit(barberShop);
+        verify(uploadSpool).write(uploadJob.getId(), multipartFile);
+        verify(imageProcessingExecutor).submit(any());
+    }
+
+    @Test
+    void shouldNotAcceptAnImageWhenTheLimitIsReached() {
+        when(barberShopService.findById(barberShop.getId())).thenReturn(barberShop);
+        doThrow(new BarberShopImageLimitException()).when(imageService).checkImageLimit(barberShop);
+
+        assertThrows(BarberShopImageLimitException.class,
+                () -> service.acceptImage(barberShop.getId(), multipartFile));
+
+        verifyNoInteractions(uploadSpool, repository, imageProcessingExecutor);
+    }
+
+    @Test
+    void shouldNotAcceptAFileThatIsNotAnImage() {
+        var textFile = new MockMultipartFile("logo", "logo.png", MediaType.TEXT_PLAIN_VALUE, "Hello".getBytes());
+        when(barberShopService.findById(barberShop.getId())).thenReturn(barberShop);
+        when(imageDecoder.inspect(textFile)).thenThrow(FileException.invalidImageFormat());
+
+        assertThrows(FileException.class, () -> service.acceptLogo(barberShop.getId(), textFile));
+
+        verifyNoInteractions(uploadSpool, repository, imageProcessingExecutor);
+    }
+
+    @Test
+    void shouldDiscardTheJobWhenTheExecutorIsSaturated() {
+        when(barberShopService.findById(barberShop.getId())).thenReturn(barberShop);
+        when(repository.save(any(UploadJob.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(imageProcessingExecutor.submit(any())).thenThrow(new ImageProcessingRejectedException());
+
+        assertThrows(ImageProcessingRejectedException.class,
+                () -> service.acceptLogo(barberShop.getId(), multipartFile));
+
+        verify(repository).delete(uploadJobCaptor.capture());
+        verify(uploadSpool).delete(uploadJobCaptor.getValue().getId());
+    }
+
+    @Test
+    void shouldCompleteAnImageJob() throws Exception {
+        var uploadJob = pendingJob(UploadJob.Target.IMAGE);
+        var uri = URI.create("https://www.teste.com/");
+        InputStream inputStream = new ByteArrayInputStream(PNG);
+
+        when(repository.findById(uploadJob.getId())).thenReturn(Optional.of(uploadJob));
+        when(uploadSpool.open(uploadJob.getId())).thenReturn(inputStream);
+        when(imageStorageService.uploadFile(inputStream, PNG.length, uploadJob.getId().toString())).thenReturn(uri);
+
+        service.complete(uploadJob.getId());
+
+        verify(imageService).registerImage(barberShop.getId(), uploadJob.getId(), uri);
+        verify(imageVariantService).generateImageVariants(uploadJob.getId(), uploadJob.getId());
+        verify(uploadSpool).delete(uploadJob.getId());
+        verify(repository).save(uploadJobCaptor.capture());
+        assertThat(uploadJobCaptor.getValue().getStatus()).isEqualTo(UploadJob.Status.COMPLETED);
+        assertThat(uploadJobCaptor.getValue().getUrl()).isEqualTo(uri.toString());
+    }
+
+    @Test
+    void shouldCompleteALogoJobUsingTheBarberShopKey() throws Exception {
+        var uploadJob = pendingJob(UploadJob.Target.LOGO);
+        var uri = URI.create("https://www.teste.com/");
+        InputStream inputStream = new ByteArrayInputStream(PNG);
+
+        when(repository.findById(uploadJob.getId())).thenReturn(Optional.of(uploadJob));
+        when(uploadSpool.open(uploadJob.getId())).thenReturn(inputStream);
+        when(imageStorageService.uploadFile(inputStream, PNG.length, barberShop.getId().toString())).thenReturn(uri);
+
+        service.complete(uploadJob.getId());
+
+        verify(barberShopService).updateLogo(barberShop.getId(), uri);
+        verify(imageVariantService).generateLogoVariants(barberShop.getId(), uploadJob.getId());
+        verify(repository).save(uploadJobCaptor.capture());
+        assertThat(uploadJobCaptor.getValue().getStatus()).isEqualTo(UploadJob.Status.COMPLETED);
+    }
+
+    @Test
+    void shouldMarkTheJobAsFailedWhenTheStorageFails() throws Exception {
+        var uploadJob = pendingJob(UploadJob.Target.IMAGE);
+
+        when(repository.findById(uploadJob.getId())).thenReturn(Optional.of(uploadJob));
+        when(uploadSpool.open(uploadJob.getId())).thenReturn(new ByteArrayInputStream(PNG));
+        when(imageStorageService.uploadFile(any(InputStream.class), anyLong(), eq(uploadJob.getId().toString())))
+                .thenThrow(FileException.errorToGetImageURI());
+
+        service.complete(uploadJob.getId());
+
+        verify(imageService, never()).registerImage(any(), any(), any());
+        verify(uploadSpool).delete(uploadJob.getId());
+        verify(repository).save(uploadJobCaptor.capture());
+        assertThat(uploadJobCaptor.getValue().getStatus()).isEqualTo(UploadJob.Status.FAILED);
+        assertThat(uploadJobCaptor.getValue().getFailureReason()).isEqualTo(FileException.FAIL_TO_CONVERT_URL_TO_URI);
+    }
+
+    @Test
+    void shouldResumePendingJobsAndFailTheOnesWithoutSpool() {
+        var spooled = pendingJob(UploadJob.Target.IMAGE);
+        var lost = pendingJob(UploadJob.Target.IMAGE);
+
+        when(repository.findAllByStatusAndNodeIdAndExpiresAtIsNull(UploadJob.Status.PENDING, NODE_ID))
+                .thenReturn(List.of(spooled, lost));
+        when(uploadSpool.exists(spooled.getId())).thenReturn(true);
+        when(uploadSpool.exists(lost.getId())).thenReturn(false);
+
+        service.resumePendingJobs();
+
+        verify(imageProcessingExecutor, times(1)).submit(any());
+        verify(repository).save(lost);
+        assertThat(lost.getStatus()).isEqualTo(UploadJob.Status.FAILED);
+    }
+
+    @Test
+    void shouldOfferTheRemainingJobsAgainWhenThePoolWasFull() {
+        var first = pendingJob(UploadJob.Target.IMAGE);
+        var second = pendingJob(UploadJob.Target.IMAGE);
+        var third = pendingJob(UploadJob.Target.IMAGE);
+
+        when(repository.findAllByStatusAndNodeIdAndExpiresAtIsNull(UploadJob.Status.PENDING, NODE_ID))
+                .thenReturn(List.of(first, second, third));
+        when(uploadSpool.exists(any(UUID.class))).thenReturn(true);
+        when(imageProcessingExecutor.submit(any()))
+                .thenReturn(CompletableFuture.completedFuture(null))
+                .thenThrow(new ImageProcessingRejectedException())
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        service.resumePendingJobs();
+        service.submitResumingJobs();
+
+        verify(imageProcessingExecutor, times(4)).submit(any());
+        service.submitResumingJobs();
+        verifyNoMoreInteractions(imageProcessingExecutor);
+    }
+
+    @Test
+    void shouldFailThePendingJobsOtherNodesAbandoned() {
+        var createdBefore = ArgumentCaptor.forClass(LocalDateTime.class);
+        when(repository.failAbandoned(eq(NODE_ID), createdBefore.capture(), eq(BarberShopImageException.UPLOAD_ABANDONED),
+                any(LocalDateTime.class), eq(UploadJob.Status.PENDING), eq(UploadJob.Status.FAILED)))
+                .thenReturn(2);
+
+        assertThat(service.failAbandonedJobs()).isEqualTo(2);
+        assertThat(createdBefore.getValue()).isBefore(LocalDateTime.now().minus(ABANDONED_AFTER).plusSeconds(1));
+        verifyNoInteractions(uploadSpool, imageProcessingExecutor);
+    }
+
+    private UploadJob pendingJob(UploadJob.Target target) {
+        return UploadJob.builder()
+                .id(UUID.randomUUID())
+                .barberShopId(barberShop.getId())
+                .target(target)
+                .status(UploadJob.Status.PENDING)
+                .contentLength(PNG.length)
+                .build();
+    }
+}
@@ -0,0 +1,112 @@
+package br.com.blackbeard.blackbeardapi.service.image;
+
+import br.com.blackbeard.blackbeardapi.exceptions.FileException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ImageDecoderTest {
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final int RGBA = 6;
+
+    private final ImageDecoder decoder = new ImageDecoder(8192, 25_000_000, DataSize.ofMegabytes(128));
+
+    @Test
+    void shouldReadTheHeaderOfAnImage() throws IOException {
+        var header = decoder.inspect(new ByteArrayInputStream(encode(320, 200, "png")));
+
+        assertThat(header.getFormat()).isEqualTo(ImageFormat.PNG);
+        assertThat(header.getWidth()).isEqualTo(320);
+        assertThat(header.getHeight()).isEqualTo(200);
+        assertThat(header.getBitsPerPixel()).isPositive();
+    }
+
+    @Test
+    void shouldDecodeAnImageWithinTheLimits() throws IOException {
+        var image = decoder.decode(new ByteArrayInputStream(encode(64, 48, "jpg")));
+
+        assertThat(image.getWidth()).isEqualTo(64);
+        assertThat(image.getHeight()).isEqualTo(48);
+    }
+
+    @Test
+    void shouldRejectABombFromItsHeaderAlone() throws IOException {
+        var bomb = pngHeader(40_000, 40_000, 8, RGBA);
+
+        var exception = assertThrows(FileException.class, () -> decoder.decode(new ByteArrayInputStream(bomb)));
+
+        assertThat(exception).hasMessage(FileException.IMAGE_TOO_LARGE);
+    }
+
+    @Test
+    void shouldRejectImagesAboveThePixelLimit() throws IOException {
+        var smallDecoder = new ImageDecoder(8192, 10_000, DataSize.ofMegabytes(128));
+
+        assertThrows(FileException.class, () -> smallDecoder.inspect(new ByteArrayInputStream(encode(200, 200, "png"))));
+    }
+
+    @Test
+    void shouldAccountForTheBitDepthOfTheRaster() throws IOException {
+        var deepPng = pngHeader(4000, 4000, 16, RGBA);
+        var smallRaster = new ImageDecoder(8192, 25_000_000, DataSize.ofMegabytes(64));
+
+        assertThrows(FileException.class, () -> smallRaster.inspect(new ByteArrayInputStream(deepPng)));
+    }
+
+    @Test
+    void shouldRejectFilesThatAreNotImages() {
+        var textFile = new MockMultipartFile("image", "image.png", "text/plain", "Hello, World!".getBytes());
+
+        var exception = assertThrows(FileException.class, () -> decoder.inspect(textFile));
+
+        assertThat(exception).hasMessage(FileException.IMAGE_FORMAT_ERROR_MESSAGE);
+    }
+
+    private static byte[] encode(int width, int height, String format) throws IOException {
+        var os = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), format, os);
+        return os.toByteArray();
+    }
+
+    private static byte[] pngHeader(int width, int height, int bitDepth, int colorType) throws IOException {
+        var ihdr = new ByteArrayOutputStream();
+        var data = new DataOutputStream(ihdr);
+        data.writeInt(width);
+        data.writeInt(height);
+        data.writeByte(bitDepth);
+        data.writeByte(colorType);
+        data.writeByte(0);
+        data.writeByte(0);
+        data.writeByte(0);
+
+        var png = new ByteArrayOutputStream();
+        png.write(PNG_SIGNATURE);
+        writeChunk(new DataOutputStream(png), "IHDR", ihdr.toByteArray());
+        writeChunk(new DataOutputStream(png), "IEND", new byte[0]);
+        return png.toByteArray();
+    }
+
+    private static void writeChunk(DataOutputStream out, String type, byte[] content) throws IOException {
+        var typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        var crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(content);
+        out.writeInt(content.length);
+        out.write(typeBytes);
+        out.write(content);
+        out.writeInt((int) crc.getValue());
+    }
+}
@@ -0,0 +1,108 @@
+package br.com.blackbeard.blackbeardapi.service.image;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.metadata.IIOMetadataNode;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageEncoderTest {
+
+    private static final ImageDecoder DECODER = new ImageDecoder(8192, 25_000_000, DataSize.ofMegabytes(128));
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ImageEncoder encoder = new ImageEncoder(DECODER, true, 0.85f, 256, meterRegistry);
+
+    @Test
+    void shouldStorePhotographsUploadedAsPngAsJpeg() throws IOException {
+        var png = write(photo(BufferedImage.TYPE_INT_RGB), "png");
+
+        var encoded = encoder.reencode(new ByteArrayInputStream(png), png.length);
+
+        assertThat(encoded.getFormat()).isEqualTo(ImageFormat.JPEG);
+        assertThat(encoded.getContent().length).isLessThan(png.length);
+        assertThat(meterRegistry.counter("image.encoding.original").count()).isEqualTo(png.length);
+        assertThat(meterRegistry.counter("image.encoding.stored").count()).isEqualTo(encoded.getContent().length);
+    }
+
+    @Test
+    void shouldKeepFlatGraphicsAsCompressedPng() throws IOException {
+        var graphic = new BufferedImage(400, 300, BufferedImage.TYPE_INT_RGB);
+        var graphics = graphic.createGraphics();
+        graphics.fillRect(100, 100, 200, 100);
+        graphics.dispose();
+        var png = write(graphic, "png");
+
+        var encoded = encoder.reencode(new ByteArrayInputStream(png), png.length);
+
+        assertThat(encoded.getFormat()).isEqualTo(ImageFormat.PNG);
+        assertThat(encoded.getContent().length).isLessThanOrEqualTo(png.length);
+    }
+
+    @Test
+    void shouldKeepTransparentImagesAsPng() {
+        var image = photo(BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(0, 0, 0);
+
+        assertThat(encoder.formatFor(image, ImageFormat.PNG)).isEqualTo(ImageFormat.PNG);
+    }
+
+    @Test
+    void shouldKeepJpegAsJpegWithoutItsMetadata() throws IOException {
+        var jpeg = writeWithComment(photo(BufferedImage.TYPE_INT_RGB));
+
+        var encoded = encoder.reencode(new ByteArrayInputStream(jpeg), jpeg.length);
+
+        assertThat(encoded.getFormat()).isEqualTo(ImageFormat.JPEG);
+        assertThat(new String(encoded.getContent(), "ISO-8859-1")).doesNotContain("secret location");
+        assertThat(ImageIO.read(new ByteArrayInputStream(encoded.getContent())).getWidth()).isEqualTo(400);
+    }
+
+    private static BufferedImage photo(int type) {
+        var random = new Random(42);
+        var image = new BufferedImage(400, 300, type);
+        for (var y = 0; y < image.getHeight(); y++) {
+            for (var x = 0; x < image.getWidth(); x++) {
+                image.setRGB(x, y, 0xFF000000 | random.nextInt(0x1000000));
+            }
+        }
+        return image;
+    }
+
+    private static byte[] write(BufferedImage image, String format) throws IOException {
+        var os = new ByteArrayOutputStream();
+        ImageIO.write(image, format, os);
+        return os.toByteArray();
+    }
+
+    private static byte[] writeWithComment(BufferedImage image) throws IOException {
+        var writer = ImageIO.getImageWritersByFormatName("jpg").next();
+        var param = writer.getDefaultWriteParam();
+        var metadata = writer.getDefaultImageMetadata(
+                ImageTypeSpecifier.createFromRenderedImage(image), param);
+        var root = (IIOMetadataNode) metadata.getAsTree("javax_imageio_jpeg_image_1.0");
+        var comment = new IIOMetadataNode("com");
+        comment.setAttribute("comment", "secret location");
+        ((IIOMetadataNode) root.getElementsByTagName("markerSequence").item(0)).appendChild(comment);
+        metadata.setFromTree("javax_imageio_jpeg_image_1.0", root);
+
+        var os = new ByteArrayOutputStream();
+        try (var output = ImageIO.createImageOutputStream(os)) {
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, metadata), param);
+        } finally {
+            writer.dispose();
+        }
+        return os.toByteArray();
+    }
+}
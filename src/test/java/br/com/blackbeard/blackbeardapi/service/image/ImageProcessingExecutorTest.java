@@ -0,0 +1,67 @@
+package br.com.blackbeard.blackbeardapi.service.image;
+
+import br.com.blackbeard.blackbeardapi.exceptions.FileException;
+import br.com.blackbeard.blackbeardapi.exceptions.ImageProcessingRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ImageProcessingExecutorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ImageProcessingExecutor executor;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new ImageProcessingExecutor(1, 1, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void shouldReturnTheResultOfTheTask() {
+        var result = executor.process(() -> "processed");
+
+        assertThat(result).isEqualTo("processed");
+        assertThat(meterRegistry.get("image.processing.duration").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRethrowTheExceptionOfTheTask() {
+        assertThrows(FileException.class, () -> executor.process(() -> {
+            throw FileException.errorToReadFile();
+        }));
+    }
+
+    @Test
+    void shouldRejectWhenTheQueueIsFull() throws InterruptedException {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        var running = executor.submit(() -> {
+            started.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        });
+        started.await(5, TimeUnit.SECONDS);
+        var queued = executor.submit(() -> true);
+
+        assertThat(meterRegistry.get("image.processing.queue.size").gauge().value()).isEqualTo(1);
+        assertThrows(ImageProcessingRejectedException.class, () -> executor.submit(() -> true));
+        assertThat(meterRegistry.get("image.processing.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.join()).isTrue();
+        assertThat(queued.join()).isTrue();
+    }
+}
@@ -0,0 +1,73 @@
+package br.com.blackbeard.blackbeardapi.service.image;
+
+import br.com.blackbeard.blackbeardapi.exceptions.FileException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class ImageVariantGeneratorTest {
+
+    private static final ImageDecoder DECODER = new ImageDecoder(8192, 25_000_000, DataSize.ofMegabytes(128));
+    private static final ImageEncoder ENCODER = new ImageEncoder(DECODER, true, 0.85f, 256, new SimpleMeterRegistry());
+
+    @Test
+    void shouldResizeKeepingTheAspectRatio() throws IOException {
+        var generator = new ImageVariantGenerator(DECODER, ENCODER, "thumbnail:160,medium:640");
+
+        var variants = generator.generate(encode(800, 400, BufferedImage.TYPE_INT_ARGB, "png"));
+
+        assertThat(variants).extracting(ImageVariant::getName).containsExactly("thumbnail", "medium");
+        var thumbnail = ImageIO.read(new ByteArrayInputStream(variants.get(0).getContent()));
+        assertThat(thumbnail.getWidth()).isEqualTo(160);
+        assertThat(thumbnail.getHeight()).isEqualTo(80);
+        assertThat(variants.get(0).getFormat()).isEqualTo(ImageFormat.PNG);
+    }
+
+    @Test
+    void shouldNotUpscaleSmallImages() throws IOException {
+        var generator = new ImageVariantGenerator(DECODER, ENCODER, "thumbnail:160,large:1600");
+
+        var variants = generator.generate(encode(800, 400, BufferedImage.TYPE_INT_ARGB, "png"));
+
+        assertThat(variants).extracting(ImageVariant::getName).containsExactly("thumbnail");
+    }
+
+    @Test
+    void shouldKeepJpegAsJpeg() throws IOException {
+        var generator = new ImageVariantGenerator(DECODER, ENCODER, "thumbnail:160");
+
+        var variants = generator.generate(encode(320, 240, BufferedImage.TYPE_INT_RGB, "jpg"));
+
+        assertThat(variants.get(0).getFormat()).isEqualTo(ImageFormat.JPEG);
+        assertThat(ImageIO.read(new ByteArrayInputStream(variants.get(0).getContent())).getHeight()).isEqualTo(120);
+    }
+
+    @Test
+    void shouldBeDisabledWithoutVariants() {
+        assertThat(new ImageVariantGenerator(DECODER, ENCODER, "").isEnabled()).isFalse();
+    }
+
+    @Test
+    void shouldThrowExceptionWhenTheImageCannotBeDecoded() {
+        var generator = new ImageVariantGenerator(DECODER, ENCODER, "thumbnail:160");
+        var truncatedPng = new ByteArrayInputStream(new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'});
+
+        assertThat(catchThrowable(() -> generator.generate(truncatedPng)))
+                .isInstanceOfAny(IOException.class, FileException.class);
+    }
+
+    private ByteArrayInputStream encode(int width, int height, int type, String format) throws IOException {
+        var os = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, type), format, os);
+        return new ByteArrayInputStream(os.toByteArray());
+    }
+}
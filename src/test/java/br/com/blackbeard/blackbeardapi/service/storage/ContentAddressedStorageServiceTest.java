@@ -0,0 +1,281 @@
+package br.com.blackbeard.blackbeardapi.service.storage;
+
+import br.com.blackbeard.blackbeardapi.models.StorageDeletion;
+import br.com.blackbeard.blackbeardapi.models.StorageObject;
+import br.com.blackbeard.blackbeardapi.models.StorageReference;
+import br.com.blackbeard.blackbeardapi.repositories.StorageDeletionRepository;
+import br.com.blackbeard.blackbeardapi.repositories.StorageObjectRepository;
+import br.com.blackbeard.blackbeardapi.repositories.StorageReferenceRepository;
+import br.com.blackbeard.blackbeardapi.service.AsyncImageStorageService;
+import br.com.blackbeard.blackbeardapi.service.ImageStorageService;
+import br.com.blackbeard.blackbeardapi.service.upload.UploadSpool;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ContentAddressedStorageServiceTest {
+
+    private static final byte[] CONTENT = "Hello, World!".getBytes();
+    private static final String CONTENT_HASH = "dffd6021bb2bd5b0af676290809ec3a53191dd81c7f70a4b28688a362182986f";
+    private static final String URL = "https://www.teste.com/" + CONTENT_HASH;
+
+    private ContentAddressedStorageService service;
+
+    @Mock
+    private ImageStorageService backend;
+
+    @Mock
+    private AsyncImageStorageService asyncBackend;
+
+    @Mock
+    private StorageObjectRepository objectRepository;
+
+    @Mock
+    private StorageReferenceRepository referenceRepository;
+
+    @Mock
+    private StorageDeletionRepository deletionRepository;
+
+    @Captor
+    private ArgumentCaptor<StorageObject> storageObjectCaptor;
+
+    @TempDir
+    Path spoolDirectory;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new ContentAddressedStorageService(backend, asyncBackend, objectRepository, referenceRepository,
+                deletionRepository, new UploadSpool(spoolDirectory.toString()), "", meterRegistry);
+    }
+
+    @Test
+    void shouldStoreNewContentUnderItsHash() {
+        when(objectRepository.incrementReferences(CONTENT_HASH)).thenReturn(0);
+        when(backend.uploadFile(any(InputStream.class), eq((long) CONTENT.length), eq(CONTENT_HASH)))
+                .thenReturn(URI.create(URL));
+        when(objectRepository.saveAndFlush(any(StorageObject.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(referenceRepository.findById("logo")).thenReturn(Optional.empty());
+
+        var uri = service.uploadFile(new ByteArrayInputStream(CONTENT), CONTENT.length, "logo");
+
+        assertThat(uri).isEqualTo(URI.create(URL));
+        verify(objectRepository).saveAndFlush(storageObjectCaptor.capture());
+        assertThat(storageObjectCaptor.getValue().getReferenceCount()).isEqualTo(1);
+        assertThat(storageObjectCaptor.getValue().getContentLength()).isEqualTo(CONTENT.length);
+        verify(referenceRepository).save(new StorageReference("logo", CONTENT_HASH));
+    }
+
+    @Test
+    void shouldHandEncodedContentToTheBackendAsIs() {
+        when(objectRepository.incrementReferences(CONTENT_HASH)).thenReturn(0);
+        when(backend.uploadEncodedFile(any(InputStream.class), eq((long) CONTENT.length), eq(CONTENT_HASH)))
+                .thenReturn(URI.create(URL));
+        when(objectRepository.saveAndFlush(any(StorageObject.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(referenceRepository.findById("image-thumbnail")).thenReturn(Optional.empty());
+
+        var uri = service.uploadEncodedFile(new ByteArrayInputStream(CONTENT), CONTENT.length, "image-thumbnail");
+
+        assertThat(uri).isEqualTo(URI.create(URL));
+        verify(backend, never()).uploadFile(any(InputStream.class), anyLong(), anyString());
+        verify(referenceRepository).save(new StorageReference("image-thumbnail", CONTENT_HASH));
+    }
+
+    @Test
+    void shouldNotTransferContentThatIsAlreadyStored() {
+        when(objectRepository.incrementReferences(CONTENT_HASH)).thenReturn(1);
+        when(objectRepository.findById(CONTENT_HASH)).thenReturn(Optional.of(storageObject(2)));
+        when(referenceRepository.findById("image")).thenReturn(Optional.empty());
+
+        var uri = service.uploadFile(new ByteArrayInputStream(CONTENT), CONTENT.length, "image");
+
+        assertThat(uri).isEqualTo(URI.create(URL));
+        verify(backend, never()).uploadFile(any(InputStream.class), anyLong(), anyString());
+        assertThat(meterRegistry.get("image.storage.deduplicated").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReleaseThePreviousContentWhenANameIsReplaced() {
+        when(objectRepository.incrementReferences(CONTENT_HASH)).thenReturn(1);
+        when(objectRepository.findById(CONTENT_HASH)).thenReturn(Optional.of(storageObject(1)));
+        when(referenceRepository.findById("logo")).thenReturn(Optional.of(new StorageReference("logo", "old")));
+        when(objectRepository.deleteUnreferenced("old")).thenReturn(1);
+
+        service.uploadFile(new ByteArrayInputStream(CONTENT), CONTENT.length, "logo");
+
+        verify(objectRepository).decrementReferences("old");
+        verify(deletionRepository).save(deletion("old"));
+    }
+
+    @Test
+    void shouldKeepTheObjectWhileOtherReferencesExist() {
+        when(referenceRepository.findById("image")).thenReturn(Optional.of(new StorageReference("image", CONTENT_HASH)));
+        when(objectRepository.deleteUnreferenced(CONTENT_HASH)).thenReturn(0);
+
+        service.deleteFile("image");
+
+        verify(referenceRepository).delete(new StorageReference("image", CONTENT_HASH));
+        verify(objectRepository).decrementReferences(CONTENT_HASH);
+        verify(deletionRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldDeleteTheObjectWithTheLastReference() {
+        when(referenceRepository.findById("image")).thenReturn(Optional.of(new StorageReference("image", CONTENT_HASH)));
+        when(objectRepository.deleteUnreferenced(CONTENT_HASH)).thenReturn(1);
+
+        service.deleteFile("image");
+
+        verify(deletionRepository).save(deletion(CONTENT_HASH));
+        verifyNoInteractions(backend);
+    }
+
+    @Test
+    void shouldNotQueueTheSameObjectTwice() {
+        when(referenceRepository.findById("image")).thenReturn(Optional.of(new StorageReference("image", CONTENT_HASH)));
+        when(objectRepository.deleteUnreferenced(CONTENT_HASH)).thenReturn(1);
+        when(deletionRepository.existsById(CONTENT_HASH)).thenReturn(true);
+
+        service.deleteFile("image");
+
+        verify(deletionRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldCancelAPendingDeletionWhenTheContentIsStoredAgain() {
+        when(objectRepository.incrementReferences(CONTENT_HASH)).thenReturn(0);
+        when(backend.uploadFile(any(InputStream.class), eq((long) CONTENT.length), eq(CONTENT_HASH)))
+                .thenReturn(URI.create(URL));
+        when(objectRepository.saveAndFlush(any(StorageObject.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(referenceRepository.findById("image")).thenReturn(Optional.empty());
+
+        service.uploadFile(new ByteArrayInputStream(CONTENT), CONTENT.length, "image");
+
+        var order = inOrder(deletionRepository, backend);
+        order.verify(deletionRepository).cancel(CONTENT_HASH);
+        order.verify(backend).uploadFile(any(InputStream.class), anyLong(), eq(CONTENT_HASH));
+    }
+
+    @Test
+    void shouldReturnThePublicUrlWhenConfigured() {
+        service = new ContentAddressedStorageService(backend, asyncBackend, objectRepository, referenceRepository,
+                deletionRepository, new UploadSpool(spoolDirectory.toString()), "https://cdn.teste.com/images", meterRegistry);
+        when(objectRepository.incrementReferences(CONTENT_HASH)).thenReturn(1);
+        when(objectRepository.findById(CONTENT_HASH)).thenReturn(Optional.of(storageObject(2)));
+        when(referenceRepository.findById("image")).thenReturn(Optional.empty());
+
+        var uri = service.uploadFile(new ByteArrayInputStream(CONTENT), CONTENT.length, "image");
+
+        assertThat(uri).isEqualTo(URI.create("https://cdn.teste.com/images/" + CONTENT_HASH));
+    }
+
+    @Test
+    void shouldFindTheObjectBehindAName() {
+        var storedObject = new StoredObject(CONTENT_HASH, CONTENT.length, "image/png", null, null);
+        when(referenceRepository.findById("logo")).thenReturn(Optional.of(new StorageReference("logo", CONTENT_HASH)));
+        when(backend.findFile(CONTENT_HASH)).thenReturn(Optional.of(storedObject));
+
+        assertThat(service.findFile("logo")).contains(storedObject);
+    }
+
+    @Test
+    void shouldDeleteUnreferencedNamesFromTheBackend() {
+        when(referenceRepository.findById("legacy")).thenReturn(Optional.empty());
+
+        service.deleteFile("legacy");
+
+        verify(deletionRepository).save(deletion("legacy"));
+        verifyNoInteractions(objectRepository);
+    }
+
+    @Test
+    void shouldStoreNewContentThroughTheAsyncBackend() throws Exception {
+        var file = Files.write(spoolDirectory.resolve("upload"), CONTENT);
+        when(objectRepository.incrementReferences(CONTENT_HASH)).thenReturn(0);
+        when(asyncBackend.uploadFileAsync(file, CONTENT.length, CONTENT_HASH))
+                .thenReturn(CompletableFuture.completedFuture(URI.create(URL)));
+        when(objectRepository.saveAndFlush(any(StorageObject.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(referenceRepository.findById("image")).thenReturn(Optional.empty());
+
+        var uri = service.uploadFileAsync(file, CONTENT.length, "image").join();
+
+        assertThat(uri).isEqualTo(URI.create(URL));
+        verify(referenceRepository).save(new StorageReference("image", CONTENT_HASH));
+        verifyNoInteractions(backend);
+    }
+
+    @Test
+    void shouldNotTransferStoredContentThroughTheAsyncBackend() throws Exception {
+        var file = Files.write(spoolDirectory.resolve("upload"), CONTENT);
+        when(objectRepository.incrementReferences(CONTENT_HASH)).thenReturn(1);
+        when(objectRepository.findById(CONTENT_HASH)).thenReturn(Optional.of(storageObject(2)));
+        when(referenceRepository.findById("image")).thenReturn(Optional.empty());
+
+        var uri = service.uploadFileAsync(file, CONTENT.length, "image").join();
+
+        assertThat(uri).isEqualTo(URI.create(URL));
+        verifyNoInteractions(asyncBackend);
+    }
+
+    @Test
+    void shouldQueueAsyncDeletesInTheOutbox() {
+        when(referenceRepository.findById("image")).thenReturn(Optional.of(new StorageReference("image", CONTENT_HASH)));
+        when(objectRepository.deleteUnreferenced(CONTENT_HASH)).thenReturn(1);
+
+        service.deleteFileAsync("image").join();
+
+        verify(deletionRepository).save(deletion(CONTENT_HASH));
+        verifyNoInteractions(asyncBackend);
+    }
+
+    @Test
+    void shouldRemoveTheSpooledCopy() throws Exception {
+        when(objectRepository.incrementReferences(CONTENT_HASH)).thenReturn(1);
+        when(objectRepository.findById(CONTENT_HASH)).thenReturn(Optional.of(storageObject(2)));
+        when(referenceRepository.findById("image")).thenReturn(Optional.empty());
+
+        service.uploadFile(new ByteArrayInputStream(CONTENT), CONTENT.length, "image");
+
+        try (var files = Files.list(spoolDirectory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    private static StorageDeletion deletion(String key) {
+        return StorageDeletion.builder()
+                .key(key)
+                .build();
+    }
+
+    private StorageObject storageObject(long referenceCount) {
+        return StorageObject.builder()
+                .key(CONTENT_HASH)
+                .url(URL)
+                .contentLength((long) CONTENT.length)
+                .referenceCount(referenceCount)
+                .build();
+    }
+}
@@ -0,0 +1,169 @@
+package br.com.blackbeard.blackbeardapi.service.storage;
+
+import br.com.blackbeard.blackbeardapi.exceptions.FileException;
+import br.com.blackbeard.blackbeardapi.service.image.ImageDecoder;
+import br.com.blackbeard.blackbeardapi.service.image.ImageEncoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LocalFileStorageServiceTest {
+
+    private static final String KEY = "dffd6021bb2bd5b0af676290809ec3a53191dd81c7f70a4b28688a362182986f";
+    private static final ImageDecoder DECODER = new ImageDecoder(8192, 25_000_000, DataSize.ofMegabytes(128));
+
+    @TempDir
+    Path rootDirectory;
+
+    private LocalFileStorageService service;
+
+    private byte[] png;
+
+    @BeforeEach
+    void setup() throws IOException {
+        service = new LocalFileStorageService(rootDirectory.toString(), "http://localhost:8080/images",
+                new ImageEncoder(DECODER, false, 0.85f, 256, new SimpleMeterRegistry()));
+        png = Files.readAllBytes(new File("src/test/java/br/com/blackbeard/blackbeardapi/resources/teste.png").toPath());
+    }
+
+    @Test
+    void shouldStoreTheFileInAShardedDirectory() throws IOException {
+        var uri = service.uploadFile(new ByteArrayInputStream(png), png.length, KEY);
+
+        var stored = rootDirectory.resolve("df").resolve("fd").resolve(KEY);
+        assertThat(uri).isEqualTo(URI.create("http://localhost:8080/images/" + KEY));
+        assertThat(Files.readAllBytes(stored)).isEqualTo(png);
+        var storedObject = service.findFile(KEY).orElseThrow();
+        assertThat(storedObject.getPath()).contains(stored);
+        assertThat(storedObject.getContentType()).isEqualTo("image/png");
+        assertThat(storedObject.getContentLength()).isEqualTo(png.length);
+    }
+
+    @Test
+    void shouldStoreTheReencodedImageWhenEncodingIsEnabled() throws IOException {
+        var meterRegistry = new SimpleMeterRegistry();
+        var reencoding = new LocalFileStorageService(rootDirectory.toString(), "http://localhost:8080/images",
+                new ImageEncoder(DECODER, true, 0.85f, 256, meterRegistry));
+
+        reencoding.uploadFile(new ByteArrayInputStream(png), png.length, KEY);
+
+        var stored = reencoding.findFile(KEY).orElseThrow();
+        assertThat(meterRegistry.get("image.encoding.original").counter().count()).isEqualTo(png.length);
+        assertThat(meterRegistry.get("image.encoding.stored").counter().count())
+                .isEqualTo(stored.getContentLength());
+        assertThat(temporaryFiles()).isEmpty();
+    }
+
+    @Test
+    void shouldReplaceAnExistingFile() throws IOException {
+        service.uploadFile(new ByteArrayInputStream(new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, 0}), 4, KEY);
+
+        service.uploadFile(new ByteArrayInputStream(png), png.length, KEY);
+
+        assertThat(Files.readAllBytes(service.findFile(KEY).orElseThrow().getPath().orElseThrow())).isEqualTo(png);
+        assertThat(temporaryFiles()).isEmpty();
+    }
+
+    @Test
+    void shouldNotWriteAFileThatIsNotAnImage() throws IOException {
+        assertThrows(FileException.class,
+                () -> service.uploadFile(new ByteArrayInputStream("%PDF-1.4".getBytes()), 8, KEY));
+
+        assertThat(service.findFile(KEY)).isEmpty();
+        assertThat(temporaryFiles()).isEmpty();
+    }
+
+    @Test
+    void shouldRejectKeysOutsideTheRootDirectory() {
+        assertThrows(FileException.class,
+                () -> service.uploadFile(new ByteArrayInputStream(png), png.length, "../escape"));
+
+        assertThat(service.findFile("../escape")).isEmpty();
+    }
+
+    @Test
+    void shouldReadARangeOfTheFile() throws IOException {
+        service.uploadFile(new ByteArrayInputStream(png), png.length, KEY);
+
+        try (var inputStream = service.findFile(KEY).orElseThrow().open(1, 3)) {
+            assertThat(inputStream.readNBytes(3)).containsExactly(png[1], png[2], png[3]);
+        }
+    }
+
+    @Test
+    void shouldCompleteAsyncUploadsOnceTheFileIsInPlace() throws IOException {
+        var source = Files.write(Files.createTempFile(rootDirectory, "upload", ".png"), png);
+
+        var uri = service.uploadFileAsync(source, png.length, KEY).join();
+
+        assertThat(uri).isEqualTo(URI.create("http://localhost:8080/images/" + KEY));
+        assertThat(service.findFile(KEY)).isPresent();
+    }
+
+    @Test
+    void shouldFailTheFutureForFilesThatAreNotImages() throws IOException {
+        var source = Files.write(Files.createTempFile(rootDirectory, "upload", ".txt"), "Hello, World!".getBytes());
+
+        var upload = service.uploadFileAsync(source, 13, KEY);
+
+        assertThat(upload).isCompletedExceptionally();
+    }
+
+    @Test
+    void shouldListStoredFilesInKeyOrder() {
+        var keys = List.of("c0ffee", "0b5e55ed", "aaaa");
+        keys.forEach(key -> service.uploadFile(new ByteArrayInputStream(png), png.length, key));
+
+        var first = service.listFiles(null, 2);
+        var second = service.listFiles(first.getContinuationToken(), 2);
+
+        assertThat(first.getObjects()).extracting(StoredObjectSummary::getKey).containsExactly("0b5e55ed", "aaaa");
+        assertThat(first.getObjects()).allMatch(summary -> summary.getContentLength() == png.length);
+        assertThat(second.getObjects()).extracting(StoredObjectSummary::getKey).containsExactly("c0ffee");
+        assertThat(second.hasNext()).isFalse();
+    }
+
+    @Test
+    void shouldResumeTheListingInsideAShard() {
+        var keys = List.of("d00d00", "c0ffef", "c0aaaa", "c0ffee", "beef00");
+        keys.forEach(key -> service.uploadFile(new ByteArrayInputStream(png), png.length, key));
+
+        var first = service.listFiles(null, 2);
+        var second = service.listFiles(first.getContinuationToken(), 2);
+        var third = service.listFiles(second.getContinuationToken(), 2);
+
+        assertThat(first.getObjects()).extracting(StoredObjectSummary::getKey).containsExactly("beef00", "c0aaaa");
+        assertThat(second.getObjects()).extracting(StoredObjectSummary::getKey).containsExactly("c0ffee", "c0ffef");
+        assertThat(third.getObjects()).extracting(StoredObjectSummary::getKey).containsExactly("d00d00");
+        assertThat(third.hasNext()).isFalse();
+    }
+
+    @Test
+    void shouldDeleteAFile() {
+        service.uploadFile(new ByteArrayInputStream(png), png.length, KEY);
+
+        service.deleteFile(KEY);
+
+        assertThat(service.findFile(KEY)).isEmpty();
+    }
+
+    private List<Path> temporaryFiles() throws IOException {
+        try (var files = Files.walk(rootDirectory)) {
+            return files.filter(path -> path.toString().endsWith(".tmp")).collect(Collectors.toList());
+        }
+    }
+}
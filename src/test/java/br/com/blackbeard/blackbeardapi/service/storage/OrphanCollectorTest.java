@@ -0,0 +1,84 @@
+package br.com.blackbeard.blackbeardapi.service.storage;
+
+import br.com.blackbeard.blackbeardapi.models.StorageDeletion;
+import br.com.blackbeard.blackbeardapi.repositories.StorageDeletionRepository;
+import br.com.blackbeard.blackbeardapi.repositories.StorageObjectRepository;
+import br.com.blackbeard.blackbeardapi.service.ImageStorageService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrphanCollectorTest {
+
+    private static final Instant OLD = Instant.now().minus(Duration.ofDays(2));
+
+    @Mock
+    private ImageStorageService backend;
+
+    @Mock
+    private StorageObjectRepository objectRepository;
+
+    @Mock
+    private StorageDeletionRepository deletionRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private OrphanCollector collector;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        collector = new OrphanCollector(backend, objectRepository, deletionRepository, Duration.ofDays(1), 2,
+                meterRegistry);
+    }
+
+    @Test
+    void shouldQueueUnknownObjectsPageByPage() {
+        when(backend.listFiles(isNull(), eq(2))).thenReturn(new StoredObjectListing(
+                List.of(summary("known", 10, OLD), summary("orphan", 100, OLD)), "next"));
+        when(backend.listFiles("next", 2)).thenReturn(new StoredObjectListing(
+                List.of(summary("queued", 1000, OLD)), null));
+        when(objectRepository.findExistingKeys(List.of("known", "orphan"))).thenReturn(List.of("known"));
+        when(deletionRepository.findQueuedKeys(List.of("known", "orphan"))).thenReturn(List.of());
+        when(objectRepository.findExistingKeys(List.of("queued"))).thenReturn(List.of());
+        when(deletionRepository.findQueuedKeys(List.of("queued"))).thenReturn(List.of("queued"));
+
+        var report = collector.collect();
+
+        verify(deletionRepository, times(1)).save(any(StorageDeletion.class));
+        verify(deletionRepository).save(StorageDeletion.builder().key("orphan").build());
+        assertThat(report.getScanned()).isEqualTo(3);
+        assertThat(report.getOrphans()).isEqualTo(1);
+        assertThat(report.getBytesReclaimed()).isEqualTo(100);
+        assertThat(meterRegistry.get("image.storage.orphans.reclaimed").counter().count()).isEqualTo(100);
+    }
+
+    @Test
+    void shouldLeaveObjectsYoungerThanTheGracePeriod() {
+        when(backend.listFiles(isNull(), anyInt())).thenReturn(new StoredObjectListing(
+                List.of(summary("uploading", 10, Instant.now())), null));
+
+        var report = collector.collect();
+
+        assertThat(report.getOrphans()).isZero();
+        verifyNoInteractions(objectRepository, deletionRepository);
+    }
+
+    private static StoredObjectSummary summary(String key, long contentLength, Instant lastModified) {
+        return new StoredObjectSummary(key, contentLength, lastModified);
+    }
+}
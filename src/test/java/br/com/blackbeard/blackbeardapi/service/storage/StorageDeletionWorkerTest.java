@@ -0,0 +1,161 @@
+package br.com.blackbeard.blackbeardapi.service.storage;
+
+import br.com.blackbeard.blackbeardapi.models.StorageDeletion;
+import br.com.blackbeard.blackbeardapi.repositories.StorageDeletionRepository;
+import br.com.blackbeard.blackbeardapi.repositories.StorageObjectRepository;
+import br.com.blackbeard.blackbeardapi.service.ImageStorageService;
+import com.amazonaws.SdkClientException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StorageDeletionWorkerTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final Duration RETRY_DELAY = Duration.ofMinutes(1);
+
+    @Mock
+    private ImageStorageService backend;
+
+    @Mock
+    private StorageDeletionRepository deletionRepository;
+
+    @Mock
+    private StorageObjectRepository objectRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private StorageDeletionWorker worker;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        worker = new StorageDeletionWorker(backend, deletionRepository, objectRepository, eventPublisher, 1000,
+                MAX_ATTEMPTS, RETRY_DELAY, meterRegistry);
+    }
+
+    @Test
+    void shouldDeleteTheWholeBatchWithOneCall() {
+        var first = deletion("first");
+        var second = deletion("second");
+        when(deletionRepository.findNextBatch(anyInt(), any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of(first, second));
+        when(backend.deleteFiles(List.of("first", "second"))).thenReturn(List.of("first", "second"));
+
+        var deleted = worker.drain();
+
+        assertThat(deleted).isEqualTo(2);
+        verify(backend, times(1)).deleteFiles(any());
+        verify(deletionRepository).delete(first);
+        verify(deletionRepository).delete(second);
+        verify(eventPublisher, times(2)).publishEvent(any(StorageObjectDeletedEvent.class));
+    }
+
+    @Test
+    void shouldKeepObjectsThatWereStoredAgain() {
+        var revived = deletion("revived");
+        var orphan = deletion("orphan");
+        when(deletionRepository.findNextBatch(anyInt(), any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of(revived, orphan));
+        when(objectRepository.findExistingKeys(List.of("revived", "orphan"))).thenReturn(List.of("revived"));
+        when(backend.deleteFiles(List.of("orphan"))).thenReturn(List.of("orphan"));
+
+        worker.drain();
+
+        verify(deletionRepository).deleteAll(List.of(revived));
+        verify(backend).deleteFiles(List.of("orphan"));
+        verify(objectRepository, never()).existsById(any());
+    }
+
+    @Test
+    void shouldRetryKeysTheBackendDidNotDelete() {
+        var deleted = deletion("deleted");
+        var kept = deletion("kept");
+        when(deletionRepository.findNextBatch(anyInt(), any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of(deleted, kept));
+        when(backend.deleteFiles(List.of("deleted", "kept"))).thenReturn(List.of("deleted"));
+
+        worker.drain();
+
+        verify(deletionRepository).delete(deleted);
+        verify(deletionRepository, never()).delete(kept);
+        assertThat(kept.getAttempts()).isEqualTo(1);
+        assertThat(kept.getLastError()).isNotBlank();
+    }
+
+    @Test
+    void shouldRecordTheFailureWhenTheBackendIsUnavailable() {
+        var pending = deletion("pending");
+        when(deletionRepository.findNextBatch(anyInt(), any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of(pending));
+        when(backend.deleteFiles(List.of("pending"))).thenThrow(new SdkClientException("Unable to execute HTTP request"));
+
+        var deleted = worker.drain();
+
+        assertThat(deleted).isZero();
+        assertThat(pending.getAttempts()).isEqualTo(1);
+        assertThat(pending.getLastError()).isEqualTo("Unable to execute HTTP request");
+        verify(deletionRepository, never()).delete(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void shouldBackOffBeforeRetryingAFailedDeletion() {
+        var pending = deletion("pending");
+        pending.setAttempts(1);
+        when(deletionRepository.findNextBatch(anyInt(), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(pending));
+        when(backend.deleteFiles(List.of("pending"))).thenReturn(List.of());
+
+        worker.drain();
+
+        assertThat(pending.getAttempts()).isEqualTo(2);
+        assertThat(pending.getNextAttemptAt()).isAfter(LocalDateTime.now().plus(RETRY_DELAY));
+        verify(deletionRepository).findNextBatch(eq(MAX_ATTEMPTS), any(LocalDateTime.class), any(Pageable.class));
+    }
+
+    @Test
+    void shouldParkADeletionAfterTheLastAttempt() {
+        var pending = deletion("pending");
+        pending.setAttempts(MAX_ATTEMPTS - 1);
+        when(deletionRepository.findNextBatch(anyInt(), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(pending));
+        when(backend.deleteFiles(List.of("pending"))).thenReturn(List.of());
+
+        worker.drain();
+
+        assertThat(pending.getAttempts()).isEqualTo(MAX_ATTEMPTS);
+        verify(deletionRepository, never()).delete(pending);
+        assertThat(meterRegistry.get("image.storage.deletions.parked").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("image.storage.deletions.failed").counter().count()).isZero();
+    }
+
+    @Test
+    void shouldDoNothingWhenTheOutboxIsEmpty() {
+        when(deletionRepository.findNextBatch(anyInt(), any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of());
+
+        assertThat(worker.drain()).isZero();
+        verifyNoInteractions(backend);
+    }
+
+    private static StorageDeletion deletion(String key) {
+        return StorageDeletion.builder()
+                .key(key)
+                .build();
+    }
+}
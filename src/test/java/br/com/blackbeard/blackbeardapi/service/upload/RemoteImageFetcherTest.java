@@ -0,0 +1,211 @@
+package br.com.blackbeard.blackbeardapi.service.upload;
+
+import br.com.blackbeard.blackbeardapi.exceptions.FileException;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RemoteImageFetcherTest {
+
+    private static final int MAX_CONNECTIONS_PER_HOST = 2;
+    private static final byte[] CONTENT = {1, 2, 3, 4};
+
+    private HttpServer server;
+
+    private ExecutorService serverExecutor;
+
+    private RemoteImageFetcher fetcher;
+
+    private final AtomicInteger active = new AtomicInteger();
+
+    private final AtomicInteger maxActive = new AtomicInteger();
+
+    @BeforeEach
+    void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/image.png", exchange -> {
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(100);
+                exchange.sendResponseHeaders(200, CONTENT.length);
+                exchange.getResponseBody().write(CONTENT);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                active.decrementAndGet();
+                exchange.close();
+            }
+        });
+        server.createContext("/large.png", exchange -> {
+            exchange.sendResponseHeaders(200, 0);
+            exchange.getResponseBody().write(new byte[2048]);
+            exchange.close();
+        });
+        server.createContext("/moved.png", exchange -> {
+            exchange.getResponseHeaders().add("Location", "/image.png");
+            exchange.sendResponseHeaders(302, -1);
+            exchange.close();
+        });
+        server.createContext("/internal.png", exchange -> {
+            exchange.getResponseHeaders().add("Location",
+                    "http://127.0.0.1:" + server.getAddress().getPort() + "/image.png");
+            exchange.sendResponseHeaders(302, -1);
+            exchange.close();
+        });
+        server.createContext("/missing.png", exchange -> {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        serverExecutor = Executors.newFixedThreadPool(8);
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        // The stand-in runs on loopback, so only its own host name is let through the address check
+        fetcher = new RemoteImageFetcher(Duration.ofSeconds(5), MAX_CONNECTIONS_PER_HOST, DataSize.ofKilobytes(1),
+                Set.of("localhost"), SystemDefaultDnsResolver.INSTANCE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void shouldHandTheResponseBodyToTheHandler() {
+        var content = fetcher.fetch(uri("/image.png"), RemoteImageFetcherTest::readAll);
+
+        assertThat(content).containsExactly(CONTENT);
+    }
+
+    @Test
+    void shouldNotOpenMoreConnectionsToAHostThanAllowed() {
+        var fetches = new ArrayList<CompletableFuture<byte[]>>();
+        for (int i = 0; i < 6; i++) {
+            fetches.add(CompletableFuture.supplyAsync(
+                    () -> fetcher.fetch(uri("/image.png"), RemoteImageFetcherTest::readAll)));
+        }
+
+        fetches.forEach(fetch -> assertThat(fetch.join()).containsExactly(CONTENT));
+        assertThat(maxActive.get()).isBetween(1, MAX_CONNECTIONS_PER_HOST);
+    }
+
+    @Test
+    void shouldFailWhenTheServerDoesNotReturnTheImage() {
+        var exception = assertThrows(FileException.class,
+                () -> fetcher.fetch(uri("/missing.png"), RemoteImageFetcherTest::readAll));
+
+        assertThat(exception.getMessage()).isEqualTo(FileException.ERROR_TO_DOWNLOAD_FILE);
+    }
+
+    @Test
+    void shouldStopReadingPastTheMaximumFileSize() {
+        assertThrows(MaxUploadSizeExceededException.class,
+                () -> fetcher.fetch(uri("/large.png"), RemoteImageFetcherTest::readAll));
+    }
+
+    @Test
+    void shouldFollowARedirectToAPublicLocation() {
+        var content = fetcher.fetch(uri("/moved.png"), RemoteImageFetcherTest::readAll);
+
+        assertThat(content).containsExactly(CONTENT);
+    }
+
+    @Test
+    void shouldNotFollowARedirectToALoopbackAddress() {
+        var exception = assertThrows(FileException.class,
+                () -> fetcher.fetch(uri("/internal.png"), RemoteImageFetcherTest::readAll));
+
+        assertThat(exception.getMessage()).isEqualTo(FileException.ERROR_TO_DOWNLOAD_FILE);
+        assertThat(maxActive.get()).isZero();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "http://127.0.0.1/image.png",
+            "http://10.0.0.1/image.png",
+            "http://192.168.0.1/image.png",
+            "http://169.254.169.254/latest/meta-data/",
+            "http://0.0.0.0/image.png",
+            "http://[::1]/image.png",
+            "http://[fd00::1]/image.png",
+            "http://100.64.0.1/image.png",
+            "http://100.127.255.254/image.png",
+            "http://[::ffff:127.0.0.1]/image.png",
+            "http://[::ffff:a9fe:a9fe]/latest/meta-data/",
+            "http://[::10.0.0.1]/image.png",
+            "http://[64:ff9b::a9fe:a9fe]/latest/meta-data/"
+    })
+    void shouldRejectInternalAddresses(String url) {
+        var exception = assertThrows(FileException.class,
+                () -> fetcher.fetch(URI.create(url), RemoteImageFetcherTest::readAll));
+
+        assertThat(exception.getMessage()).isEqualTo(FileException.ERROR_TO_DOWNLOAD_FILE);
+    }
+
+    @Test
+    void shouldOnlyConnectToTheAddressesThatWereChecked() {
+        var lookups = new AtomicInteger();
+        // Answers with a public address once, then rebinds the name to the loopback stand-in
+        var rebinding = new RemoteImageFetcher(Duration.ofMillis(500), MAX_CONNECTIONS_PER_HOST,
+                DataSize.ofKilobytes(1), Set.of(), host -> lookups.getAndIncrement() == 0
+                ? new InetAddress[]{InetAddress.getByName("192.0.2.1")}
+                : new InetAddress[]{InetAddress.getLoopbackAddress()});
+
+        assertThrows(FileException.class, () -> rebinding.fetch(
+                URI.create("http://rebinding.test:" + server.getAddress().getPort() + "/image.png"),
+                RemoteImageFetcherTest::readAll));
+
+        assertThat(lookups.get()).isPositive();
+        assertThat(maxActive.get()).isZero();
+    }
+
+    @Test
+    void shouldNotTreatPublicAddressesAsInternal() throws IOException {
+        assertThat(RemoteImageFetcher.isInternal(InetAddress.getByName("93.184.216.34"))).isFalse();
+        assertThat(RemoteImageFetcher.isInternal(InetAddress.getByName("100.128.0.1"))).isFalse();
+        assertThat(RemoteImageFetcher.isInternal(InetAddress.getByName("2606:2800:220:1::"))).isFalse();
+        assertThat(RemoteImageFetcher.isInternal(InetAddress.getByName("64:ff9b::5db8:d822"))).isFalse();
+    }
+
+    @Test
+    void shouldRejectUrlsThatAreNotHttp() {
+        assertThrows(FileException.class,
+                () -> fetcher.fetch(URI.create("file:///etc/passwd"), RemoteImageFetcherTest::readAll));
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + server.getAddress().getPort() + path);
+    }
+
+    private static byte[] readAll(InputStream inputStream) {
+        try {
+            return inputStream.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
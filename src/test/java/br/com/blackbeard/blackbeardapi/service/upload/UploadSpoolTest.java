@@ -0,0 +1,92 @@
+package br.com.blackbeard.blackbeardapi.service.upload;
+
+import br.com.blackbeard.blackbeardapi.exceptions.FileException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class UploadSpoolTest {
+
+    private static final long MAX_LENGTH = 8;
+
+    @TempDir
+    Path directory;
+
+    private UploadSpool uploadSpool;
+
+    private UUID id;
+
+    @BeforeEach
+    void setup() {
+        uploadSpool = new UploadSpool(directory.toString());
+        id = UUID.randomUUID();
+    }
+
+    @Test
+    void shouldAppendChunksAtTheirOffsets() throws IOException {
+        assertThat(uploadSpool.write(id, 0, chunk(1, 2, 3), MAX_LENGTH)).isEqualTo(3);
+        assertThat(uploadSpool.write(id, 3, chunk(4, 5), MAX_LENGTH)).isEqualTo(5);
+
+        assertThat(Files.readAllBytes(uploadSpool.path(id))).containsExactly(1, 2, 3, 4, 5);
+    }
+
+    @Test
+    void shouldDiscardBytesPastTheOffsetWhenAChunkIsResent() throws IOException {
+        uploadSpool.write(id, 0, chunk(1, 2, 3, 4), MAX_LENGTH);
+
+        assertThat(uploadSpool.write(id, 2, chunk(7), MAX_LENGTH)).isEqualTo(3);
+        assertThat(Files.readAllBytes(uploadSpool.path(id))).containsExactly(1, 2, 7);
+    }
+
+    @Test
+    void shouldKeepWhatArrivedBeforeTheConnectionDropped() throws IOException {
+        var dropped = new InputStream() {
+            private int sent;
+
+            @Override
+            public int read() throws IOException {
+                if (sent == 2) {
+                    throw new IOException("connection reset");
+                }
+                return ++sent;
+            }
+        };
+
+        assertThat(uploadSpool.write(id, 0, dropped, MAX_LENGTH)).isEqualTo(2);
+        assertThat(Files.readAllBytes(uploadSpool.path(id))).containsExactly(1, 2);
+    }
+
+    @Test
+    void shouldRejectAnOffsetPastTheReceivedContent() {
+        uploadSpool.write(id, 0, chunk(1, 2), MAX_LENGTH);
+
+        assertThrows(FileException.class, () -> uploadSpool.write(id, 4, chunk(5), MAX_LENGTH));
+    }
+
+    @Test
+    void shouldRollBackAChunkThatExceedsTheDeclaredLength() throws IOException {
+        uploadSpool.write(id, 0, chunk(1, 2, 3, 4, 5, 6), MAX_LENGTH);
+
+        assertThrows(FileException.class, () -> uploadSpool.write(id, 6, chunk(7, 8, 9), MAX_LENGTH));
+
+        assertThat(Files.readAllBytes(uploadSpool.path(id))).containsExactly(1, 2, 3, 4, 5, 6);
+    }
+
+    private static InputStream chunk(int... bytes) {
+        var content = new byte[bytes.length];
+        for (int i = 0; i < bytes.length; i++) {
+            content[i] = (byte) bytes[i];
+        }
+        return new ByteArrayInputStream(content);
+    }
+}